@@ -0,0 +1,141 @@
+package org.opendma.api;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous companion of <code>{@link OdmaSession}</code>. All operations return immediately with a
+ * <code>CompletableFuture</code> that is completed with the result of the operation, or completed
+ * exceptionally with the exception the corresponding synchronous operation would have thrown, e.g. an
+ * <code>OdmaObjectNotFoundException</code>.
+ */
+public interface OdmaAsyncSession {
+
+    /**
+     * Returns the synchronous session backing this asynchronous session.
+     *
+     * @return the synchronous session backing this asynchronous session
+     */
+    OdmaSession getSession();
+
+    /**
+     * Returns a list of repository <code>{@link OdmaId}</code>s the account has access to.
+     *
+     * @return a future completed with the list of repository <code>{@link OdmaId}</code>s the account has access to
+     */
+    CompletableFuture<List<OdmaId>> getRepositoryIds();
+
+    /**
+     * Returns the <code>{@link OdmaRepository}</code> object for the given repository id.
+     *
+     * @param repositoryId the id of the repository to return
+     *
+     * @return a future completed with the <code>{@link OdmaRepository}</code> object for the given repository id,
+     *         or completed exceptionally with an <code>OdmaObjectNotFoundException</code>
+     */
+    CompletableFuture<OdmaRepository> getRepository(OdmaId repositoryId);
+
+    /**
+     * Returns the object of the given class identified by the given ID in the given repository.
+     *
+     * @param repositoryId
+     *            the id of the repository to retrieve the object from
+     *
+     * @param objectId
+     *            the id of the object to return
+     *
+     * @param propertyNames
+     *            array of qualified property names to retrieve from the server or <code>null</code> to retrieve all
+     *
+     * @return a future completed with the object identified by the given ID in the given repository,
+     *         or completed exceptionally with an <code>OdmaObjectNotFoundException</code>
+     */
+    CompletableFuture<OdmaObject> getObject(OdmaId repositoryId, OdmaId objectId, OdmaQName[] propertyNames);
+
+    /**
+     * Returns the objects identified by the given IDs in the given repository in input order, with
+     * <code>null</code> for each object not found.
+     *
+     * @param repositoryId
+     *            the id of the repository to retrieve the objects from
+     *
+     * @param objectIds
+     *            the ids of the objects to return
+     *
+     * @param propertyNames
+     *            array of qualified property names to retrieve from the server or <code>null</code> to retrieve all
+     *
+     * @return a future completed with the objects identified by the given IDs in input order
+     */
+    CompletableFuture<List<OdmaObject>> getObjects(OdmaId repositoryId, List<OdmaId> objectIds, OdmaQName[] propertyNames);
+
+    /**
+     * Performs a search operation against a repository and returns the result.
+     *
+     * @param repositoryId
+     *            the id of the repository to retrieve the object from
+     *
+     * @param queryLanguage
+     *            the language specifier in which the query is  given
+     *
+     * @param query
+     *            search specification in the given query language
+     *
+     * @return a future completed with the search result of this operation, or completed exceptionally
+     *         with an <code>OdmaObjectNotFoundException</code> or <code>OdmaQuerySyntaxException</code>
+     */
+    CompletableFuture<OdmaSearchResult> search(OdmaId repositoryId, OdmaQName queryLanguage, String query);
+
+    /**
+     * Returns a list of query languages that can be used to search the repository.
+     *
+     * @return a future completed with the list of query languages that can be used to search the repository
+     */
+    CompletableFuture<List<OdmaQName>> getSupportedQueryLanguages();
+
+    /**
+     * Returns the property with the given name of the given object, resolving its value if required.
+     *
+     * @param object
+     *            the object to get the property from
+     *
+     * @param propertyName
+     *            the qualified name of the property to return
+     *
+     * @return a future completed with the property after its value has been resolved, or completed
+     *         exceptionally with an <code>OdmaPropertyNotFoundException</code>
+     */
+    CompletableFuture<OdmaProperty> getProperty(OdmaCoreObject object, OdmaQName propertyName);
+
+    /**
+     * Retrieves the given properties of the given object from the back-end system.
+     *
+     * @param object
+     *            the object to prepare the properties of
+     *
+     * @param propertyNames
+     *            array of qualified property names to retrieve from the server or <code>null</code> to retrieve all
+     *
+     * @param refresh
+     *            indicates whether properties already available should be refreshed
+     *
+     * @return a future completed when the properties have been retrieved
+     */
+    CompletableFuture<Void> prepareProperties(OdmaCoreObject object, OdmaQName[] propertyNames, boolean refresh);
+
+    /**
+     * Persists the pending changes of the given object.
+     *
+     * @param object
+     *            the object to save
+     *
+     * @return a future completed when the changes have been persisted
+     */
+    CompletableFuture<Void> save(OdmaCoreObject object);
+
+    /**
+     * Invalidate this session and release all associated resources.
+     */
+    void close();
+
+}
@@ -1,6 +1,15 @@
 package org.opendma.api;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.opendma.exceptions.OdmaRuntimeException;
 
 /**
  * Represents the Content data type in OpenDMA.
@@ -16,10 +25,141 @@ public interface OdmaContent {
     InputStream getStream();
 
     /**
-     * Gets the size of the content in bytes.
+     * Gets the size of the content in bytes. Content streamed while it is produced may not know its size in
+     * advance and returns -1.
      *
-     * @return The size of the content in bytes as a long.
+     * @return The size of the content in bytes as a long, or -1 if unknown.
      */
     long getSize();
 
+    /**
+     * Gets a channel to access the content's binary data.<p>
+     *
+     * The default implementation wraps the stream returned by <code>{@link #getStream()}</code>. Implementations
+     * with direct access to a channel, e.g. a <code>FileChannel</code>, should return it instead.
+     *
+     * @return A ReadableByteChannel for reading the content's binary data.
+     */
+    default ReadableByteChannel getChannel() {
+        return Channels.newChannel(getStream());
+    }
+
+    /**
+     * Writes the content's binary data to the given channel. The target channel is not closed.<p>
+     *
+     * The default implementation copies the data read from <code>{@link #getChannel()}</code> through a direct
+     * buffer. Implementations backed by a file should use <code>FileChannel.transferTo</code>, which lets the
+     * operating system send the data to a file or socket channel without copying it through the heap.<p>
+     *
+     * The transfer stops early if a target channel in non-blocking mode accepts no more data. Use
+     * <code>{@link #transferTo(long, long, WritableByteChannel)}</code> to continue after the bytes written.
+     *
+     * @param target
+     *            The channel to write the content's binary data to.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IOException
+     *             If reading the content or writing to the target channel fails.
+     */
+    default long transferTo(WritableByteChannel target) throws IOException {
+        try (ReadableByteChannel source = getChannel()) {
+            return OdmaRangeChannel.copy(source, target);
+        }
+    }
+
+    /**
+     * Gets a stream to access a range of the content's binary data, e.g. to serve an HTTP range request.<p>
+     *
+     * The default implementation reads from <code>{@link #getChannel(long, long)}</code>.
+     *
+     * @param offset
+     *            The position of the first byte to read.
+     * @param length
+     *            The maximum number of bytes to read, or -1 to read to the end of the content.
+     *
+     * @return An InputStream for reading the given range of the content's binary data.
+     */
+    default InputStream getStream(long offset, long length) {
+        return Channels.newInputStream(getChannel(offset, length));
+    }
+
+    /**
+     * Gets a channel to access a range of the content's binary data, e.g. to serve an HTTP range request.<p>
+     *
+     * The default implementation positions the channel returned by <code>{@link #getChannel()}</code> if it is
+     * a <code>SeekableByteChannel</code>, and reads and discards the data before the offset otherwise. Adaptors
+     * supporting range requests in their back-end system should override this method.
+     *
+     * @param offset
+     *            The position of the first byte to read.
+     * @param length
+     *            The maximum number of bytes to read, or -1 to read to the end of the content.
+     *
+     * @return A ReadableByteChannel for reading the given range of the content's binary data.
+     */
+    default ReadableByteChannel getChannel(long offset, long length) {
+        if(offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if(length < -1) {
+            throw new IllegalArgumentException("length must be -1 or not negative");
+        }
+        ReadableByteChannel channel = getChannel();
+        try {
+            if(channel instanceof SeekableByteChannel) {
+                ((SeekableByteChannel)channel).position(offset);
+            } else if(offset > 0) {
+                ByteBuffer discard = ByteBuffer.allocate((int)Math.min(offset, 64 * 1024));
+                long skipped = 0;
+                while(skipped < offset) {
+                    ((Buffer)discard).clear();
+                    if(offset - skipped < discard.capacity()) {
+                        ((Buffer)discard).limit((int)(offset - skipped));
+                    }
+                    int read = channel.read(discard);
+                    if(read < 0) {
+                        break;
+                    }
+                    skipped += read;
+                }
+            }
+        } catch(IOException e) {
+            try {
+                channel.close();
+            } catch(IOException ignored) {
+                // already failing
+            }
+            throw new OdmaRuntimeException("Failed to position content at offset "+offset, e);
+        }
+        return length < 0 ? channel : new OdmaRangeChannel(channel, length);
+    }
+
+    /**
+     * Writes a range of the content's binary data to the given channel. The target channel is not closed.<p>
+     *
+     * The default implementation copies the data read from <code>{@link #getChannel(long, long)}</code>
+     * through a direct buffer.<p>
+     *
+     * The transfer stops early if a target channel in non-blocking mode accepts no more data. Continue with
+     * an offset advanced by the bytes written.
+     *
+     * @param offset
+     *            The position of the first byte to write.
+     * @param length
+     *            The maximum number of bytes to write, or -1 to write to the end of the content.
+     * @param target
+     *            The channel to write the content's binary data to.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IOException
+     *             If reading the content or writing to the target channel fails.
+     */
+    default long transferTo(long offset, long length, WritableByteChannel target) throws IOException {
+        try (ReadableByteChannel source = getChannel(offset, length)) {
+            return OdmaRangeChannel.copy(source, target);
+        }
+    }
+
 }
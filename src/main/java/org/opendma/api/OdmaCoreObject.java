@@ -41,6 +41,21 @@ public interface OdmaCoreObject {
      */
     void prepareProperties(OdmaQName[] propertyNames, boolean refresh);
 
+    /**
+     * Checks if the properties of the given selection are already in the local cache and retrieves them from the server if not.
+     * If <code>refresh</code> is set to <code>true</code>, all selected properties are always retrieved from the server.
+     * The default implementation passes the names of the selection to <code>{@link #prepareProperties(OdmaQName[], boolean)}</code>.
+     * 
+     * @param propertySelection
+     *            The properties to retrieve or <code>null</code> to retrieve all properties.
+     * 
+     * @param refresh
+     *            Indicates whether properties should be refreshed even if they are in the local cache.
+     */
+    default void prepareSelectedProperties(OdmaPropertySelection propertySelection, boolean refresh) {
+        prepareProperties(propertySelection == null ? null : propertySelection.toArray(), refresh);
+    }
+
     /**
      * Sets the specified property to a new value.<br>
      * This is a shortcut for <code>getProperty(propertyName).setValue(newValue)</code>. It avoids the retrieval of the property
@@ -0,0 +1,100 @@
+package org.opendma.api;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <code>{@link OdmaPagingIterable}</code> view of a plain <code>Iterable</code> dividing its objects into
+ * pages of a fixed size. The mark of a page is the decimal offset of its first object. Repositioning
+ * to a mark iterates the plain <code>Iterable</code> again and skips the objects before the offset.
+ *
+ * @param <T>
+ *            the type of the objects in the pages
+ */
+class OdmaIterablePages<T extends OdmaObject> implements OdmaPagingIterable<T>
+{
+
+    /** the page size used by <code>{@link OdmaSearchResult#getPages()}</code> */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final Iterable<T> objects;
+
+    private final int pageSize;
+
+    OdmaIterablePages(Iterable<T> objects, int pageSize)
+    {
+        this.objects = objects;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return objects.iterator();
+    }
+
+    @Override
+    public OdmaPageIterator<T> pageIterator()
+    {
+        return new OdmaPageIterator<T>() {
+
+            private Iterator<T> iterator = objects.iterator();
+
+            /** the offset of the first object not yet delivered in a page */
+            private long offset;
+
+            private List<T> page;
+
+            @Override
+            public boolean nextPage()
+            {
+                if(!iterator.hasNext()) {
+                    page = null;
+                    return false;
+                }
+                page = new ArrayList<T>(pageSize);
+                while(page.size() < pageSize && iterator.hasNext()) {
+                    page.add(iterator.next());
+                }
+                offset += page.size();
+                return true;
+            }
+
+            @Override
+            public List<T> getPage()
+            {
+                return page;
+            }
+
+            @Override
+            public String nextPageMark()
+            {
+                return iterator.hasNext() ? Long.toString(offset) : null;
+            }
+
+            @Override
+            public void goToMark(String mark)
+            {
+                long target;
+                try {
+                    target = Long.parseLong(mark);
+                } catch(NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid page mark: "+mark);
+                }
+                if(target < 0) {
+                    throw new IllegalArgumentException("Invalid page mark: "+mark);
+                }
+                iterator = objects.iterator();
+                offset = 0;
+                page = null;
+                while(offset < target && iterator.hasNext()) {
+                    iterator.next();
+                    offset++;
+                }
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,264 @@
+package org.opendma.api;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Publisher of the objects of an <code>{@link OdmaPagingIterable}</code> with demand-driven page fetching.<p>
+ *
+ * The nested <code>{@link Subscriber}</code> and <code>{@link Subscription}</code> interfaces have the same
+ * methods and contract as their counterparts in <code>java.util.concurrent.Flow</code> and Reactive Streams,
+ * so adapting to either is a plain delegation. They are declared here as OpenDMA supports Java 8.<p>
+ *
+ * Every subscription iterates over its own page iterator. The next page is fetched only when the subscriber
+ * has requested more objects than remain in the current page, so at most one page is held per subscription.
+ * Pages are fetched and all signals are sent on the executor, one task at a time per subscription.
+ *
+ * @param <T>
+ *            the type of the objects in the pages
+ */
+public class OdmaPagePublisher<T extends OdmaObject>
+{
+
+    /**
+     * Receiver of the objects of a subscription, equivalent to <code>java.util.concurrent.Flow.Subscriber</code>.
+     *
+     * @param <T>
+     *            the type of the received objects
+     */
+    public interface Subscriber<T>
+    {
+
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+
+    }
+
+    /**
+     * Link between a publisher and a subscriber, equivalent to <code>java.util.concurrent.Flow.Subscription</code>.
+     */
+    public interface Subscription
+    {
+
+        void request(long n);
+
+        void cancel();
+
+    }
+
+    private final OdmaPagingIterable<T> source;
+
+    private final Executor executor;
+
+    /**
+     * Create a new <code>OdmaPagePublisher</code>.
+     *
+     * @param source
+     *            the iterable to publish the objects of
+     * @param executor
+     *            the executor fetching pages and signalling the subscribers
+     */
+    public OdmaPagePublisher(OdmaPagingIterable<T> source, Executor executor)
+    {
+        if(source == null) {
+            throw new IllegalArgumentException("source must not be null");
+        }
+        if(executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.source = source;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes the given subscriber to a new iteration over the objects. <code>onSubscribe</code> is
+     * called on the executor.
+     *
+     * @param subscriber
+     *            the subscriber to receive the objects
+     */
+    public void subscribe(Subscriber<? super T> subscriber)
+    {
+        if(subscriber == null) {
+            throw new NullPointerException("subscriber must not be null");
+        }
+        new PageSubscription<T>(source, subscriber, executor).schedule();
+    }
+
+    private static final class PageSubscription<T extends OdmaObject> implements Subscription, Runnable
+    {
+
+        private final OdmaPagingIterable<T> source;
+
+        private final Subscriber<? super T> subscriber;
+
+        private final Executor executor;
+
+        /** number of requested objects not yet delivered. Guarded by <code>this</code>. */
+        private long demand;
+
+        /** flag indicating if a task of this subscription is scheduled or running. Guarded by <code>this</code>. */
+        private boolean running;
+
+        /** flag indicating if no more signals are sent. Guarded by <code>this</code>. */
+        private boolean cancelled;
+
+        /** error from a request with a non-positive number. Guarded by <code>this</code>. */
+        private IllegalArgumentException invalidRequest;
+
+        // the following fields are only accessed by the task of this subscription
+
+        private boolean subscribed;
+
+        private OdmaPageIterator<T> pageIterator;
+
+        private List<T> page;
+
+        private int posInPage;
+
+        private PageSubscription(OdmaPagingIterable<T> source, Subscriber<? super T> subscriber, Executor executor)
+        {
+            this.source = source;
+            this.subscriber = subscriber;
+            this.executor = executor;
+        }
+
+        private void schedule()
+        {
+            synchronized(this) {
+                if(running || cancelled) {
+                    return;
+                }
+                running = true;
+            }
+            try {
+                executor.execute(this);
+            } catch(RuntimeException e) {
+                // no task of this subscription is running, so signalling from here is serial
+                synchronized(this) {
+                    cancelled = true;
+                }
+                if(!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void request(long n)
+        {
+            synchronized(this) {
+                if(cancelled) {
+                    return;
+                }
+                if(n <= 0) {
+                    invalidRequest = new IllegalArgumentException("Non-positive request "+n);
+                } else {
+                    demand += n;
+                    if(demand < 0) {
+                        demand = Long.MAX_VALUE;
+                    }
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public synchronized void cancel()
+        {
+            cancelled = true;
+        }
+
+        private boolean fetchPage()
+        {
+            if(pageIterator == null) {
+                pageIterator = source.pageIterator();
+            }
+            if(pageIterator.nextPage()) {
+                page = pageIterator.getPage();
+                posInPage = 0;
+                // sanity test
+                if(page != null && page.size() > 0) {
+                    return true;
+                }
+            }
+            page = null;
+            return false;
+        }
+
+        @Override
+        public void run()
+        {
+            if(!subscribed) {
+                subscribed = true;
+                subscriber.onSubscribe(this);
+            }
+            while(true) {
+                IllegalArgumentException error;
+                synchronized(this) {
+                    error = invalidRequest;
+                    if(cancelled || (error == null && demand == 0)) {
+                        running = false;
+                        if(cancelled) {
+                            page = null;
+                            pageIterator = null;
+                        }
+                        return;
+                    }
+                    if(error != null) {
+                        cancelled = true;
+                    }
+                }
+                if(error != null) {
+                    subscriber.onError(error);
+                    return;
+                }
+                boolean available;
+                try {
+                    available = (page != null && posInPage < page.size()) || fetchPage();
+                } catch(Throwable t) {
+                    synchronized(this) {
+                        cancelled = true;
+                    }
+                    subscriber.onError(t);
+                    return;
+                }
+                if(!available) {
+                    synchronized(this) {
+                        cancelled = true;
+                    }
+                    subscriber.onComplete();
+                    return;
+                }
+                T item = page.get(posInPage++);
+                synchronized(this) {
+                    if(demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                }
+                try {
+                    subscriber.onNext(item);
+                } catch(Throwable t) {
+                    // a failing subscriber cancels its subscription instead of leaving it running forever
+                    synchronized(this) {
+                        cancelled = true;
+                        running = false;
+                        page = null;
+                        pageIterator = null;
+                    }
+                    subscriber.onError(t);
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package org.opendma.api;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * <code>Spliterator</code> over the objects of an <code>{@link OdmaPageIterator}</code> that splits on
+ * page boundaries. <code>{@link #trySplit()}</code> hands off the rest of the current page, or the next page
+ * if the current page has been consumed, as a sized array spliterator. Pages are fetched sequentially
+ * while the objects of the handed off pages can be processed in parallel.<p>
+ *
+ * Like <code>{@link OdmaDefaultPagingIterator}</code>, an empty page ends the iteration.
+ *
+ * @param <E>
+ *            the type of the objects in the pages
+ */
+public class OdmaPageSpliterator<E extends OdmaObject> implements Spliterator<E>
+{
+
+    private final OdmaPageIterator<E> pageIterator;
+
+    private List<E> page;
+
+    private int posInPage;
+
+    private boolean exhausted;
+
+    public OdmaPageSpliterator(OdmaPageIterator<E> pageIterator)
+    {
+        if(pageIterator == null) {
+            throw new IllegalArgumentException("pageIterator must not be null");
+        }
+        this.pageIterator = pageIterator;
+    }
+
+    private boolean fetchPage()
+    {
+        if(exhausted) {
+            return false;
+        }
+        if(pageIterator.nextPage()) {
+            page = pageIterator.getPage();
+            posInPage = 0;
+            // sanity test
+            if(page != null && page.size() > 0) {
+                return true;
+            }
+        }
+        page = null;
+        exhausted = true;
+        return false;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action)
+    {
+        if(action == null) {
+            throw new NullPointerException();
+        }
+        if(page == null || posInPage >= page.size()) {
+            if(!fetchPage()) {
+                return false;
+            }
+        }
+        action.accept(page.get(posInPage++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action)
+    {
+        if(action == null) {
+            throw new NullPointerException();
+        }
+        do {
+            if(page != null) {
+                List<E> current = page;
+                int size = current.size();
+                for(int i = posInPage; i < size; i++) {
+                    action.accept(current.get(i));
+                }
+                posInPage = size;
+            }
+        } while(fetchPage());
+    }
+
+    @Override
+    public Spliterator<E> trySplit()
+    {
+        if(page == null || posInPage >= page.size()) {
+            if(!fetchPage()) {
+                return null;
+            }
+        }
+        Object[] prefix = page.subList(posInPage, page.size()).toArray();
+        page = null;
+        posInPage = 0;
+        return Spliterators.spliterator(prefix, Spliterator.ORDERED);
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return exhausted ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return Spliterator.ORDERED;
+    }
+
+}
@@ -1,7 +1,53 @@
 package org.opendma.api;
 
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An <code>Iterable</code> whose objects can also be retrieved page by page.<p>
+ *
+ * Page iterators identify pages by opaque marks. <code>{@link OdmaPageIterator#nextPageMark()}</code>
+ * returns the mark of the page following the current one and returns <code>null</code> if and only if
+ * there is no following page. Every returned mark must be accepted by
+ * <code>{@link OdmaPageIterator#goToMark(String)}</code> of any page iterator of the same iterable.
+ * Consumers like <code>OdmaParallelScan</code> rely on this contract to detect the end of the result
+ * and to split it into segments.
+ *
+ * @param <T>
+ *            the type of the objects in the pages
+ */
 public interface OdmaPagingIterable<T extends OdmaObject> extends Iterable<T> {
 
     OdmaPageIterator<T> pageIterator();
+
+    /**
+     * Creates a <code>Spliterator</code> over the objects of this iterable that splits on page boundaries.
+     * 
+     * @return a new <code>{@link OdmaPageSpliterator}</code> over a new page iterator of this iterable
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return new OdmaPageSpliterator<T>(pageIterator());
+    }
+
+    /**
+     * Returns a sequential <code>Stream</code> over the objects of this iterable.
+     * 
+     * @return a sequential <code>Stream</code> over the objects of this iterable
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel <code>Stream</code> over the objects of this iterable. The stream is split on page
+     * boundaries, so each page can be processed by a different thread.
+     * 
+     * @return a parallel <code>Stream</code> over the objects of this iterable
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
     
 }
@@ -2,6 +2,9 @@ package org.opendma.api;
 
 import org.opendma.exceptions.OdmaInvalidDataTypeException;
 import org.opendma.exceptions.OdmaAccessDeniedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Date;
 
@@ -286,6 +289,308 @@ public interface OdmaProperty {
      */
     public OdmaGuid getGuid() throws OdmaInvalidDataTypeException;
 
+    /**
+     * Returns the <code>int</code> value of this property without boxing if and only if
+     * the data type of this property is a single valued <i>Integer</i>. Throws
+     * an <code>OdmaInvalidDataTypeException</code> otherwise.
+     * 
+     * @return the <code>int</code> value of this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Integer</i>
+     *             property
+     * 
+     * @throws NullPointerException
+     *             if the value of this property is <code>null</code>
+     */
+    public default int getIntValue() throws OdmaInvalidDataTypeException {
+        Integer value = getInteger();
+        if(value == null) {
+            throw new NullPointerException("The value of property "+getName()+" is null");
+        }
+        return value.intValue();
+    }
+
+    /**
+     * Returns the <code>short</code> value of this property without boxing if and only if
+     * the data type of this property is a single valued <i>Short</i>. Throws
+     * an <code>OdmaInvalidDataTypeException</code> otherwise.
+     * 
+     * @return the <code>short</code> value of this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Short</i>
+     *             property
+     * 
+     * @throws NullPointerException
+     *             if the value of this property is <code>null</code>
+     */
+    public default short getShortValue() throws OdmaInvalidDataTypeException {
+        Short value = getShort();
+        if(value == null) {
+            throw new NullPointerException("The value of property "+getName()+" is null");
+        }
+        return value.shortValue();
+    }
+
+    /**
+     * Returns the <code>long</code> value of this property without boxing if and only if
+     * the data type of this property is a single valued <i>Long</i>. Throws
+     * an <code>OdmaInvalidDataTypeException</code> otherwise.
+     * 
+     * @return the <code>long</code> value of this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Long</i>
+     *             property
+     * 
+     * @throws NullPointerException
+     *             if the value of this property is <code>null</code>
+     */
+    public default long getLongValue() throws OdmaInvalidDataTypeException {
+        Long value = getLong();
+        if(value == null) {
+            throw new NullPointerException("The value of property "+getName()+" is null");
+        }
+        return value.longValue();
+    }
+
+    /**
+     * Returns the <code>float</code> value of this property without boxing if and only if
+     * the data type of this property is a single valued <i>Float</i>. Throws
+     * an <code>OdmaInvalidDataTypeException</code> otherwise.
+     * 
+     * @return the <code>float</code> value of this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Float</i>
+     *             property
+     * 
+     * @throws NullPointerException
+     *             if the value of this property is <code>null</code>
+     */
+    public default float getFloatValue() throws OdmaInvalidDataTypeException {
+        Float value = getFloat();
+        if(value == null) {
+            throw new NullPointerException("The value of property "+getName()+" is null");
+        }
+        return value.floatValue();
+    }
+
+    /**
+     * Returns the <code>double</code> value of this property without boxing if and only if
+     * the data type of this property is a single valued <i>Double</i>. Throws
+     * an <code>OdmaInvalidDataTypeException</code> otherwise.
+     * 
+     * @return the <code>double</code> value of this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Double</i>
+     *             property
+     * 
+     * @throws NullPointerException
+     *             if the value of this property is <code>null</code>
+     */
+    public default double getDoubleValue() throws OdmaInvalidDataTypeException {
+        Double value = getDouble();
+        if(value == null) {
+            throw new NullPointerException("The value of property "+getName()+" is null");
+        }
+        return value.doubleValue();
+    }
+
+    /**
+     * Returns <code>true</code> if and only if the data type of this property is a single valued
+     * <i>Boolean</i> and its value is <code>true</code>. A <code>null</code> value is reported as
+     * <code>false</code>. Throws an <code>OdmaInvalidDataTypeException</code> for all other data
+     * types and cardinalities.
+     * 
+     * @return <code>true</code> if and only if the value of this property is <code>true</code>
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Boolean</i>
+     *             property
+     */
+    public default boolean isTrue() throws OdmaInvalidDataTypeException {
+        return Boolean.TRUE.equals(getBoolean());
+    }
+
+    /**
+     * Set the value of this single valued <i>Integer</i> property to the given <code>int</code>.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Integer</i>
+     *             property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only or cannot be set by the current user
+     */
+    public default void setIntValue(int newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        setValue(Integer.valueOf(newValue));
+    }
+
+    /**
+     * Set the value of this single valued <i>Short</i> property to the given <code>short</code>.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Short</i>
+     *             property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only or cannot be set by the current user
+     */
+    public default void setShortValue(short newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        setValue(Short.valueOf(newValue));
+    }
+
+    /**
+     * Set the value of this single valued <i>Long</i> property to the given <code>long</code>.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Long</i>
+     *             property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only or cannot be set by the current user
+     */
+    public default void setLongValue(long newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        setValue(Long.valueOf(newValue));
+    }
+
+    /**
+     * Set the value of this single valued <i>Float</i> property to the given <code>float</code>.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Float</i>
+     *             property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only or cannot be set by the current user
+     */
+    public default void setFloatValue(float newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        setValue(Float.valueOf(newValue));
+    }
+
+    /**
+     * Set the value of this single valued <i>Double</i> property to the given <code>double</code>.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Double</i>
+     *             property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only or cannot be set by the current user
+     */
+    public default void setDoubleValue(double newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        setValue(Double.valueOf(newValue));
+    }
+
+    /**
+     * Set the value of this single valued <i>Boolean</i> property to the given <code>boolean</code>.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Boolean</i>
+     *             property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only or cannot be set by the current user
+     */
+    public default void setBooleanValue(boolean newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        setValue(Boolean.valueOf(newValue));
+    }
+
+    /**
+     * Returns a read-only <code>ByteBuffer</code> view of the <code>Binary</code> value of this property if
+     * and only if the data type of this property is a single valued <i>Binary</i>. Throws an
+     * <code>OdmaInvalidDataTypeException</code> otherwise.<p>
+     * 
+     * The buffer shares the value without copying it. Each call returns a buffer with its own position and
+     * limit. The default implementation wraps the array returned by <code>{@link #getBinary()}</code>.
+     * 
+     * @return a read-only view of the <code>Binary</code> value of this property, or <code>null</code>
+     *         if the value is <code>null</code>
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Binary</i>
+     *             property
+     */
+    public default ByteBuffer getBinaryBuffer() throws OdmaInvalidDataTypeException {
+        byte[] value = getBinary();
+        return value == null ? null : ByteBuffer.wrap(value).asReadOnlyBuffer();
+    }
+
+    /**
+     * Set the value of this single valued <i>Binary</i> property to the remaining bytes of the given buffer.
+     * The position of the given buffer is not changed.<p>
+     * 
+     * Implementations can keep a read-only view of the given buffer instead of copying it, so the caller
+     * must not modify its content afterwards. The default implementation copies the remaining bytes into a
+     * new array.
+     * 
+     * @param newValue
+     *            the new value to set this property to, or <code>null</code>.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a single valued <i>Binary</i>
+     *             property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only or cannot be set by the current user
+     */
+    public default void setBinaryBuffer(ByteBuffer newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        if(newValue == null) {
+            setValue(null);
+            return;
+        }
+        byte[] value = new byte[newValue.remaining()];
+        newValue.duplicate().get(value);
+        setValue(value);
+    }
+
+    /**
+     * Returns read-only <code>ByteBuffer</code> views of the <code>Binary</code> values of this property if
+     * and only if the data type of this property is a multi valued <i>Binary</i>. Throws an
+     * <code>OdmaInvalidDataTypeException</code> otherwise.<p>
+     * 
+     * The buffers share the values without copying them. The default implementation wraps the arrays
+     * returned by <code>{@link #getBinaryList()}</code>.
+     * 
+     * @return an unmodifiable list of read-only views of the <code>Binary</code> values of this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a multi valued <i>Binary</i>
+     *             property
+     */
+    public default List<ByteBuffer> getBinaryBufferList() throws OdmaInvalidDataTypeException {
+        List<byte[]> values = getBinaryList();
+        if(values == null) {
+            return null;
+        }
+        List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(values.size());
+        for(byte[] value : values) {
+            buffers.add(value == null ? null : ByteBuffer.wrap(value).asReadOnlyBuffer());
+        }
+        return Collections.unmodifiableList(buffers);
+    }
+
     /**
      * Returns the <code>String</code> value of this property if and only if
      * the data type of this property is a multi valued <i>String</i>. Throws
@@ -416,6 +721,28 @@ public interface OdmaProperty {
      */
     public Iterable<? extends OdmaObject> getReferenceIterable() throws OdmaInvalidDataTypeException;
 
+    /**
+     * Returns the <code>OdmaId</code>s of the objects referenced by this property if and only if
+     * the data type of this property is a multi valued <i>Reference</i>. Throws
+     * an <code>OdmaInvalidDataTypeException</code> otherwise.
+     * 
+     * Based on the PropertyResolutionState, it is possible that these OdmaIds are immediately available
+     * while the referenced OdmaObjects require additional round-trips to the server.
+     * 
+     * @return the <code>OdmaId</code>s of the objects referenced by this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a multi valued <i>Reference</i>
+     *             property
+     */
+    public default List<OdmaId> getReferenceIdList() throws OdmaInvalidDataTypeException {
+        List<OdmaId> ids = new ArrayList<OdmaId>();
+        for(OdmaObject reference : getReferenceIterable()) {
+            ids.add(reference.getId());
+        }
+        return ids;
+    }
+
     /**
      * Returns the <code>Content</code> value of this property if and only if
      * the data type of this property is a multi valued <i>Content</i>. Throws
@@ -0,0 +1,296 @@
+package org.opendma.api;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+
+/**
+ * An immutable selection of properties to retrieve from the server, e.g. in
+ * <code>{@link OdmaSession#getObjectWithSelection(OdmaId, OdmaId, OdmaPropertySelection)}</code> or
+ * <code>{@link OdmaCoreObject#prepareSelectedProperties(OdmaPropertySelection, boolean)}</code>.<p>
+ *
+ * A selection is meant to be built once and reused for many requests. Every property name has a fixed
+ * slot, the position of the name in this selection. The name lookup table and the hash code are computed
+ * on construction. Selections with equal names in equal order and with equal bound classes are equal, so
+ * adaptors can use them as keys to cache back-end specific representations, e.g. column lists.<p>
+ *
+ * A selection can optionally be bound to an <code>{@link OdmaClass}</code>. All names of a bound selection
+ * have been verified against the properties of that class, and the <code>{@link OdmaPropertyInfo}</code>
+ * of each slot is available without further lookup.
+ */
+public final class OdmaPropertySelection {
+
+    /** the selected property names in slot order */
+    private final OdmaQName[] names;
+
+    /** the slot of each selected property name */
+    private final Map<OdmaQName, Integer> slots;
+
+    /** the class this selection is bound to, or <code>null</code> */
+    private final OdmaClass boundClass;
+
+    /** the qualified name of the class this selection is bound to, or <code>null</code> */
+    private final OdmaQName boundClassName;
+
+    /** the property info of each slot if bound to a class, or <code>null</code> */
+    private final OdmaPropertyInfo[] propertyInfos;
+
+    /** the precomputed hash code of this selection */
+    private final int hashCode;
+
+    private OdmaPropertySelection(OdmaQName[] names, OdmaClass boundClass, OdmaPropertyInfo[] propertyInfos) {
+        this.names = names;
+        this.slots = new HashMap<OdmaQName, Integer>(names.length * 2);
+        for(int i = 0; i < names.length; i++) {
+            slots.put(names[i], i);
+        }
+        this.boundClass = boundClass;
+        this.boundClassName = boundClass == null ? null : boundClass.getQName();
+        this.propertyInfos = propertyInfos;
+        this.hashCode = 31 * Arrays.hashCode(names) + (boundClassName == null ? 0 : boundClassName.hashCode());
+    }
+
+    /**
+     * Creates a new unbound <code>OdmaPropertySelection</code> of the given property names. Duplicate names
+     * are removed, keeping the first occurrence.
+     *
+     * @param propertyNames
+     *            the qualified names of the properties to select
+     *
+     * @return a new <code>OdmaPropertySelection</code> of the given property names
+     *
+     * @throws IllegalArgumentException
+     *             if the given names are <code>null</code> or contain <code>null</code>
+     */
+    public static OdmaPropertySelection of(OdmaQName... propertyNames) {
+        if(propertyNames == null) {
+            throw new IllegalArgumentException("propertyNames must not be null");
+        }
+        return of(Arrays.asList(propertyNames));
+    }
+
+    /**
+     * Creates a new unbound <code>OdmaPropertySelection</code> of the given property names. Duplicate names
+     * are removed, keeping the first occurrence.
+     *
+     * @param propertyNames
+     *            the qualified names of the properties to select
+     *
+     * @return a new <code>OdmaPropertySelection</code> of the given property names
+     *
+     * @throws IllegalArgumentException
+     *             if the given names are <code>null</code> or contain <code>null</code>
+     */
+    public static OdmaPropertySelection of(Iterable<OdmaQName> propertyNames) {
+        if(propertyNames == null) {
+            throw new IllegalArgumentException("propertyNames must not be null");
+        }
+        LinkedHashSet<OdmaQName> distinct = new LinkedHashSet<OdmaQName>();
+        for(OdmaQName propertyName : propertyNames) {
+            if(propertyName == null) {
+                throw new IllegalArgumentException("propertyNames must not contain null");
+            }
+            distinct.add(propertyName);
+        }
+        return new OdmaPropertySelection(distinct.toArray(new OdmaQName[distinct.size()]), null, null);
+    }
+
+    /**
+     * Returns a copy of this selection bound to the given class. All property names of this selection are
+     * verified against the properties of the given class.
+     *
+     * @param odmaClass
+     *            the class to bind this selection to
+     *
+     * @return a new <code>OdmaPropertySelection</code> with the same names bound to the given class
+     *
+     * @throws OdmaPropertyNotFoundException
+     *             if a property name of this selection does not identify a property of the given class
+     */
+    public OdmaPropertySelection bind(OdmaClass odmaClass) throws OdmaPropertyNotFoundException {
+        if(odmaClass == null) {
+            throw new IllegalArgumentException("odmaClass must not be null");
+        }
+        OdmaPropertyInfo[] infos = new OdmaPropertyInfo[names.length];
+        int found = 0;
+        for(OdmaPropertyInfo info : odmaClass.getProperties()) {
+            Integer slot = slots.get(info.getQName());
+            if(slot != null && infos[slot] == null) {
+                infos[slot] = info;
+                found++;
+            }
+        }
+        if(found < names.length) {
+            for(int i = 0; i < names.length; i++) {
+                if(infos[i] == null) {
+                    throw new OdmaPropertyNotFoundException("Property "+names[i]+" is not a property of class "+odmaClass.getQName(), names[i]);
+                }
+            }
+        }
+        return new OdmaPropertySelection(names, odmaClass, infos);
+    }
+
+    /**
+     * Returns the number of selected properties.
+     *
+     * @return the number of selected properties
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the qualified name of the property in the given slot.
+     *
+     * @param slot
+     *            the slot of the property, between 0 and <code>size()-1</code>
+     *
+     * @return the qualified name of the property in the given slot
+     */
+    public OdmaQName getName(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Returns the slot of the given property name in this selection.
+     *
+     * @param propertyName
+     *            the qualified name of the property
+     *
+     * @return the slot of the given property name, or -1 if the property is not selected
+     */
+    public int getSlot(OdmaQName propertyName) {
+        Integer slot = slots.get(propertyName);
+        return slot == null ? -1 : slot.intValue();
+    }
+
+    /**
+     * Checks if the given property is selected.
+     *
+     * @param propertyName
+     *            the qualified name of the property
+     *
+     * @return <code>true</code> if and only if the given property is selected
+     */
+    public boolean contains(OdmaQName propertyName) {
+        return slots.containsKey(propertyName);
+    }
+
+    /**
+     * Returns the selected property names in slot order.
+     *
+     * @return an unmodifiable list of the selected property names in slot order
+     */
+    public List<OdmaQName> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Returns a new array of the selected property names in slot order, as expected by the methods taking
+     * an <code>OdmaQName[]</code>.
+     *
+     * @return a new array of the selected property names in slot order
+     */
+    public OdmaQName[] toArray() {
+        return names.clone();
+    }
+
+    /**
+     * Checks if this selection is bound to a class.
+     *
+     * @return <code>true</code> if and only if this selection is bound to a class
+     */
+    public boolean isBound() {
+        return boundClass != null;
+    }
+
+    /**
+     * Returns the class this selection is bound to.
+     *
+     * @return the class this selection is bound to, or <code>null</code> if this selection is not bound
+     */
+    public OdmaClass getBoundClass() {
+        return boundClass;
+    }
+
+    /**
+     * Returns the property info of the property in the given slot if this selection is bound to a class.
+     *
+     * @param slot
+     *            the slot of the property, between 0 and <code>size()-1</code>
+     *
+     * @return the property info of the property in the given slot
+     *
+     * @throws IllegalStateException
+     *             if this selection is not bound to a class
+     */
+    public OdmaPropertyInfo getPropertyInfo(int slot) {
+        if(propertyInfos == null) {
+            throw new IllegalStateException("Property selection is not bound to a class");
+        }
+        return propertyInfos[slot];
+    }
+
+    /**
+     * Returns the property infos of all selected properties in slot order if this selection is bound to a class.
+     *
+     * @return an unmodifiable list of the property infos of all selected properties in slot order
+     *
+     * @throws IllegalStateException
+     *             if this selection is not bound to a class
+     */
+    public List<OdmaPropertyInfo> getPropertyInfos() {
+        if(propertyInfos == null) {
+            throw new IllegalStateException("Property selection is not bound to a class");
+        }
+        return Collections.unmodifiableList(Arrays.asList(propertyInfos));
+    }
+
+    /**
+     * Checks if this selection is equal to another object. Two selections are equal if they select the same
+     * property names in the same order and are bound to classes with equal qualified names, or both unbound.
+     *
+     * @param obj the object to compare with
+     * @return true if the given object is equal to this <code>OdmaPropertySelection</code>, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        OdmaPropertySelection that = (OdmaPropertySelection) obj;
+        if (hashCode != that.hashCode) {
+            return false;
+        }
+        return Arrays.equals(names, that.names) && (boundClassName == null ? that.boundClassName == null : boundClassName.equals(that.boundClassName));
+    }
+
+    /**
+     * Returns the hash code value for this <code>OdmaPropertySelection</code>, computed on construction.
+     *
+     * @return the hash code value
+     */
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * Returns a string representation of this <code>OdmaPropertySelection</code>.
+     *
+     * @return the string representation of this <code>OdmaPropertySelection</code>
+     */
+    @Override
+    public String toString() {
+        return boundClassName == null ? Arrays.toString(names) : boundClassName + Arrays.toString(names);
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.opendma.api;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * <code>ReadableByteChannel</code> returning at most a given number of bytes from another channel.
+ * Closing this channel closes the underlying channel. Also hosts the copy loop shared by the default
+ * <code>transferTo</code> methods of <code>{@link OdmaContent}</code>.
+ */
+class OdmaRangeChannel implements ReadableByteChannel {
+
+    private final ReadableByteChannel delegate;
+
+    private long remaining;
+
+    OdmaRangeChannel(ReadableByteChannel delegate, long length) {
+        this.delegate = delegate;
+        this.remaining = length;
+    }
+
+    /**
+     * Copies all remaining data of the source channel to the target channel through a direct buffer.
+     * Stops if the target channel is in non-blocking mode and accepts no data. Bytes read from the source
+     * but not written are discarded in this case.
+     *
+     * @param source
+     *            The channel to read from.
+     * @param target
+     *            The channel to write to.
+     *
+     * @return The number of bytes written to the target channel.
+     *
+     * @throws IOException
+     *             If reading or writing fails.
+     */
+    static long copy(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        long transferred = 0;
+        while(source.read(buffer) >= 0 || buffer.position() > 0) {
+            ((Buffer)buffer).flip();
+            int written = target.write(buffer);
+            if(written == 0 && buffer.hasRemaining()) {
+                // a non-blocking target is full, spinning would not make progress
+                break;
+            }
+            transferred += written;
+            buffer.compact();
+        }
+        return transferred;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if(remaining <= 0) {
+            return -1;
+        }
+        int read;
+        if(dst.remaining() > remaining) {
+            int limit = dst.limit();
+            ((Buffer)dst).limit(dst.position() + (int)remaining);
+            try {
+                read = delegate.read(dst);
+            } finally {
+                ((Buffer)dst).limit(limit);
+            }
+        } else {
+            read = delegate.read(dst);
+        }
+        if(read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+}
@@ -1,5 +1,7 @@
 package org.opendma.api;
 
+import java.util.concurrent.Executor;
+
 /**
  * Represents the result of a search operation.
  * Provides access to the objects found and number of objects.
@@ -20,4 +22,61 @@ public interface OdmaSearchResult {
      */
     public int getSize();
 
+    /**
+     * Returns the number of objects found by the search or -1 if the total size is unknown. The number can
+     * be an estimate, see <code>{@link #isSizeEstimated()}</code>. Adaptors streaming results larger than
+     * <code>Integer.MAX_VALUE</code> implement this method and return -1 from <code>{@link #getSize()}</code>.<p>
+     * 
+     * The default implementation returns <code>{@link #getSize()}</code>.
+     * 
+     * @return the number of objects found by the search or -1 if the total size is unknown
+     */
+    public default long getTotalSize() {
+        return getSize();
+    }
+
+    /**
+     * Checks if <code>{@link #getTotalSize()}</code> is an estimate provided by the back-end system rather
+     * than the exact number of objects found.<p>
+     * 
+     * The default implementation returns <code>false</code>.
+     * 
+     * @return <code>true</code> if and only if the total size is an estimate
+     */
+    public default boolean isSizeEstimated() {
+        return false;
+    }
+
+    /**
+     * Returns the objects found by the search as an <code>{@link OdmaPagingIterable}</code>.<p>
+     * 
+     * The default implementation returns the result of <code>{@link #getObjects()}</code> if it is an
+     * <code>OdmaPagingIterable</code>. Otherwise, it divides the objects into pages of
+     * <code>{@value OdmaIterablePages#DEFAULT_PAGE_SIZE}</code>, marked by the offset of their first object.
+     * 
+     * @return the objects found by the search as an <code>OdmaPagingIterable</code>
+     */
+    @SuppressWarnings("unchecked")
+    public default OdmaPagingIterable<OdmaObject> getPages() {
+        Iterable<OdmaObject> objects = getObjects();
+        if(objects instanceof OdmaPagingIterable) {
+            return (OdmaPagingIterable<OdmaObject>)objects;
+        }
+        return new OdmaIterablePages<OdmaObject>(objects, OdmaIterablePages.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Returns a publisher of the objects found by the search. Each subscription iterates over a new page
+     * iterator of <code>{@link #getPages()}</code> and fetches the next page only when the subscriber has
+     * requested more objects than remain in the current page.
+     * 
+     * @param executor
+     *            the executor fetching pages and signalling the subscribers
+     * 
+     * @return a publisher of the objects found by the search
+     */
+    public default OdmaPagePublisher<OdmaObject> publisher(Executor executor) {
+        return new OdmaPagePublisher<OdmaObject>(getPages(), executor);
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package org.opendma.api;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.opendma.exceptions.OdmaObjectNotFoundException;
 import org.opendma.exceptions.OdmaQuerySyntaxException;
@@ -47,6 +51,104 @@ public interface OdmaSession {
      */
     OdmaObject getObject(OdmaId repositoryId, OdmaId objectId, OdmaQName[] propertyNames) throws OdmaObjectNotFoundException;
     
+    /**
+     * Returns the object identified by the given ID in the given repository, retrieving the properties of
+     * the given selection.<p>
+     * 
+     * The default implementation passes the names of the selection to
+     * <code>{@link #getObject(OdmaId, OdmaId, OdmaQName[])}</code>. Adaptors can override it to reuse
+     * back-end specific representations cached per selection.
+     * 
+     * @param repositoryId
+     *            the id of the repository to retrieve the object from
+     * 
+     * @param objectId
+     *            the id of the object to return
+     * 
+     * @param propertySelection
+     *            the properties to retrieve from the server or <code>null</code> to retrieve all
+     * 
+     * @return the object identified by the given ID in the given repository.
+     * 
+     * @throws OdmaObjectNotFoundException if no object with this ID exists or the account has no access
+     */
+    default OdmaObject getObjectWithSelection(OdmaId repositoryId, OdmaId objectId, OdmaPropertySelection propertySelection) throws OdmaObjectNotFoundException {
+        return getObject(repositoryId, objectId, propertySelection == null ? null : propertySelection.toArray());
+    }
+    
+    /**
+     * Returns the objects identified by the given IDs in the given repository. The returned list has the
+     * same size and order as the given list of IDs. Objects that do not exist or the account has no access
+     * to are represented by <code>null</code> elements instead of failing the whole request.<p>
+     * 
+     * The default implementation calls <code>{@link #getObject(OdmaId, OdmaId, OdmaQName[])}</code> for each ID.
+     * Adaptors should override it to retrieve all objects with a single request to the back-end system.
+     * 
+     * @param repositoryId
+     *            the id of the repository to retrieve the objects from
+     * 
+     * @param objectIds
+     *            the ids of the objects to return
+     * 
+     * @param propertyNames
+     *            array of qualified property names to retrieve from the server or <code>null</code> to retrieve all
+     * 
+     * @return the objects identified by the given IDs in input order, with <code>null</code> for each object not found
+     */
+    default List<OdmaObject> getObjects(OdmaId repositoryId, List<OdmaId> objectIds, OdmaQName[] propertyNames) {
+        List<OdmaObject> result = new ArrayList<OdmaObject>(objectIds.size());
+        for(OdmaId objectId : objectIds) {
+            try {
+                result.add(getObject(repositoryId, objectId, propertyNames));
+            } catch(OdmaObjectNotFoundException onfe) {
+                result.add(null);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the objects identified by the given global IDs, possibly spanning multiple repositories. The
+     * returned list has the same size and order as the given list of IDs. Objects that do not exist or the
+     * account has no access to are represented by <code>null</code> elements.<p>
+     * 
+     * The default implementation groups the IDs by repository and calls
+     * <code>{@link #getObjects(OdmaId, List, OdmaQName[])}</code> once per repository.
+     * 
+     * @param objectGuids
+     *            the global ids of the objects to return
+     * 
+     * @param propertyNames
+     *            array of qualified property names to retrieve from the server or <code>null</code> to retrieve all
+     * 
+     * @return the objects identified by the given IDs in input order, with <code>null</code> for each object not found
+     */
+    default List<OdmaObject> getObjectsByGuid(List<OdmaGuid> objectGuids, OdmaQName[] propertyNames) {
+        Map<OdmaId, List<Integer>> positionsByRepository = new LinkedHashMap<OdmaId, List<Integer>>();
+        for(int i = 0; i < objectGuids.size(); i++) {
+            OdmaId repositoryId = objectGuids.get(i).getRepositoryId();
+            List<Integer> positions = positionsByRepository.get(repositoryId);
+            if(positions == null) {
+                positions = new ArrayList<Integer>();
+                positionsByRepository.put(repositoryId, positions);
+            }
+            positions.add(i);
+        }
+        OdmaObject[] result = new OdmaObject[objectGuids.size()];
+        for(Map.Entry<OdmaId, List<Integer>> entry : positionsByRepository.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            List<OdmaId> objectIds = new ArrayList<OdmaId>(positions.size());
+            for(Integer position : positions) {
+                objectIds.add(objectGuids.get(position).getObjectId());
+            }
+            List<OdmaObject> objects = getObjects(entry.getKey(), objectIds, propertyNames);
+            for(int i = 0; i < positions.size(); i++) {
+                result[positions.get(i)] = objects.get(i);
+            }
+        }
+        return Arrays.asList(result);
+    }
+    
     /**
      * Performs a search operation against a repository and returns the result.
      * 
@@ -0,0 +1,217 @@
+package org.opendma.impl;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opendma.api.OdmaAsyncSession;
+import org.opendma.api.OdmaCoreObject;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaRepository;
+import org.opendma.api.OdmaSearchResult;
+import org.opendma.api.OdmaSession;
+
+/**
+ * Implementation of <code>{@link OdmaAsyncSession}</code> running the operations of a synchronous
+ * <code>{@link OdmaSession}</code> on an <code>Executor</code>.<p>
+ *
+ * Without an explicit executor, each operation runs on a new virtual thread when running on Java 21 or
+ * later, and on a cached pool of daemon threads otherwise. This default executor is shut down when this
+ * session is closed.
+ */
+public class OdmaAsyncSessionAdapter implements OdmaAsyncSession {
+
+    private interface Operation<T> {
+        T call() throws Exception;
+    }
+
+    /** the synchronous session performing the operations */
+    private final OdmaSession session;
+
+    /** the executor running the operations */
+    private final Executor executor;
+
+    /** flag indicating if the executor has been created by this adapter and needs to be shut down on close */
+    private final boolean ownsExecutor;
+
+    /**
+     * Create a new <code>OdmaAsyncSessionAdapter</code> running the operations of the given session on
+     * the default executor.
+     *
+     * @param session
+     *            the synchronous session performing the operations
+     */
+    public OdmaAsyncSessionAdapter(OdmaSession session) {
+        this(session, createDefaultExecutor(), true);
+    }
+
+    /**
+     * Create a new <code>OdmaAsyncSessionAdapter</code> running the operations of the given session on
+     * the given executor. The executor is not shut down when this session is closed.
+     *
+     * @param session
+     *            the synchronous session performing the operations
+     * @param executor
+     *            the executor running the operations
+     */
+    public OdmaAsyncSessionAdapter(OdmaSession session, Executor executor) {
+        this(session, executor, false);
+    }
+
+    private OdmaAsyncSessionAdapter(OdmaSession session, Executor executor, boolean ownsExecutor) {
+        if(session == null) {
+            throw new IllegalArgumentException("session must not be null");
+        }
+        if(executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.session = session;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates the default executor for blocking OpenDMA operations. Returns an executor starting a new
+     * virtual thread for each task if the runtime supports virtual threads (Java 21 and later). Returns a
+     * cached pool of daemon platform threads otherwise.
+     *
+     * @return a new executor for blocking OpenDMA operations
+     */
+    public static ExecutorService createDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            // no virtual threads available in this runtime (before Java 21, or preview not enabled)
+        }
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "opendma-async-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(final Operation<T> operation) {
+        final CompletableFuture<T> future = new CompletableFuture<T>();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        future.complete(operation.call());
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            future.completeExceptionally(ree);
+        }
+        return future;
+    }
+
+    public OdmaSession getSession() {
+        return session;
+    }
+
+    public CompletableFuture<List<OdmaId>> getRepositoryIds() {
+        return submit(new Operation<List<OdmaId>>() {
+            public List<OdmaId> call() {
+                return session.getRepositoryIds();
+            }
+        });
+    }
+
+    public CompletableFuture<OdmaRepository> getRepository(final OdmaId repositoryId) {
+        return submit(new Operation<OdmaRepository>() {
+            public OdmaRepository call() throws Exception {
+                return session.getRepository(repositoryId);
+            }
+        });
+    }
+
+    public CompletableFuture<OdmaObject> getObject(final OdmaId repositoryId, final OdmaId objectId, final OdmaQName[] propertyNames) {
+        return submit(new Operation<OdmaObject>() {
+            public OdmaObject call() throws Exception {
+                return session.getObject(repositoryId, objectId, propertyNames);
+            }
+        });
+    }
+
+    public CompletableFuture<List<OdmaObject>> getObjects(final OdmaId repositoryId, final List<OdmaId> objectIds, final OdmaQName[] propertyNames) {
+        return submit(new Operation<List<OdmaObject>>() {
+            public List<OdmaObject> call() {
+                return session.getObjects(repositoryId, objectIds, propertyNames);
+            }
+        });
+    }
+
+    public CompletableFuture<OdmaSearchResult> search(final OdmaId repositoryId, final OdmaQName queryLanguage, final String query) {
+        return submit(new Operation<OdmaSearchResult>() {
+            public OdmaSearchResult call() throws Exception {
+                return session.search(repositoryId, queryLanguage, query);
+            }
+        });
+    }
+
+    public CompletableFuture<List<OdmaQName>> getSupportedQueryLanguages() {
+        return submit(new Operation<List<OdmaQName>>() {
+            public List<OdmaQName> call() {
+                return session.getSupportedQueryLanguages();
+            }
+        });
+    }
+
+    public CompletableFuture<OdmaProperty> getProperty(final OdmaCoreObject object, final OdmaQName propertyName) {
+        return submit(new Operation<OdmaProperty>() {
+            public OdmaProperty call() throws Exception {
+                OdmaProperty property = object.getProperty(propertyName);
+                property.getValue();
+                return property;
+            }
+        });
+    }
+
+    public CompletableFuture<Void> prepareProperties(final OdmaCoreObject object, final OdmaQName[] propertyNames, final boolean refresh) {
+        return submit(new Operation<Void>() {
+            public Void call() {
+                object.prepareProperties(propertyNames, refresh);
+                return null;
+            }
+        });
+    }
+
+    public CompletableFuture<Void> save(final OdmaCoreObject object) {
+        return submit(new Operation<Void>() {
+            public Void call() {
+                object.save();
+                return null;
+            }
+        });
+    }
+
+    public void close() {
+        try {
+            session.close();
+        } finally {
+            if(ownsExecutor) {
+                ((ExecutorService) executor).shutdown();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,309 @@
+package org.opendma.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaQName;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Shared resolution context for lazily resolved properties of sibling objects, e.g. all hits of an
+ * <code>OdmaSearchResult</code> or all objects of one page of an <code>OdmaPageIterator</code>.<p>
+ *
+ * Adaptors create one context per group of siblings and obtain the value providers of unresolved
+ * properties from <code>{@link #register(OdmaQName, Object)}</code>. The first access to such a property
+ * resolves the same property of all pending siblings with a single call to the
+ * <code>{@link OdmaBatchValueLoader}</code>. Siblings of that batch accessed concurrently wait for this
+ * call and take their value from its result.<p>
+ *
+ * Pending providers are held weakly. Providers of properties set explicitly before their resolution and
+ * providers of dropped objects are released with their property and never loaded once collected.
+ *
+ * @param <K>
+ *            the type of the keys identifying the objects in the back-end system
+ */
+public class OdmaBatchResolutionContext<K> {
+
+    /**
+     * Loads the values of one property for a batch of objects in a single round-trip.
+     *
+     * @param <K>
+     *            the type of the keys identifying the objects in the back-end system
+     */
+    public interface OdmaBatchValueLoader<K> {
+
+        /**
+         * Resolves the value of the given property for all given objects.
+         *
+         * @param propertyName
+         *            the qualified name of the property to resolve
+         * @param keys
+         *            the keys of the objects to resolve the property for
+         *
+         * @return the values of the property by object key. Keys without entry resolve to <code>null</code>.
+         */
+        Map<K, Object> loadPropertyValues(OdmaQName propertyName, Collection<K> keys);
+
+    }
+
+    /** the loader resolving a property for a batch of objects */
+    private final OdmaBatchValueLoader<K> loader;
+
+    /** the maximum number of objects resolved with one call to the loader */
+    private final int maxBatchSize;
+
+    /** providers not yet assigned to a batch, by property name. Guarded by itself. */
+    private final Map<OdmaQName, LinkedHashSet<PendingProvider<BatchValueProvider>>> pending = new HashMap<OdmaQName, LinkedHashSet<PendingProvider<BatchValueProvider>>>();
+
+    /** the queue of pending providers collected before their resolution. Polled while holding <code>pending</code>. */
+    private final ReferenceQueue<BatchValueProvider> collected = new ReferenceQueue<BatchValueProvider>();
+
+    /**
+     * Create a new <code>OdmaBatchResolutionContext</code> resolving all pending siblings at once.
+     *
+     * @param loader
+     *            the loader resolving a property for a batch of objects
+     */
+    public OdmaBatchResolutionContext(OdmaBatchValueLoader<K> loader) {
+        this(loader, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a new <code>OdmaBatchResolutionContext</code> resolving at most <code>maxBatchSize</code>
+     * pending siblings at once.
+     *
+     * @param loader
+     *            the loader resolving a property for a batch of objects
+     * @param maxBatchSize
+     *            the maximum number of objects resolved with one call to the loader
+     */
+    public OdmaBatchResolutionContext(OdmaBatchValueLoader<K> loader, int maxBatchSize) {
+        if(loader == null) {
+            throw new IllegalArgumentException("loader must not be null");
+        }
+        if(maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.loader = loader;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Registers an unresolved property of the object with the given key and returns the value provider
+     * for this property.
+     *
+     * @param propertyName
+     *            the qualified name of the property
+     * @param key
+     *            the key identifying the object in the back-end system
+     *
+     * @return the value provider resolving the property together with its pending siblings
+     */
+    public OdmaLazyPropertyValueProvider register(OdmaQName propertyName, K key) {
+        return register(propertyName, key, null);
+    }
+
+    /**
+     * Registers an unresolved reference property of the object with the given key whose
+     * <code>OdmaId</code> is already known. Properties registered this way report the resolution state
+     * <code>IDRESOLVED</code>.
+     *
+     * @param propertyName
+     *            the qualified name of the property
+     * @param key
+     *            the key identifying the object in the back-end system
+     * @param referenceId
+     *            the <code>OdmaId</code> of the referenced object, or <code>null</code> if not known
+     *
+     * @return the value provider resolving the property together with its pending siblings
+     */
+    public OdmaLazyPropertyValueProvider register(OdmaQName propertyName, K key, OdmaId referenceId) {
+        return register(new BatchValueProvider(propertyName, key, referenceId, null));
+    }
+
+    /**
+     * Registers an unresolved multi-valued reference property of the object with the given key whose
+     * referenced <code>OdmaId</code>s are already known. Properties registered this way report the
+     * resolution state <code>IDRESOLVED</code> and return these ids from <code>getReferenceIdList()</code>
+     * without resolution.
+     *
+     * @param propertyName
+     *            the qualified name of the property
+     * @param key
+     *            the key identifying the object in the back-end system
+     * @param referenceIds
+     *            the <code>OdmaId</code>s of the referenced objects, or <code>null</code> if not known
+     *
+     * @return the value provider resolving the property together with its pending siblings
+     */
+    public OdmaLazyPropertyValueProvider registerReferences(OdmaQName propertyName, K key, List<OdmaId> referenceIds) {
+        return register(new BatchValueProvider(propertyName, key, null, referenceIds));
+    }
+
+    private OdmaLazyPropertyValueProvider register(BatchValueProvider provider) {
+        OdmaQName propertyName = provider.propertyName;
+        synchronized(pending) {
+            removeCollected();
+            LinkedHashSet<PendingProvider<BatchValueProvider>> providers = pending.get(propertyName);
+            if(providers == null) {
+                providers = new LinkedHashSet<PendingProvider<BatchValueProvider>>();
+                pending.put(propertyName, providers);
+            }
+            providers.add(provider.pendingReference);
+        }
+        return provider;
+    }
+
+    private void removeCollected() {
+        Reference<? extends BatchValueProvider> reference;
+        while((reference = collected.poll()) != null) {
+            OdmaQName propertyName = ((PendingProvider<?>)reference).propertyName;
+            LinkedHashSet<PendingProvider<BatchValueProvider>> providers = pending.get(propertyName);
+            if(providers != null && providers.remove(reference) && providers.isEmpty()) {
+                pending.remove(propertyName);
+            }
+        }
+    }
+
+    private Batch assignBatch(BatchValueProvider provider) {
+        synchronized(pending) {
+            if(provider.batch != null) {
+                return provider.batch;
+            }
+            removeCollected();
+            LinkedHashSet<PendingProvider<BatchValueProvider>> providers = pending.get(provider.propertyName);
+            providers.remove(provider.pendingReference);
+            List<BatchValueProvider> members = new ArrayList<BatchValueProvider>(Math.min(providers.size() + 1, maxBatchSize));
+            members.add(provider);
+            Iterator<PendingProvider<BatchValueProvider>> it = providers.iterator();
+            while(it.hasNext() && members.size() < maxBatchSize) {
+                BatchValueProvider member = it.next().get();
+                it.remove();
+                if(member != null) {
+                    members.add(member);
+                }
+            }
+            if(providers.isEmpty()) {
+                pending.remove(provider.propertyName);
+            }
+            Batch batch = new Batch(provider.propertyName, members);
+            for(BatchValueProvider member : members) {
+                member.batch = batch;
+            }
+            return batch;
+        }
+    }
+
+    private class Batch {
+
+        private final OdmaQName propertyName;
+
+        private List<BatchValueProvider> members;
+
+        /**
+         * guards the call to the loader. A <code>ReentrantLock</code> instead of the monitor of this batch, so
+         * virtual threads waiting for the back-end are not pinned to their carrier.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** the loaded values, or <code>null</code> if not loaded yet */
+        private volatile Map<K, Object> values;
+
+        private Batch(OdmaQName propertyName, List<BatchValueProvider> members) {
+            this.propertyName = propertyName;
+            this.members = members;
+        }
+
+        private Object getValue(K key) {
+            Map<K, Object> loaded = values;
+            if(loaded == null) {
+                lock.lock();
+                try {
+                    loaded = values;
+                    if(loaded == null) {
+                        List<K> keys = new ArrayList<K>(members.size());
+                        for(BatchValueProvider member : members) {
+                            keys.add(member.key);
+                        }
+                        Map<K, Object> result = loader.loadPropertyValues(propertyName, keys);
+                        loaded = result != null ? result : new HashMap<K, Object>();
+                        members = null;
+                        values = loaded;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return loaded.get(key);
+        }
+
+    }
+
+    private static class PendingProvider<P> extends WeakReference<P> {
+
+        private final OdmaQName propertyName;
+
+        private PendingProvider(P provider, OdmaQName propertyName, ReferenceQueue<? super P> queue) {
+            super(provider, queue);
+            this.propertyName = propertyName;
+        }
+
+    }
+
+    private class BatchValueProvider implements OdmaLazyPropertyValueProvider {
+
+        private final OdmaQName propertyName;
+
+        private final K key;
+
+        private final OdmaId referenceId;
+
+        private final List<OdmaId> referenceIds;
+
+        /** the weak reference to this provider held in <code>pending</code> */
+        private final PendingProvider<BatchValueProvider> pendingReference;
+
+        /** the batch this provider is resolved with. Guarded by <code>pending</code>. */
+        private Batch batch;
+
+        private BatchValueProvider(OdmaQName propertyName, K key, OdmaId referenceId, List<OdmaId> referenceIds) {
+            this.propertyName = propertyName;
+            this.key = key;
+            this.referenceId = referenceId;
+            this.referenceIds = referenceIds;
+            this.pendingReference = new PendingProvider<BatchValueProvider>(this, propertyName, collected);
+        }
+
+        public boolean hasReferenceId() {
+            return referenceId != null;
+        }
+
+        public OdmaId getReferenceId() {
+            return referenceId;
+        }
+
+        public boolean hasReferenceIds() {
+            return referenceIds != null;
+        }
+
+        public List<OdmaId> getReferenceIds() {
+            return referenceIds;
+        }
+
+        public Object resovlePropertyValue() {
+            return assignBatch(this).getValue(key);
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.opendma.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A <code>List&lt;Boolean&gt;</code> backed by a <code>boolean[]</code>. Values are stored unboxed and
+ * can be read and written without boxing through the primitive accessors. Multi valued <i>Boolean</i>
+ * properties accept instances of this class without checking each element. <code>null</code>
+ * elements are not supported.
+ */
+public class OdmaBooleanArrayList extends AbstractList<Boolean> implements RandomAccess {
+
+    private static final boolean[] EMPTY = new boolean[0];
+
+    /** the values of this list. Only the first <code>size</code> entries are used. */
+    private boolean[] values;
+
+    /** the number of values in this list */
+    private int size;
+
+    /**
+     * Create a new empty <code>OdmaBooleanArrayList</code>.
+     */
+    public OdmaBooleanArrayList() {
+        values = EMPTY;
+    }
+
+    /**
+     * Create a new empty <code>OdmaBooleanArrayList</code> with the given initial capacity.
+     * 
+     * @param initialCapacity
+     *            the number of values this list can hold before growing its array
+     */
+    public OdmaBooleanArrayList(int initialCapacity) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: "+initialCapacity);
+        }
+        values = initialCapacity == 0 ? EMPTY : new boolean[initialCapacity];
+    }
+
+    /**
+     * Create a new <code>OdmaBooleanArrayList</code> containing a copy of the given values.
+     * 
+     * @param values
+     *            the values of the new list
+     */
+    public OdmaBooleanArrayList(boolean[] values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    /**
+     * Create a new <code>OdmaBooleanArrayList</code> containing the elements of the given collection.
+     * 
+     * @param c
+     *            the collection whose elements are to be placed into this list
+     * 
+     * @throws NullPointerException
+     *             if the collection contains <code>null</code> elements
+     */
+    public OdmaBooleanArrayList(Collection<? extends Boolean> c) {
+        if(c instanceof OdmaBooleanArrayList) {
+            OdmaBooleanArrayList other = (OdmaBooleanArrayList)c;
+            values = Arrays.copyOf(other.values, other.size);
+            size = other.size;
+        } else {
+            values = new boolean[c.size()];
+            for(Boolean value : c) {
+                values[size++] = value.booleanValue();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Boolean get(int index) {
+        return getBoolean(index);
+    }
+
+    /**
+     * Returns the value at the given position in this list without boxing.
+     * 
+     * @param index
+     *            index of the value to return
+     * 
+     * @return the value at the given position in this list
+     */
+    public boolean getBoolean(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    @Override
+    public Boolean set(int index, Boolean element) {
+        return setBoolean(index, element.booleanValue());
+    }
+
+    /**
+     * Replaces the value at the given position in this list without boxing.
+     * 
+     * @param index
+     *            index of the value to replace
+     * @param value
+     *            value to be stored at the given position
+     * 
+     * @return the value previously at the given position
+     */
+    public boolean setBoolean(int index, boolean value) {
+        checkIndex(index);
+        boolean old = values[index];
+        values[index] = value;
+        return old;
+    }
+
+    @Override
+    public void add(int index, Boolean element) {
+        addBoolean(index, element.booleanValue());
+    }
+
+    /**
+     * Appends the given value to the end of this list without boxing.
+     * 
+     * @param value
+     *            value to be appended
+     */
+    public void addBoolean(boolean value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Inserts the given value at the given position in this list without boxing.
+     * 
+     * @param index
+     *            index at which the value is to be inserted
+     * @param value
+     *            value to be inserted
+     */
+    public void addBoolean(int index, boolean value) {
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Boolean remove(int index) {
+        checkIndex(index);
+        boolean old = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a copy of the values of this list as <code>boolean[]</code>.
+     * 
+     * @return a new array containing all values of this list in proper sequence
+     */
+    public boolean[] toBooleanArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if(minCapacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(minCapacity, values.length + (values.length >> 1) + 1));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+        }
+    }
+
+}
@@ -0,0 +1,340 @@
+package org.opendma.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.opendma.api.OdmaAuditStamped;
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaDataContentElement;
+import org.opendma.exceptions.OdmaRuntimeException;
+
+/**
+ * Size-bounded cache of the binary data of <code>{@link OdmaDataContentElement}</code>s in a local directory.<p>
+ *
+ * Entries are keyed by the <code>OdmaGuid</code> of the content element, its last modification time if it is
+ * <code>{@link OdmaAuditStamped}</code>, and its size. Hits are served as <code>{@link OdmaFileContent}</code>
+ * without contacting the back-end system. When the total size of all entries exceeds the limit, the least
+ * recently used entries are deleted. Concurrent reads of the same missing entry are deduplicated, so only
+ * one download fills the cache while the other readers wait for it.<p>
+ *
+ * Cached files survive a restart. On construction, files found in the directory are adopted in the order
+ * of their modification time. A content obtained from this cache refers to the cached file and fails to
+ * open once the entry has been evicted, so it should be read right away. Contents larger than the limit of
+ * this cache are not cached. If the size of a content element is unknown, this is only detected after the
+ * download, and the content is read again from the content element.
+ */
+public class OdmaContentCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** the directory holding the cached files */
+    private final Path directory;
+
+    /** the maximum total size of all cached files in bytes */
+    private final long maxBytes;
+
+    /** the size of each cached file by file name, in access order. Guarded by <code>this</code>. */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+
+    /** the total size of all cached files in bytes. Guarded by <code>this</code>. */
+    private long totalBytes;
+
+    /** the downloads in progress by file name */
+    private final ConcurrentMap<String, CompletableFuture<Path>> fills = new ConcurrentHashMap<String, CompletableFuture<Path>>();
+
+    /**
+     * Create a new <code>OdmaContentCache</code> in the given directory. The directory is created if it does
+     * not exist. Cached files already in the directory are adopted, and left over partial downloads are deleted.
+     *
+     * @param directory
+     *            the directory holding the cached files
+     * @param maxBytes
+     *            the maximum total size of all cached files in bytes
+     *
+     * @throws IOException
+     *             if the directory cannot be created or read
+     */
+    public OdmaContentCache(Path directory, long maxBytes) throws IOException {
+        if(directory == null) {
+            throw new IllegalArgumentException("directory must not be null");
+        }
+        if(maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        List<File> existing = new ArrayList<File>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for(Path file : files) {
+                if(file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if(Files.isRegularFile(file)) {
+                    existing.add(file.toFile());
+                }
+            }
+        }
+        Collections.sort(existing, new Comparator<File>() {
+            @Override
+            public int compare(File f1, File f2) {
+                return Long.compare(f1.lastModified(), f2.lastModified());
+            }
+        });
+        for(File file : existing) {
+            add(file.getName(), file.length());
+        }
+    }
+
+    /**
+     * Returns the content of the given content element, served from this cache. Downloads the content into
+     * the cache if it is not cached yet.
+     *
+     * @param element
+     *            the content element to return the content of
+     *
+     * @return the content of the given content element, or <code>null</code> if it has no content
+     */
+    public OdmaContent getContent(OdmaDataContentElement element) {
+        String name = getCacheFileName(element);
+        Path cached = lookup(name);
+        if(cached != null) {
+            return new OdmaFileContent(cached);
+        }
+        Long size = element.getSize();
+        if(size != null && size.longValue() > maxBytes) {
+            return element.getContent();
+        }
+        cached = fill(name, element);
+        // not cached if the element has no content or turned out to be larger than this cache
+        return cached == null ? element.getContent() : new OdmaFileContent(cached);
+    }
+
+    /**
+     * Returns a decorator of the given content element implementing the same interfaces, whose
+     * <code>getContent()</code> is served from this cache. All other methods are delegated to the given element.
+     *
+     * @param element
+     *            the content element to decorate
+     *
+     * @return the decorated content element
+     */
+    public OdmaDataContentElement decorate(final OdmaDataContentElement element) {
+        Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for(Class<?> c = element.getClass(); c != null; c = c.getSuperclass()) {
+            Collections.addAll(interfaces, c.getInterfaces());
+        }
+        return (OdmaDataContentElement)Proxy.newProxyInstance(element.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]), new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if("getContent".equals(method.getName()) && method.getParameterTypes().length == 0) {
+                    return getContent(element);
+                }
+                try {
+                    return method.invoke(element, args);
+                } catch(InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes all entries from this cache and deletes the cached files.
+     */
+    public void clear() {
+        List<String> names;
+        synchronized(this) {
+            names = new ArrayList<String>(entries.keySet());
+            entries.clear();
+            totalBytes = 0;
+        }
+        delete(names);
+    }
+
+    /**
+     * Returns the total size of all cached files in bytes.
+     *
+     * @return the total size of all cached files in bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized Path lookup(String name) {
+        if(entries.get(name) == null) {
+            return null;
+        }
+        Path file = directory.resolve(name);
+        if(!Files.exists(file)) {
+            totalBytes -= entries.remove(name);
+            return null;
+        }
+        return file;
+    }
+
+    private Path fill(String name, OdmaDataContentElement element) {
+        CompletableFuture<Path> future = new CompletableFuture<Path>();
+        CompletableFuture<Path> running = fills.putIfAbsent(name, future);
+        if(running != null) {
+            try {
+                return running.get();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OdmaRuntimeException("Interrupted while waiting for content to be cached", e);
+            } catch(ExecutionException e) {
+                Throwable cause = e.getCause();
+                if(cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                }
+                if(cause instanceof Error) {
+                    throw (Error)cause;
+                }
+                throw new OdmaRuntimeException("Failed to cache content", cause);
+            }
+        }
+        try {
+            // another fill may have completed between the lookup and the registration of this fill
+            Path file = lookup(name);
+            if(file == null) {
+                file = download(name, element);
+            }
+            future.complete(file);
+            return file;
+        } catch(Throwable t) {
+            // waiting readers must never block on a fill that died, whatever the failure
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            fills.remove(name, future);
+        }
+    }
+
+    private Path download(String name, OdmaDataContentElement element) {
+        OdmaContent content = element.getContent();
+        if(content == null) {
+            return null;
+        }
+        Path file = directory.resolve(name);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, name, TEMP_SUFFIX);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                content.transferTo(channel);
+            }
+            long size = Files.size(temp);
+            if(size > maxBytes) {
+                // the size of the element was unknown up front. Deleted in finally.
+                return null;
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            add(name, size);
+            return file;
+        } catch(IOException e) {
+            throw new OdmaRuntimeException("Failed to cache content of "+element.getGuid(), e);
+        } finally {
+            if(temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch(IOException ignored) {
+                    // left over temporary files are deleted on the next start
+                }
+            }
+        }
+    }
+
+    private void add(String name, long size) {
+        List<String> evicted = new ArrayList<String>();
+        synchronized(this) {
+            Long previous = entries.put(name, size);
+            totalBytes += size - (previous == null ? 0 : previous.longValue());
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while(totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if(!eldest.getKey().equals(name)) {
+                    it.remove();
+                    totalBytes -= eldest.getValue();
+                    evicted.add(eldest.getKey());
+                }
+            }
+        }
+        delete(evicted);
+    }
+
+    private void delete(List<String> names) {
+        for(String name : names) {
+            try {
+                Files.deleteIfExists(directory.resolve(name));
+            } catch(IOException ignored) {
+                // still open on a platform without delete-on-open semantics; overwritten when cached again
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the file caching the content of the given element, the hex encoded SHA-256 digest
+     * of <code>{@link #getContentKey(OdmaDataContentElement)}</code>.
+     *
+     * @param element
+     *            the content element to return the cache file name for
+     *
+     * @return the name of the file caching the content of the given element
+     */
+    protected String getCacheFileName(OdmaDataContentElement element) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(getContentKey(element).getBytes(StandardCharsets.UTF_8));
+            return OdmaDigestingContent.toHex(digest);
+        } catch(NoSuchAlgorithmException e) {
+            throw new OdmaRuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns a key identifying the current content of the given element, built from its <code>OdmaGuid</code>,
+     * its last modification time if it is <code>{@link OdmaAuditStamped}</code>, and its size.
+     *
+     * @param element
+     *            the content element to return the key for
+     *
+     * @return a key identifying the current content of the given element
+     */
+    static String getContentKey(OdmaDataContentElement element) {
+        StringBuilder key = new StringBuilder(String.valueOf(element.getGuid()));
+        if(element instanceof OdmaAuditStamped) {
+            Date lastModified = ((OdmaAuditStamped)element).getLastModifiedAt();
+            if(lastModified != null) {
+                key.append('@').append(lastModified.getTime());
+            }
+        }
+        key.append('#').append(element.getSize());
+        return key.toString();
+    }
+
+}
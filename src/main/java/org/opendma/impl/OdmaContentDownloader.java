@@ -0,0 +1,253 @@
+package org.opendma.impl;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaContentElement;
+import org.opendma.api.OdmaDataContentElement;
+import org.opendma.api.OdmaDocument;
+
+/**
+ * Downloads the data content elements of documents concurrently, with a limit on the number of downloads
+ * running at the same time.<p>
+ *
+ * Each element is written to a channel opened by a caller-supplied <code>{@link OdmaContentSink}</code>
+ * with <code>{@link OdmaContent#transferTo(WritableByteChannel)}</code>. Results are returned per document
+ * in the order of <code>{@link OdmaContentElement#getPosition()}</code>, regardless of the order in which
+ * the downloads complete. Reference content elements have no binary data and are skipped. A failed
+ * download is reported in its result and does not stop the others.<p>
+ *
+ * A channel in non-blocking mode may accept only part of the data. The downloader continues after the
+ * bytes written as long as the channel makes progress, and fails the download if fewer bytes than the
+ * known size of the content have been written.
+ */
+public class OdmaContentDownloader {
+
+    /** orders content elements by position, elements without position last */
+    private static final Comparator<OdmaDataContentElement> POSITION_ORDER = new Comparator<OdmaDataContentElement>() {
+        @Override
+        public int compare(OdmaDataContentElement e1, OdmaDataContentElement e2) {
+            Integer p1 = e1.getPosition();
+            Integer p2 = e2.getPosition();
+            if(p1 == null) {
+                return p2 == null ? 0 : 1;
+            }
+            return p2 == null ? -1 : p1.compareTo(p2);
+        }
+    };
+
+    /**
+     * Provides the channel to write the binary data of a content element to. Called concurrently from
+     * several downloads.
+     */
+    public interface OdmaContentSink {
+
+        /**
+         * Opens the channel to write the binary data of the given content element to. The channel is closed
+         * by the downloader when the element has been written.
+         *
+         * @param document
+         *            the document containing the content element
+         * @param element
+         *            the content element to be written
+         *
+         * @return the channel to write the binary data to
+         *
+         * @throws IOException
+         *             if the channel cannot be opened
+         */
+        WritableByteChannel open(OdmaDocument document, OdmaDataContentElement element) throws IOException;
+
+    }
+
+    /**
+     * The outcome of downloading one content element.
+     */
+    public static final class Download {
+
+        private final OdmaDocument document;
+
+        private final OdmaDataContentElement element;
+
+        private volatile long bytes = -1;
+
+        private volatile Throwable failure;
+
+        private Download(OdmaDocument document, OdmaDataContentElement element) {
+            this.document = document;
+            this.element = element;
+        }
+
+        public OdmaDocument getDocument() {
+            return document;
+        }
+
+        public OdmaDataContentElement getElement() {
+            return element;
+        }
+
+        /**
+         * Returns the number of bytes written to the sink.
+         *
+         * @return the number of bytes written, or -1 if the download failed or the element has no content
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Returns the failure of this download.
+         *
+         * @return the failure of this download, or <code>null</code> if it succeeded
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+    }
+
+    /** the maximum number of downloads running at the same time */
+    private final int parallelism;
+
+    /** the executor running the downloads */
+    private final Executor executor;
+
+    /**
+     * Create a new <code>OdmaContentDownloader</code> running the downloads on the default executor.
+     *
+     * @param parallelism
+     *            the maximum number of downloads running at the same time
+     */
+    public OdmaContentDownloader(int parallelism) {
+        this(parallelism, OdmaDefaultExecutor.get());
+    }
+
+    /**
+     * Create a new <code>OdmaContentDownloader</code> running the downloads on the given executor.
+     *
+     * @param parallelism
+     *            the maximum number of downloads running at the same time
+     * @param executor
+     *            the executor running the downloads
+     */
+    public OdmaContentDownloader(int parallelism, Executor executor) {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        if(executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.parallelism = parallelism;
+        this.executor = executor;
+    }
+
+    /**
+     * Downloads all data content elements of the given document to the given sink. Blocks until all
+     * downloads have completed or failed.
+     *
+     * @param document
+     *            the document to download the content elements of
+     * @param sink
+     *            the sink providing the channels to write to
+     *
+     * @return the outcome of each download in the order of the element positions
+     */
+    public List<Download> download(OdmaDocument document, OdmaContentSink sink) {
+        return download(Collections.singletonList(document), sink);
+    }
+
+    /**
+     * Downloads all data content elements of the given documents to the given sink, sharing the
+     * parallelism limit across all documents. Blocks until all downloads have completed or failed.
+     *
+     * @param documents
+     *            the documents to download the content elements of
+     * @param sink
+     *            the sink providing the channels to write to
+     *
+     * @return the outcome of each download, ordered by document and within each document by element position
+     */
+    public List<Download> download(Iterable<? extends OdmaDocument> documents, OdmaContentSink sink) {
+        if(sink == null) {
+            throw new IllegalArgumentException("sink must not be null");
+        }
+        List<Download> downloads = new ArrayList<Download>();
+        for(OdmaDocument document : documents) {
+            Iterable<OdmaContentElement> contentElements = document.getContentElements();
+            if(contentElements == null) {
+                continue;
+            }
+            List<OdmaDataContentElement> elements = new ArrayList<OdmaDataContentElement>();
+            for(OdmaContentElement element : contentElements) {
+                if(element instanceof OdmaDataContentElement) {
+                    elements.add((OdmaDataContentElement)element);
+                }
+            }
+            Collections.sort(elements, POSITION_ORDER);
+            for(OdmaDataContentElement element : elements) {
+                downloads.add(new Download(document, element));
+            }
+        }
+        Semaphore permits = new Semaphore(parallelism);
+        try {
+            for(Download download : downloads) {
+                start(download, sink, permits);
+            }
+        } finally {
+            permits.acquireUninterruptibly(parallelism);
+        }
+        return downloads;
+    }
+
+    private void start(final Download download, final OdmaContentSink sink, final Semaphore permits) {
+        permits.acquireUninterruptibly();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        transfer(download, sink);
+                    } catch(Throwable t) {
+                        download.failure = t;
+                    } finally {
+                        permits.release();
+                    }
+                }
+            });
+        } catch(RuntimeException e) {
+            download.failure = e;
+            permits.release();
+        }
+    }
+
+    private static void transfer(Download download, OdmaContentSink sink) throws IOException {
+        OdmaContent content = download.element.getContent();
+        if(content == null) {
+            return;
+        }
+        long size = content.getSize();
+        try (WritableByteChannel target = sink.open(download.document, download.element)) {
+            long written = content.transferTo(target);
+            while(size >= 0 && written < size) {
+                long transferred = content.transferTo(written, -1, target);
+                if(transferred <= 0) {
+                    throw new IOException("Content truncated: "+written+" of "+size+" bytes written");
+                }
+                written += transferred;
+            }
+            download.bytes = written;
+        }
+    }
+
+}
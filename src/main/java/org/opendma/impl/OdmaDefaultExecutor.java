@@ -0,0 +1,36 @@
+package org.opendma.impl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Holds the executor shared by all helpers of this package created without an explicit executor, e.g.
+ * <code>OdmaPrefetchingPageIterator</code>, <code>OdmaParallelScan</code> and
+ * <code>OdmaContentDownloader</code>.<p>
+ *
+ * The executor is created by <code>{@link OdmaAsyncSessionAdapter#createDefaultExecutor()}</code> on first
+ * use and lives as long as the class loader of this package. It runs its tasks on virtual threads or daemon
+ * threads, so it does not need to be shut down and does not keep the JVM from exiting.
+ */
+final class OdmaDefaultExecutor {
+
+    private static class Holder {
+
+        private static final ExecutorService EXECUTOR = OdmaAsyncSessionAdapter.createDefaultExecutor();
+
+    }
+
+    private OdmaDefaultExecutor() {
+    }
+
+    /**
+     * Returns the shared default executor, creating it on first use. Returned as <code>Executor</code> so
+     * that it cannot be shut down by one of its users.
+     *
+     * @return the shared default executor
+     */
+    static Executor get() {
+        return Holder.EXECUTOR;
+    }
+
+}
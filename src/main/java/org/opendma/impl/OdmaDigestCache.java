@@ -0,0 +1,120 @@
+package org.opendma.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaDataContentElement;
+
+/**
+ * Size-bounded in-memory cache of the digests of the binary data of <code>{@link OdmaDataContentElement}</code>s.<p>
+ *
+ * Digests are computed with <code>{@link OdmaDigestingContent}</code> while the content is read for another
+ * purpose, e.g. a copy, and remembered per content element. Later integrity checks or deduplication lookups
+ * get the digests from this cache without reading the content again. Entries are keyed like the entries of
+ * <code>{@link OdmaContentCache}</code>, so a modified content element gets a new entry. The least recently
+ * used entries are removed when the number of entries exceeds the limit.
+ */
+public class OdmaDigestCache {
+
+    /** the names of the algorithms to compute */
+    private final String[] algorithms;
+
+    /** the maximum number of cached entries */
+    private final int maxEntries;
+
+    /** the digests by content key, in access order. Guarded by <code>this</code>. */
+    private final LinkedHashMap<String, Map<String, byte[]>> entries;
+
+    /**
+     * Create a new <code>OdmaDigestCache</code>.
+     *
+     * @param maxEntries
+     *            the maximum number of cached entries
+     * @param algorithms
+     *            the names of the algorithms to compute, e.g. <code>SHA-256</code> or <code>CRC32C</code>
+     *
+     * @throws IllegalArgumentException
+     *             if an algorithm is not supported by the runtime
+     */
+    public OdmaDigestCache(int maxEntries, String... algorithms) {
+        if(maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if(algorithms == null || algorithms.length == 0) {
+            throw new IllegalArgumentException("algorithms must not be empty");
+        }
+        this.algorithms = algorithms.clone();
+        // fail early for unsupported algorithms, not on the first read
+        OdmaDigestingContent.checkAlgorithms(this.algorithms);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, Map<String, byte[]>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest) {
+                return size() > OdmaDigestCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached digests of the content of the given element.
+     *
+     * @param element
+     *            the content element to return the digests of
+     *
+     * @return an unmodifiable map of the digests by algorithm name, or <code>null</code> if not cached
+     */
+    public synchronized Map<String, byte[]> getDigests(OdmaDataContentElement element) {
+        return entries.get(OdmaContentCache.getContentKey(element));
+    }
+
+    /**
+     * Returns the content of the given element. If its digests are not cached yet, the returned content
+     * computes them while it is read to its end and adds them to this cache.
+     *
+     * @param element
+     *            the content element to return the content of
+     *
+     * @return the content of the given content element, or <code>null</code> if it has no content
+     */
+    public OdmaContent getContent(OdmaDataContentElement element) {
+        OdmaContent content = element.getContent();
+        if(content == null || getDigests(element) != null) {
+            return content;
+        }
+        return createDigestingContent(OdmaContentCache.getContentKey(element), content);
+    }
+
+    /**
+     * Returns the digests of the content of the given element, reading the content if they are not cached yet.
+     *
+     * @param element
+     *            the content element to return the digests of
+     *
+     * @return an unmodifiable map of the digests by algorithm name, or <code>null</code> if the element has no content
+     */
+    public Map<String, byte[]> computeDigests(OdmaDataContentElement element) {
+        Map<String, byte[]> cached = getDigests(element);
+        if(cached != null) {
+            return cached;
+        }
+        OdmaContent content = element.getContent();
+        if(content == null) {
+            return null;
+        }
+        return createDigestingContent(OdmaContentCache.getContentKey(element), content).computeDigests();
+    }
+
+    private OdmaDigestingContent createDigestingContent(final String key, OdmaContent content) {
+        return new OdmaDigestingContent(content, algorithms) {
+            @Override
+            protected void digestsComputed(Map<String, byte[]> computed) {
+                synchronized(OdmaDigestCache.this) {
+                    entries.put(key, computed);
+                }
+            }
+        };
+    }
+
+}
@@ -0,0 +1,302 @@
+package org.opendma.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.exceptions.OdmaRuntimeException;
+
+/**
+ * Decorator of an <code>{@link OdmaContent}</code> computing digests of the binary data while the consumer
+ * reads it, so integrity checks and deduplication need no extra pass over the data.<p>
+ *
+ * Supported algorithms are all <code>MessageDigest</code> algorithms of the runtime, e.g. <code>SHA-256</code>,
+ * as well as the checksums <code>CRC32</code> and, on Java 9 and later, <code>CRC32C</code>. Checksums are
+ * reported as 4 bytes in big-endian order.<p>
+ *
+ * The digests become available once a stream returned by <code>{@link #getStream()}</code> has been read to
+ * its end. Reading a range or closing a stream early leaves the digests unchanged. Channel access and
+ * <code>transferTo</code> read through <code>getStream()</code> and compute the digests as well.
+ */
+public class OdmaDigestingContent implements OdmaContent {
+
+    private interface Digester {
+
+        void update(byte[] b, int off, int len);
+
+        byte[] finish();
+
+    }
+
+    /** the decorated content */
+    private final OdmaContent delegate;
+
+    /** the names of the algorithms to compute */
+    private final String[] algorithms;
+
+    /** the digests of the last stream read to its end, by algorithm name */
+    private volatile Map<String, byte[]> digests;
+
+    /**
+     * Create a new <code>OdmaDigestingContent</code>.
+     *
+     * @param delegate
+     *            the content to compute the digests of
+     * @param algorithms
+     *            the names of the algorithms to compute, e.g. <code>SHA-256</code> or <code>CRC32C</code>
+     *
+     * @throws IllegalArgumentException
+     *             if an algorithm is not supported by the runtime
+     */
+    public OdmaDigestingContent(OdmaContent delegate, String... algorithms) {
+        if(delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if(algorithms == null || algorithms.length == 0) {
+            throw new IllegalArgumentException("algorithms must not be empty");
+        }
+        this.delegate = delegate;
+        this.algorithms = algorithms.clone();
+        // fail early for unsupported algorithms
+        checkAlgorithms(this.algorithms);
+    }
+
+    private static Digester createDigester(String algorithm) {
+        if("CRC32".equals(algorithm)) {
+            return checksumDigester(new CRC32());
+        }
+        if("CRC32C".equals(algorithm)) {
+            try {
+                // java.util.zip.CRC32C is available on Java 9 and later
+                return checksumDigester((Checksum)Class.forName("java.util.zip.CRC32C").getConstructor().newInstance());
+            } catch(ReflectiveOperationException e) {
+                throw new IllegalArgumentException("CRC32C requires Java 9 or later", e);
+            }
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(algorithm);
+            return new Digester() {
+                @Override
+                public void update(byte[] b, int off, int len) {
+                    digest.update(b, off, len);
+                }
+                @Override
+                public byte[] finish() {
+                    return digest.digest();
+                }
+            };
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported digest algorithm "+algorithm, e);
+        }
+    }
+
+    private static Digester checksumDigester(final Checksum checksum) {
+        return new Digester() {
+            @Override
+            public void update(byte[] b, int off, int len) {
+                checksum.update(b, off, len);
+            }
+            @Override
+            public byte[] finish() {
+                return ByteBuffer.allocate(4).putInt((int)checksum.getValue()).array();
+            }
+        };
+    }
+
+    /**
+     * Checks that all given algorithms are supported by the runtime.
+     *
+     * @param algorithms
+     *            the names of the algorithms to check
+     *
+     * @throws IllegalArgumentException
+     *             if an algorithm is not supported by the runtime
+     */
+    static void checkAlgorithms(String[] algorithms) {
+        for(String algorithm : algorithms) {
+            createDigester(algorithm);
+        }
+    }
+
+    private Digester[] createDigesters() {
+        Digester[] digesters = new Digester[algorithms.length];
+        for(int i = 0; i < algorithms.length; i++) {
+            digesters[i] = createDigester(algorithms[i]);
+        }
+        return digesters;
+    }
+
+    @Override
+    public InputStream getStream() {
+        return new DigestingInputStream(delegate.getStream(), createDigesters());
+    }
+
+    @Override
+    public long getSize() {
+        return delegate.getSize();
+    }
+
+    /**
+     * Returns the digests of the binary data, computed while it was read.
+     *
+     * @return an unmodifiable map of the digests by algorithm name, or <code>null</code> if no stream has been
+     *         read to its end yet
+     */
+    public Map<String, byte[]> getDigests() {
+        return digests;
+    }
+
+    /**
+     * Returns the digest of the binary data for the given algorithm, computed while it was read.
+     *
+     * @param algorithm
+     *            the name of the algorithm
+     *
+     * @return the digest for the given algorithm, or <code>null</code> if no stream has been read to its end
+     *         yet or the algorithm is not computed by this content
+     */
+    public byte[] getDigest(String algorithm) {
+        Map<String, byte[]> current = digests;
+        return current == null ? null : current.get(algorithm);
+    }
+
+    /**
+     * Reads the binary data to its end if the digests have not been computed yet.
+     *
+     * @return an unmodifiable map of the digests by algorithm name
+     *
+     * @throws OdmaRuntimeException
+     *             if reading the binary data fails
+     */
+    public Map<String, byte[]> computeDigests() {
+        Map<String, byte[]> current = digests;
+        if(current != null) {
+            return current;
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = getStream()) {
+            while(in.read(buffer) >= 0) {
+                // digests are updated by the stream
+            }
+        } catch(IOException e) {
+            throw new OdmaRuntimeException("Failed to read content for digest computation", e);
+        }
+        return digests;
+    }
+
+    /**
+     * Called when a stream has been read to its end and the digests have been computed. The default
+     * implementation does nothing.
+     *
+     * @param computed
+     *            an unmodifiable map of the computed digests by algorithm name
+     */
+    protected void digestsComputed(Map<String, byte[]> computed) {
+    }
+
+    /**
+     * Returns the lower case hex encoding of the given bytes.
+     *
+     * @param bytes
+     *            the bytes to encode
+     *
+     * @return the lower case hex encoding of the given bytes
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for(byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private class DigestingInputStream extends FilterInputStream {
+
+        private Digester[] digesters;
+
+        private DigestingInputStream(InputStream in, Digester[] digesters) {
+            super(in);
+            this.digesters = digesters;
+        }
+
+        private void update(byte[] b, int off, int len) {
+            if(digesters == null) {
+                return;
+            }
+            if(len < 0) {
+                Map<String, byte[]> computed = new LinkedHashMap<String, byte[]>();
+                for(int i = 0; i < digesters.length; i++) {
+                    computed.put(algorithms[i], digesters[i].finish());
+                }
+                digesters = null;
+                computed = Collections.unmodifiableMap(computed);
+                digests = computed;
+                digestsComputed(computed);
+                return;
+            }
+            for(Digester digester : digesters) {
+                digester.update(b, off, len);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if(b < 0) {
+                update(null, 0, -1);
+            } else {
+                update(new byte[] { (byte)b }, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if(read != 0) {
+                update(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skipped data must be digested as well
+            byte[] buffer = new byte[(int)Math.min(Math.max(n, 0), 8192)];
+            long skipped = 0;
+            while(skipped < n) {
+                int read = read(buffer, 0, (int)Math.min(buffer.length, n - skipped));
+                if(read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            throw new IOException("mark/reset not supported");
+        }
+
+    }
+
+}
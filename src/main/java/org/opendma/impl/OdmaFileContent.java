@@ -0,0 +1,113 @@
+package org.opendma.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.exceptions.OdmaRuntimeException;
+
+/**
+ * Implementation of <code>{@link OdmaContent}</code> backed by a file.<p>
+ *
+ * Reads go through a <code>FileChannel</code>, so ranged reads position the channel instead of skipping data.
+ * <code>{@link #transferTo(long, long, WritableByteChannel)}</code> uses <code>FileChannel.transferTo</code>,
+ * so the operating system can send the file to a socket without copying it into the Java heap. The transfer
+ * returns early if a non-blocking target accepts no more data.
+ */
+public class OdmaFileContent implements OdmaContent {
+
+    /** the file holding the binary data */
+    private final Path file;
+
+    /**
+     * Create a new <code>OdmaFileContent</code> for the given file.
+     *
+     * @param file
+     *            the file holding the binary data
+     */
+    public OdmaFileContent(Path file) {
+        if(file == null) {
+            throw new IllegalArgumentException("file must not be null");
+        }
+        this.file = file;
+    }
+
+    /**
+     * Returns the file holding the binary data.
+     *
+     * @return the file holding the binary data
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    private FileChannel openChannel() {
+        try {
+            return FileChannel.open(file, StandardOpenOption.READ);
+        } catch(IOException e) {
+            throw new OdmaRuntimeException("Failed to open content file "+file, e);
+        }
+    }
+
+    @Override
+    public InputStream getStream() {
+        return Channels.newInputStream(openChannel());
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(file);
+        } catch(IOException e) {
+            throw new OdmaRuntimeException("Failed to determine size of content file "+file, e);
+        }
+    }
+
+    @Override
+    public ReadableByteChannel getChannel() {
+        return openChannel();
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel target) throws IOException {
+        return transferTo(0, -1, target);
+    }
+
+    @Override
+    public long transferTo(long offset, long length, WritableByteChannel target) throws IOException {
+        if(offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if(length < -1) {
+            throw new IllegalArgumentException("length must be -1 or not negative");
+        }
+        try (FileChannel channel = openChannel()) {
+            long size = channel.size();
+            // compare against the remaining size, offset + length overflows for lengths close to Long.MAX_VALUE
+            long end = length < 0 || length > size - offset ? size : offset + length;
+            long position = offset;
+            while(position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if(transferred <= 0) {
+                    // either the file has been truncated or a non-blocking target accepts no more data
+                    break;
+                }
+                position += transferred;
+            }
+            return Math.max(0, position - offset);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OdmaFileContent[" + file + "]";
+    }
+
+}
@@ -0,0 +1,383 @@
+package org.opendma.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaPageIterator;
+import org.opendma.api.OdmaPagingIterable;
+import org.opendma.exceptions.OdmaRuntimeException;
+
+/**
+ * Processes the pages of an <code>{@link OdmaPagingIterable}</code> with several workers in parallel.<p>
+ *
+ * The result is divided into segments of consecutive pages, each delimited by a start and an end page
+ * mark. Segments either come from partition marks provided by the adaptor, see
+ * <code>{@link #scanPartitions(List, OdmaPageConsumer)}</code>, or from walking the chain of page marks
+ * with a single page iterator, see <code>{@link #scanMarkChain(int, OdmaPageConsumer)}</code>. Each
+ * segment keeps a checkpoint, the mark of its first page not yet processed. Segments that failed can be
+ * continued from their checkpoint with <code>{@link #resume(List, OdmaPageConsumer)}</code>.
+ *
+ * @param <T>
+ *            the type of the objects in the pages
+ */
+public class OdmaParallelScan<T extends OdmaObject> {
+
+    /**
+     * Processes one page of the scanned result. Called concurrently from several workers.
+     *
+     * @param <T>
+     *            the type of the objects in the pages
+     */
+    public interface OdmaPageConsumer<T> {
+
+        /**
+         * Processes the given page.
+         *
+         * @param page
+         *            the objects of the page
+         *
+         * @throws Exception
+         *             if the page could not be processed. The segment stops at this page.
+         */
+        void consume(List<T> page) throws Exception;
+
+    }
+
+    /**
+     * A range of consecutive pages of the scanned result, together with its progress.
+     */
+    public static final class Segment {
+
+        private final int index;
+
+        private final String startMark;
+
+        private final String endMark;
+
+        private volatile String checkpoint;
+
+        private volatile long processedPages;
+
+        private volatile boolean completed;
+
+        private volatile Throwable failure;
+
+        /**
+         * Create a new <code>Segment</code>.
+         *
+         * @param index
+         *            the position of this segment in the scan
+         * @param startMark
+         *            the mark of the first page of this segment, or <code>null</code> for the first page of the result
+         * @param endMark
+         *            the mark of the first page after this segment, or <code>null</code> if this segment extends to the end of the result
+         */
+        public Segment(int index, String startMark, String endMark) {
+            this.index = index;
+            this.startMark = startMark;
+            this.endMark = endMark;
+            this.checkpoint = startMark;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getStartMark() {
+            return startMark;
+        }
+
+        public String getEndMark() {
+            return endMark;
+        }
+
+        /**
+         * Returns the mark of the first page of this segment that has not been processed yet.
+         *
+         * @return the mark to continue this segment from, or <code>null</code> if no page has been
+         *         processed yet and this segment starts at the beginning of the result
+         */
+        public String getCheckpoint() {
+            return checkpoint;
+        }
+
+        public long getProcessedPages() {
+            return processedPages;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        /**
+         * Returns the failure that stopped this segment in the last run.
+         *
+         * @return the failure that stopped this segment, or <code>null</code>
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        private void pageProcessed(String nextPageMark) {
+            processedPages++;
+            if(nextPageMark == null || nextPageMark.equals(endMark)) {
+                completed = true;
+            } else {
+                checkpoint = nextPageMark;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Segment " + index + " [" + startMark + ", " + endMark + ") at " + checkpoint + (completed ? " completed" : failure != null ? " failed" : "");
+        }
+
+    }
+
+    /**
+     * A page fetched while walking the mark chain, together with the mark of the page following it.
+     */
+    private static final class FetchedPage<T> {
+
+        private final List<T> page;
+
+        private final String nextPageMark;
+
+        private FetchedPage(List<T> page, String nextPageMark) {
+            this.page = page;
+            this.nextPageMark = nextPageMark;
+        }
+
+    }
+
+    /** the result to scan */
+    private final OdmaPagingIterable<T> source;
+
+    /** the maximum number of segments processed at the same time */
+    private final int parallelism;
+
+    /** the executor running the workers */
+    private final Executor executor;
+
+    /**
+     * Create a new <code>OdmaParallelScan</code> running its workers on the default executor.
+     *
+     * @param source
+     *            the result to scan. Each worker obtains its own page iterator.
+     * @param parallelism
+     *            the maximum number of segments processed at the same time
+     */
+    public OdmaParallelScan(OdmaPagingIterable<T> source, int parallelism) {
+        this(source, parallelism, OdmaDefaultExecutor.get());
+    }
+
+    /**
+     * Create a new <code>OdmaParallelScan</code> running its workers on the given executor.
+     *
+     * @param source
+     *            the result to scan. Each worker obtains its own page iterator.
+     * @param parallelism
+     *            the maximum number of segments processed at the same time
+     * @param executor
+     *            the executor running the workers
+     */
+    public OdmaParallelScan(OdmaPagingIterable<T> source, int parallelism, Executor executor) {
+        if(source == null) {
+            throw new IllegalArgumentException("source must not be null");
+        }
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        if(executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.source = source;
+        this.parallelism = parallelism;
+        this.executor = executor;
+    }
+
+    /**
+     * Scans the segments delimited by the given partition marks. Segment <i>i</i> starts at mark <i>i</i>
+     * and ends before mark <i>i+1</i>. The last segment extends to the end of the result. Blocks until
+     * all segments are completed or failed.
+     *
+     * @param partitionMarks
+     *            the start marks of the segments, e.g. provided by the adaptor. The first mark can be
+     *            <code>null</code> to start at the beginning of the result.
+     * @param consumer
+     *            the consumer processing the pages
+     *
+     * @return the segments with their final state
+     */
+    public List<Segment> scanPartitions(List<String> partitionMarks, OdmaPageConsumer<T> consumer) {
+        List<Segment> segments = new ArrayList<Segment>(partitionMarks.size());
+        for(int i = 0; i < partitionMarks.size(); i++) {
+            segments.add(new Segment(i, partitionMarks.get(i), i + 1 < partitionMarks.size() ? partitionMarks.get(i + 1) : null));
+        }
+        return resume(segments, consumer);
+    }
+
+    /**
+     * Walks the chain of page marks with a single page iterator and hands out each group of
+     * <code>pagesPerSegment</code> fetched pages as one segment to the workers. At most
+     * <code>parallelism</code> segments are fetched ahead of the workers. Blocks until all segments are
+     * completed or failed. If walking the chain fails, the last segment starts at the page that could not
+     * be fetched, extends to the end of the result and carries the failure, so a resume continues from there.
+     *
+     * @param pagesPerSegment
+     *            the number of pages in each segment
+     * @param consumer
+     *            the consumer processing the pages
+     *
+     * @return the segments with their final state
+     */
+    public List<Segment> scanMarkChain(int pagesPerSegment, OdmaPageConsumer<T> consumer) {
+        if(pagesPerSegment < 1) {
+            throw new IllegalArgumentException("pagesPerSegment must be positive");
+        }
+        List<Segment> segments = new ArrayList<Segment>();
+        Semaphore permits = new Semaphore(parallelism);
+        Worker worker = new Worker(consumer, permits);
+        OdmaPageIterator<T> pageIterator = source.pageIterator();
+        String mark = pageIterator.nextPageMark();
+        boolean more = true;
+        try {
+            while(more) {
+                String startMark = mark;
+                List<FetchedPage<T>> pages = new ArrayList<FetchedPage<T>>(pagesPerSegment);
+                try {
+                    while(pages.size() < pagesPerSegment) {
+                        if(!pageIterator.nextPage() || pageIterator.getPage() == null || pageIterator.getPage().isEmpty()) {
+                            more = false;
+                            break;
+                        }
+                        List<T> page = pageIterator.getPage();
+                        mark = pageIterator.nextPageMark();
+                        pages.add(new FetchedPage<T>(page, mark));
+                        if(mark == null) {
+                            more = false;
+                            break;
+                        }
+                    }
+                } catch(RuntimeException e) {
+                    more = false;
+                    if(!pages.isEmpty()) {
+                        submit(worker, segments, startMark, mark, pages);
+                    }
+                    Segment failed = new Segment(segments.size(), mark, null);
+                    failed.failure = e;
+                    segments.add(failed);
+                    break;
+                }
+                if(!pages.isEmpty()) {
+                    submit(worker, segments, startMark, more ? mark : null, pages);
+                }
+            }
+        } finally {
+            permits.acquireUninterruptibly(parallelism);
+        }
+        return segments;
+    }
+
+    private void submit(Worker worker, List<Segment> segments, String startMark, String endMark, List<FetchedPage<T>> pages) {
+        Segment segment = new Segment(segments.size(), startMark, endMark);
+        segments.add(segment);
+        worker.start(segment, pages);
+    }
+
+    /**
+     * Processes all segments of the given list that are not completed, starting at their checkpoints.
+     * Blocks until all segments are completed or failed.
+     *
+     * @param segments
+     *            the segments of a previous scan
+     * @param consumer
+     *            the consumer processing the pages
+     *
+     * @return the given segments with their final state
+     */
+    public List<Segment> resume(List<Segment> segments, OdmaPageConsumer<T> consumer) {
+        Semaphore permits = new Semaphore(parallelism);
+        Worker worker = new Worker(consumer, permits);
+        try {
+            for(Segment segment : segments) {
+                if(!segment.completed) {
+                    segment.failure = null;
+                    worker.start(segment, null);
+                }
+            }
+        } finally {
+            permits.acquireUninterruptibly(parallelism);
+        }
+        return Collections.unmodifiableList(segments);
+    }
+
+    private class Worker {
+
+        private final OdmaPageConsumer<T> consumer;
+
+        private final Semaphore permits;
+
+        private Worker(OdmaPageConsumer<T> consumer, Semaphore permits) {
+            this.consumer = consumer;
+            this.permits = permits;
+        }
+
+        private void start(final Segment segment, final List<FetchedPage<T>> fetchedPages) {
+            permits.acquireUninterruptibly();
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            if(fetchedPages != null) {
+                                process(segment, fetchedPages);
+                            } else {
+                                process(segment);
+                            }
+                        } catch(Throwable t) {
+                            segment.failure = t;
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                });
+            } catch(RuntimeException e) {
+                segment.failure = e;
+                permits.release();
+            }
+        }
+
+        private void process(Segment segment, List<FetchedPage<T>> fetchedPages) throws Exception {
+            for(FetchedPage<T> fetched : fetchedPages) {
+                consumer.consume(fetched.page);
+                segment.pageProcessed(fetched.nextPageMark);
+            }
+            segment.completed = true;
+        }
+
+        private void process(Segment segment) throws Exception {
+            if(segment.checkpoint == null && segment.processedPages > 0) {
+                throw new OdmaRuntimeException("Segment "+segment.index+" has no checkpoint to resume from");
+            }
+            OdmaPageIterator<T> pageIterator = source.pageIterator();
+            if(segment.checkpoint != null) {
+                pageIterator.goToMark(segment.checkpoint);
+            }
+            while(!segment.completed) {
+                if(!pageIterator.nextPage() || pageIterator.getPage() == null || pageIterator.getPage().isEmpty()) {
+                    segment.completed = true;
+                    break;
+                }
+                consumer.consume(pageIterator.getPage());
+                segment.pageProcessed(pageIterator.nextPageMark());
+            }
+        }
+
+    }
+
+}
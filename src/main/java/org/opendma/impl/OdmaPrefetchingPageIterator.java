@@ -0,0 +1,284 @@
+package org.opendma.impl;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.opendma.api.OdmaDefaultPagingIterator;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaPageIterator;
+import org.opendma.api.OdmaPagingIterable;
+import org.opendma.exceptions.OdmaRuntimeException;
+
+/**
+ * Decorator of an <code>{@link OdmaPageIterator}</code> fetching the following pages in the background
+ * while the consumer processes the current page.<p>
+ *
+ * At most <code>depth</code> pages are buffered ahead of the current page. Prefetching pauses when this
+ * limit is reached and resumes when the consumer advances, so an abandoned iterator holds at most
+ * <code>depth</code> pages and no running task. <code>{@link #close()}</code> discards buffered pages
+ * immediately. <code>{@link #goToMark(String)}</code> waits for a fetch in progress, discards all buffered
+ * pages and continues prefetching from the given mark.<p>
+ *
+ * The decorated iterator is only ever used by one thread at a time. Its methods are called from the
+ * background tasks and from <code>goToMark</code>.
+ *
+ * @param <T>
+ *            the type of the objects in the pages
+ */
+public class OdmaPrefetchingPageIterator<T extends OdmaObject> implements OdmaPageIterator<T>, AutoCloseable {
+
+    private static final class FetchedPage<T> {
+
+        private final List<T> page;
+
+        private final String nextPageMark;
+
+        private FetchedPage(List<T> page, String nextPageMark) {
+            this.page = page;
+            this.nextPageMark = nextPageMark;
+        }
+
+    }
+
+    /** the decorated page iterator */
+    private final OdmaPageIterator<T> delegate;
+
+    /** the maximum number of pages buffered ahead of the current page */
+    private final int depth;
+
+    /** the executor running the background fetches */
+    private final Executor executor;
+
+    /** pages fetched ahead of the current page. Guarded by <code>this</code>. */
+    private final ArrayDeque<FetchedPage<T>> buffer = new ArrayDeque<FetchedPage<T>>();
+
+    /** incremented on every reposition to discard results of outdated fetches. Guarded by <code>this</code>. */
+    private int generation;
+
+    /** flag indicating if a background fetch is running. Guarded by <code>this</code>. */
+    private boolean fetching;
+
+    /** flag indicating if the decorated iterator has no more pages. Guarded by <code>this</code>. */
+    private boolean exhausted;
+
+    /** failure of the last background fetch, reported to the consumer. Guarded by <code>this</code>. */
+    private Throwable failure;
+
+    /** flag indicating if this iterator has been closed. Guarded by <code>this</code>. */
+    private boolean closed;
+
+    /** the current page. Guarded by <code>this</code>. */
+    private List<T> currentPage;
+
+    /** the mark of the page following the current page. Guarded by <code>this</code>. */
+    private String currentNextPageMark;
+
+    /**
+     * Create a new <code>OdmaPrefetchingPageIterator</code> fetching on the default executor.
+     *
+     * @param delegate
+     *            the page iterator to fetch pages from
+     * @param depth
+     *            the maximum number of pages buffered ahead of the current page
+     */
+    public OdmaPrefetchingPageIterator(OdmaPageIterator<T> delegate, int depth) {
+        this(delegate, depth, OdmaDefaultExecutor.get());
+    }
+
+    /**
+     * Create a new <code>OdmaPrefetchingPageIterator</code> fetching on the given executor.
+     *
+     * @param delegate
+     *            the page iterator to fetch pages from
+     * @param depth
+     *            the maximum number of pages buffered ahead of the current page
+     * @param executor
+     *            the executor running the background fetches
+     */
+    public OdmaPrefetchingPageIterator(OdmaPageIterator<T> delegate, int depth, Executor executor) {
+        if(delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if(depth < 1) {
+            throw new IllegalArgumentException("depth must be positive");
+        }
+        if(executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.delegate = delegate;
+        this.depth = depth;
+        this.executor = executor;
+        this.currentNextPageMark = delegate.nextPageMark();
+        synchronized(this) {
+            scheduleFetch();
+        }
+    }
+
+    /**
+     * Returns an <code>OdmaPagingIterable</code> whose page iterators and iterators prefetch up to
+     * <code>depth</code> pages of the given iterable on the default executor.
+     *
+     * @param <T>
+     *            the type of the objects in the pages
+     * @param iterable
+     *            the iterable to prefetch pages of
+     * @param depth
+     *            the maximum number of pages buffered ahead of the current page
+     *
+     * @return the prefetching view of the given iterable
+     */
+    public static <T extends OdmaObject> OdmaPagingIterable<T> prefetching(final OdmaPagingIterable<T> iterable, final int depth) {
+        return new OdmaPagingIterable<T>() {
+            @Override
+            public OdmaPageIterator<T> pageIterator() {
+                return new OdmaPrefetchingPageIterator<T>(iterable.pageIterator(), depth);
+            }
+            @Override
+            public Iterator<T> iterator() {
+                return new OdmaDefaultPagingIterator<T>(pageIterator());
+            }
+        };
+    }
+
+    private void scheduleFetch() {
+        if(fetching || exhausted || closed || failure != null || buffer.size() >= depth) {
+            return;
+        }
+        fetching = true;
+        final int fetchGeneration = generation;
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    fetch(fetchGeneration);
+                }
+            });
+        } catch(RuntimeException e) {
+            fetching = false;
+            failure = e;
+            notifyAll();
+        }
+    }
+
+    private void fetch(int fetchGeneration) {
+        while(true) {
+            synchronized(this) {
+                if(fetchGeneration != generation || closed || buffer.size() >= depth) {
+                    fetching = false;
+                    notifyAll();
+                    return;
+                }
+            }
+            FetchedPage<T> fetched = null;
+            Throwable error = null;
+            try {
+                if(delegate.nextPage()) {
+                    fetched = new FetchedPage<T>(delegate.getPage(), delegate.nextPageMark());
+                }
+            } catch(Throwable t) {
+                error = t;
+            }
+            synchronized(this) {
+                if(fetchGeneration == generation && !closed) {
+                    if(error != null) {
+                        failure = error;
+                    } else if(fetched != null) {
+                        buffer.addLast(fetched);
+                    } else {
+                        exhausted = true;
+                    }
+                }
+                notifyAll();
+                if(error != null || fetched == null) {
+                    fetching = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean nextPage() {
+        if(closed) {
+            throw new IllegalStateException("Page iterator has been closed");
+        }
+        scheduleFetch();
+        while(buffer.isEmpty() && !exhausted && failure == null) {
+            try {
+                wait();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OdmaRuntimeException("Interrupted while waiting for the next page", e);
+            }
+        }
+        FetchedPage<T> fetched = buffer.pollFirst();
+        if(fetched == null) {
+            currentPage = null;
+            if(failure != null) {
+                Throwable t = failure;
+                failure = null;
+                exhausted = true;
+                if(t instanceof RuntimeException) {
+                    throw (RuntimeException)t;
+                }
+                if(t instanceof Error) {
+                    throw (Error)t;
+                }
+                throw new OdmaRuntimeException("Failed to fetch next page", t);
+            }
+            return false;
+        }
+        currentPage = fetched.page;
+        currentNextPageMark = fetched.nextPageMark;
+        scheduleFetch();
+        return true;
+    }
+
+    @Override
+    public synchronized List<T> getPage() {
+        return currentPage;
+    }
+
+    @Override
+    public synchronized String nextPageMark() {
+        return currentNextPageMark;
+    }
+
+    @Override
+    public synchronized void goToMark(String mark) {
+        if(closed) {
+            throw new IllegalStateException("Page iterator has been closed");
+        }
+        generation++;
+        while(fetching) {
+            try {
+                wait();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OdmaRuntimeException("Interrupted while waiting for a page fetch to complete", e);
+            }
+        }
+        buffer.clear();
+        exhausted = false;
+        failure = null;
+        currentPage = null;
+        delegate.goToMark(mark);
+        currentNextPageMark = mark;
+        scheduleFetch();
+    }
+
+    /**
+     * Stops prefetching and discards all buffered pages. A fetch in progress completes in the background
+     * and its result is discarded.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        generation++;
+        buffer.clear();
+        currentPage = null;
+    }
+
+}
@@ -0,0 +1,384 @@
+package org.opendma.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaGuid;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaRuntimeException;
+import org.opendma.exceptions.OdmaServiceException;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Common base of the <code>OdmaProperty</code> implementations. Holds the name, data type, cardinality
+ * and state flags of a property and takes care of lazy resolution through an
+ * <code>OdmaLazyPropertyValueProvider</code>.<p>
+ * 
+ * All typed getters throw an <code>OdmaInvalidDataTypeException</code>. Subclasses override the getters
+ * matching their data type and cardinality.
+ */
+public abstract class OdmaPropertyBase implements OdmaProperty {
+    
+    /** the name of this property */
+    protected OdmaQName name;
+    
+    /** the data type of this property */
+    protected OdmaType dataType;
+    
+    /** flag indicating if this property is multivalue or not */
+    protected boolean multiValue;
+    
+    /**
+     * property value provider for lazy property resolution. Set to <code>null</code> once the value is
+     * resolved or set. Volatile to publish the value written before it is cleared.
+     */
+    protected volatile OdmaLazyPropertyValueProvider valueProvider;
+    
+    /**
+     * guards resolution and modification of the value, or <code>null</code> if this property has been created
+     * without value provider and is never resolved. A <code>ReentrantLock</code> instead of the monitor of this
+     * property, so virtual threads waiting for the back-end are not pinned to their carrier.
+     */
+    private final ReentrantLock lock;
+    
+    /** flag indicating if the value of this property has changed */
+    protected boolean dirty;
+    
+    /** flag indicating if this property is read only or not */
+    protected boolean readOnly;
+    
+    /**
+     * Create a new <code>OdmaPropertyBase</code> without value. Subclasses have to set the initial
+     * value if no value provider is given.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param dataType
+     *     The data type of this property
+     *     
+     * @param multiValue
+     *     Flag if this property is a multi value property
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    protected OdmaPropertyBase(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, OdmaType dataType, boolean multiValue, boolean readOnly) {
+        this.name = name;
+        this.dataType = dataType;
+        this.multiValue = multiValue;
+        this.readOnly = readOnly;
+        this.valueProvider = valueProvider;
+        this.lock = valueProvider == null ? null : new ReentrantLock();
+    }
+
+    /**
+     * Returns the qualified name of this property.
+     * 
+     * @return the qualified name of this property.
+     */
+    public OdmaQName getName() {
+        return name;
+    }
+
+    /**
+     * Returns the numeric identifier of the data type of this property.<br>
+     * You can find a list of all data types in the <code>OdmaTypes</code>
+     * class.
+     * 
+     * @return the numeric identifier of the data type of this property.
+     */
+    public OdmaType getType() {
+        return dataType;
+    }
+
+    /**
+     * Resolves the value of this property through the value provider if not done yet. Concurrent callers
+     * wait for a resolution in progress and reuse its result, so the provider is called only once. Once
+     * resolved, this method only performs a single volatile read.
+     */
+    protected void enforceValue() {
+        if(valueProvider != null) {
+            // a property with a value provider has been created with a lock
+            lock.lock();
+            try {
+                OdmaLazyPropertyValueProvider provider = valueProvider;
+                if(provider != null) {
+                    try {
+                        setValueInternal(provider.resovlePropertyValue());
+                        dirty = false;
+                        valueProvider = null;
+                    } catch (OdmaInvalidDataTypeException e) {
+                        throw new OdmaServiceException("Lazy property resolution failed. Provider delivered wrong type or cardinality.", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Acquires the lock guarding the value if this property has been created with a value provider. Setters
+     * hold it while changing the value, so a concurrent resolution cannot overwrite the new value.
+     */
+    protected final void lockValue() {
+        if(lock != null) {
+            lock.lock();
+        }
+    }
+
+    /**
+     * Releases the lock acquired by <code>{@link #lockValue()}</code>.
+     */
+    protected final void unlockValue() {
+        if(lock != null) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if and only if this property has been changed and these
+     * changes have not yet been saved.
+     * 
+     * @return <code>true</code> true if and only if this property has been changed and these
+     *         changes have not yet been saved
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Returns <code>true</code> if and only if this property is a multi value property.
+     * 
+     * @return <code>true</code> if and only if this property is a multi value property.
+     */
+    public boolean isMultiValue() {
+        return multiValue;
+    }
+
+    /**
+     * Returns <code>true</code> if and only if this property must not be changed.
+     * 
+     * @return <code>true</code> if and only if this property must not be changed.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Indicates if the value of this property is immediately available can be read without a round-trip to a back-end system.
+     * 
+     * @return the availability state of this property value.
+     */
+    public PropertyResolutionState getResolutionState() {
+        OdmaLazyPropertyValueProvider provider = valueProvider;
+        if(provider == null) {
+            return PropertyResolutionState.RESOLVED;
+        } else if(provider.hasReferenceId() || provider.hasReferenceIds()) {
+            return PropertyResolutionState.IDRESOLVED;
+        } else {
+            return PropertyResolutionState.UNRESOLVED;
+        }
+    }
+
+    /**
+     * Collects the <code>OdmaId</code>s of the given referenced objects.
+     * 
+     * @param references
+     *            the referenced objects
+     * 
+     * @return the <code>OdmaId</code>s of the referenced objects in iteration order
+     */
+    protected static List<OdmaId> referenceIds(Iterable<?> references) {
+        List<OdmaId> ids = references instanceof Collection<?> ? new ArrayList<OdmaId>(((Collection<?>)references).size()) : new ArrayList<OdmaId>();
+        for(Object reference : references) {
+            if(reference instanceof OdmaObject) {
+                ids.add(((OdmaObject)reference).getId());
+            } else {
+                throw new OdmaRuntimeException("Internal error. Reference value is expected to be instance of OdmaObject");
+            }
+        }
+        return ids;
+    }
+
+    protected static boolean checkListAndValues(Object obj, Class<?> expectedElementsClass) {
+        if(!(obj instanceof List<?>)) {
+            return false;
+        }
+        for(Object element : (List<?>)obj) {
+            if(!expectedElementsClass.isAssignableFrom(element.getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Set the value of this property to the given new value. The
+     * <code>Class</code> of the given <code>Object</code> has to match the
+     * data type of this property.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this property can not be set by the current user
+     */
+    public void setValue(Object newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        if(readOnly)
+        {
+            throw new OdmaAccessDeniedException();
+        }
+        lockValue();
+        try {
+            setValueInternal(newValue);
+            valueProvider = null;
+        } finally {
+            unlockValue();
+        }
+    }
+    
+    /**
+     * Validates the given value against data type and cardinality of this property, stores it
+     * and marks this property as dirty. Does not check the read-only flag.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public abstract void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException;
+
+    public String getString() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getString()`");
+    }
+
+    public Integer getInteger() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getInteger()`");
+    }
+
+    public Short getShort() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getShort()`");
+    }
+
+    public Long getLong() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getLong()`");
+    }
+
+    public Float getFloat() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getFloat()`");
+    }
+
+    public Double getDouble() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getDouble()`");
+    }
+
+    public Boolean getBoolean() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getBoolean()`");
+    }
+
+    public Date getDateTime() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getDateTime()`");
+    }
+
+    public byte[] getBinary() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getBinary()`");
+    }
+
+    public OdmaObject getReference() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getReference()`");
+    }
+
+    public OdmaId getReferenceId() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getReferenceId()`");
+    }
+
+    public OdmaContent getContent() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getContent()`");
+    }
+
+    public OdmaId getId() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getId()`");
+    }
+
+    public OdmaGuid getGuid() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getGuid()`");
+    }
+
+    public List<String> getStringList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getStringList()`");
+    }
+
+    public List<Integer> getIntegerList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getIntegerList()`");
+    }
+
+    public List<Short> getShortList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getShortList()`");
+    }
+
+    public List<Long> getLongList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getLongList()`");
+    }
+
+    public List<Float> getFloatList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getFloatList()`");
+    }
+
+    public List<Double> getDoubleList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getDoubleList()`");
+    }
+
+    public List<Boolean> getBooleanList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getBooleanList()`");
+    }
+
+    public List<Date> getDateTimeList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getDateTimeList()`");
+    }
+
+    public List<byte[]> getBinaryList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getBinaryList()`");
+    }
+
+    public Iterable<? extends OdmaObject> getReferenceIterable() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getReferenceIterable()`");
+    }
+
+    public List<OdmaId> getReferenceIdList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getReferenceIdList()`");
+    }
+
+    public List<OdmaContent> getContentList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getContentList()`");
+    }
+
+    public List<OdmaId> getIdList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getIdList()`");
+    }
+
+    public List<OdmaGuid> getGuidList() throws OdmaInvalidDataTypeException {
+        throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getGuidList()`");
+    }
+
+}
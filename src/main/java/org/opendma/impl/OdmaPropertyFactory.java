@@ -0,0 +1,217 @@
+package org.opendma.impl;
+
+import java.util.Date;
+import java.util.List;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaGuid;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaRuntimeException;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+import org.opendma.impl.property.OdmaBinaryListProperty;
+import org.opendma.impl.property.OdmaBinaryProperty;
+import org.opendma.impl.property.OdmaBooleanListProperty;
+import org.opendma.impl.property.OdmaBooleanProperty;
+import org.opendma.impl.property.OdmaContentListProperty;
+import org.opendma.impl.property.OdmaContentProperty;
+import org.opendma.impl.property.OdmaDateTimeListProperty;
+import org.opendma.impl.property.OdmaDateTimeProperty;
+import org.opendma.impl.property.OdmaDoubleListProperty;
+import org.opendma.impl.property.OdmaDoubleProperty;
+import org.opendma.impl.property.OdmaFloatListProperty;
+import org.opendma.impl.property.OdmaFloatProperty;
+import org.opendma.impl.property.OdmaGuidListProperty;
+import org.opendma.impl.property.OdmaGuidProperty;
+import org.opendma.impl.property.OdmaIdListProperty;
+import org.opendma.impl.property.OdmaIdProperty;
+import org.opendma.impl.property.OdmaIntegerListProperty;
+import org.opendma.impl.property.OdmaIntegerProperty;
+import org.opendma.impl.property.OdmaLongListProperty;
+import org.opendma.impl.property.OdmaLongProperty;
+import org.opendma.impl.property.OdmaReferenceIterableProperty;
+import org.opendma.impl.property.OdmaReferenceProperty;
+import org.opendma.impl.property.OdmaShortListProperty;
+import org.opendma.impl.property.OdmaShortProperty;
+import org.opendma.impl.property.OdmaStringListProperty;
+import org.opendma.impl.property.OdmaStringProperty;
+
+/**
+ * Creates <code>OdmaProperty</code> instances specialized for one data type and cardinality. The
+ * data type and cardinality are evaluated once when the property is created. Reading values from
+ * the created properties requires neither type checks nor casts.
+ */
+public class OdmaPropertyFactory {
+
+    /**
+     * Create a new <code>OdmaPropertyBase</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param dataType
+     *     The data type of this property
+     *     
+     * @param multiValue
+     *     Flag if this property is a multi value property
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaPropertyBase</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaPropertyBase fromValue(OdmaQName name, Object value, OdmaType dataType, boolean multiValue, boolean readOnly) throws OdmaInvalidDataTypeException {
+        switch(dataType) {
+        case STRING:
+            return multiValue ? OdmaStringListProperty.fromValue(name, value, readOnly) : OdmaStringProperty.fromValue(name, value, readOnly);
+        case INTEGER:
+            return multiValue ? OdmaIntegerListProperty.fromValue(name, value, readOnly) : OdmaIntegerProperty.fromValue(name, value, readOnly);
+        case SHORT:
+            return multiValue ? OdmaShortListProperty.fromValue(name, value, readOnly) : OdmaShortProperty.fromValue(name, value, readOnly);
+        case LONG:
+            return multiValue ? OdmaLongListProperty.fromValue(name, value, readOnly) : OdmaLongProperty.fromValue(name, value, readOnly);
+        case FLOAT:
+            return multiValue ? OdmaFloatListProperty.fromValue(name, value, readOnly) : OdmaFloatProperty.fromValue(name, value, readOnly);
+        case DOUBLE:
+            return multiValue ? OdmaDoubleListProperty.fromValue(name, value, readOnly) : OdmaDoubleProperty.fromValue(name, value, readOnly);
+        case BOOLEAN:
+            return multiValue ? OdmaBooleanListProperty.fromValue(name, value, readOnly) : OdmaBooleanProperty.fromValue(name, value, readOnly);
+        case DATETIME:
+            return multiValue ? OdmaDateTimeListProperty.fromValue(name, value, readOnly) : OdmaDateTimeProperty.fromValue(name, value, readOnly);
+        case BINARY:
+            return multiValue ? OdmaBinaryListProperty.fromValue(name, value, readOnly) : OdmaBinaryProperty.fromValue(name, value, readOnly);
+        case REFERENCE:
+            return multiValue ? OdmaReferenceIterableProperty.fromValue(name, value, readOnly) : OdmaReferenceProperty.fromValue(name, value, readOnly);
+        case CONTENT:
+            return multiValue ? OdmaContentListProperty.fromValue(name, value, readOnly) : OdmaContentProperty.fromValue(name, value, readOnly);
+        case ID:
+            return multiValue ? OdmaIdListProperty.fromValue(name, value, readOnly) : OdmaIdProperty.fromValue(name, value, readOnly);
+        case GUID:
+            return multiValue ? OdmaGuidListProperty.fromValue(name, value, readOnly) : OdmaGuidProperty.fromValue(name, value, readOnly);
+        default:
+            throw new OdmaRuntimeException("OdmaProperty initialized with unknown data type "+dataType);
+        }
+    }
+
+    /**
+     * Create a new <code>OdmaPropertyBase</code> with the given value without checking the elements of
+     * multi-valued properties. Intended for adaptors building values from already typed back-end data.
+     * The caller is responsible for passing a value that <code>{@link #fromValue(OdmaQName, Object, OdmaType, boolean, boolean)}</code>
+     * would accept. The value is only fully verified if assertions are enabled, e.g. in unit test and TCK runs.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param dataType
+     *     The data type of this property
+     *     
+     * @param multiValue
+     *     Flag if this property is a multi value property
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaPropertyBase</code> with the given value.
+     */
+    @SuppressWarnings("unchecked")
+    public static OdmaPropertyBase fromTrustedValue(OdmaQName name, Object value, OdmaType dataType, boolean multiValue, boolean readOnly) {
+        assert OdmaPropertyImpl.checkTrustedValue(name, value, dataType, multiValue);
+        switch(dataType) {
+        case STRING:
+            return multiValue ? new OdmaStringListProperty(name, (List<String>)value, readOnly) : new OdmaStringProperty(name, (String)value, readOnly);
+        case INTEGER:
+            return multiValue ? new OdmaIntegerListProperty(name, (List<Integer>)value, readOnly) : new OdmaIntegerProperty(name, (Integer)value, readOnly);
+        case SHORT:
+            return multiValue ? new OdmaShortListProperty(name, (List<Short>)value, readOnly) : new OdmaShortProperty(name, (Short)value, readOnly);
+        case LONG:
+            return multiValue ? new OdmaLongListProperty(name, (List<Long>)value, readOnly) : new OdmaLongProperty(name, (Long)value, readOnly);
+        case FLOAT:
+            return multiValue ? new OdmaFloatListProperty(name, (List<Float>)value, readOnly) : new OdmaFloatProperty(name, (Float)value, readOnly);
+        case DOUBLE:
+            return multiValue ? new OdmaDoubleListProperty(name, (List<Double>)value, readOnly) : new OdmaDoubleProperty(name, (Double)value, readOnly);
+        case BOOLEAN:
+            return multiValue ? new OdmaBooleanListProperty(name, (List<Boolean>)value, readOnly) : new OdmaBooleanProperty(name, (Boolean)value, readOnly);
+        case DATETIME:
+            return multiValue ? new OdmaDateTimeListProperty(name, (List<Date>)value, readOnly) : new OdmaDateTimeProperty(name, (Date)value, readOnly);
+        case BINARY:
+            return multiValue ? new OdmaBinaryListProperty(name, (List<byte[]>)value, readOnly) : new OdmaBinaryProperty(name, (byte[])value, readOnly);
+        case REFERENCE:
+            return multiValue ? new OdmaReferenceIterableProperty(name, (Iterable<? extends OdmaObject>)value, readOnly) : new OdmaReferenceProperty(name, (OdmaObject)value, readOnly);
+        case CONTENT:
+            return multiValue ? new OdmaContentListProperty(name, (List<OdmaContent>)value, readOnly) : new OdmaContentProperty(name, (OdmaContent)value, readOnly);
+        case ID:
+            return multiValue ? new OdmaIdListProperty(name, (List<OdmaId>)value, readOnly) : new OdmaIdProperty(name, (OdmaId)value, readOnly);
+        case GUID:
+            return multiValue ? new OdmaGuidListProperty(name, (List<OdmaGuid>)value, readOnly) : new OdmaGuidProperty(name, (OdmaGuid)value, readOnly);
+        default:
+            throw new OdmaRuntimeException("OdmaProperty initialized with unknown data type "+dataType);
+        }
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaPropertyBase</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param dataType
+     *     The data type of this property
+     *     
+     * @param multiValue
+     *     Flag if this property is a multi value property
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaPropertyBase</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaPropertyBase fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, OdmaType dataType, boolean multiValue, boolean readOnly) {
+        switch(dataType) {
+        case STRING:
+            return multiValue ? OdmaStringListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaStringProperty.fromValueProvider(name, valueProvider, readOnly);
+        case INTEGER:
+            return multiValue ? OdmaIntegerListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaIntegerProperty.fromValueProvider(name, valueProvider, readOnly);
+        case SHORT:
+            return multiValue ? OdmaShortListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaShortProperty.fromValueProvider(name, valueProvider, readOnly);
+        case LONG:
+            return multiValue ? OdmaLongListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaLongProperty.fromValueProvider(name, valueProvider, readOnly);
+        case FLOAT:
+            return multiValue ? OdmaFloatListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaFloatProperty.fromValueProvider(name, valueProvider, readOnly);
+        case DOUBLE:
+            return multiValue ? OdmaDoubleListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaDoubleProperty.fromValueProvider(name, valueProvider, readOnly);
+        case BOOLEAN:
+            return multiValue ? OdmaBooleanListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaBooleanProperty.fromValueProvider(name, valueProvider, readOnly);
+        case DATETIME:
+            return multiValue ? OdmaDateTimeListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaDateTimeProperty.fromValueProvider(name, valueProvider, readOnly);
+        case BINARY:
+            return multiValue ? OdmaBinaryListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaBinaryProperty.fromValueProvider(name, valueProvider, readOnly);
+        case REFERENCE:
+            return multiValue ? OdmaReferenceIterableProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaReferenceProperty.fromValueProvider(name, valueProvider, readOnly);
+        case CONTENT:
+            return multiValue ? OdmaContentListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaContentProperty.fromValueProvider(name, valueProvider, readOnly);
+        case ID:
+            return multiValue ? OdmaIdListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaIdProperty.fromValueProvider(name, valueProvider, readOnly);
+        case GUID:
+            return multiValue ? OdmaGuidListProperty.fromValueProvider(name, valueProvider, readOnly) : OdmaGuidProperty.fromValueProvider(name, valueProvider, readOnly);
+        default:
+            throw new OdmaRuntimeException("OdmaProperty initialized with unknown data type "+dataType);
+        }
+    }
+
+}
@@ -2,11 +2,8 @@ package org.opendma.impl;
 
 import org.opendma.api.OdmaType;
 import org.opendma.api.OdmaQName;
-import org.opendma.api.OdmaProperty;
 import org.opendma.exceptions.OdmaInvalidDataTypeException;
-import org.opendma.exceptions.OdmaAccessDeniedException;
 import org.opendma.exceptions.OdmaRuntimeException;
-import org.opendma.exceptions.OdmaServiceException;
 import java.util.List;
 import java.util.Date;
 import org.opendma.api.OdmaObject;
@@ -17,7 +14,7 @@ import org.opendma.api.OdmaGuid;
 /**
  * Standard implementation of the OdmaProperty interface.
  */
-public class OdmaPropertyImpl implements OdmaProperty {
+public class OdmaPropertyImpl extends OdmaPropertyBase {
     
     /**
      * Interface for lazy property resolution.
@@ -39,29 +36,25 @@ public class OdmaPropertyImpl implements OdmaProperty {
          */
         Object resovlePropertyValue();
         
+        /**
+         * Indicates if the OdmaIds of the objects referenced by a multi-valued reference are available without a round-trip to a back-end system.
+         */
+        default boolean hasReferenceIds() {
+            return false;
+        }
+        
+        /**
+         * Get the OdmaIds of the objects referenced by a multi-valued reference, if available. Returns null otherwise.
+         */
+        default List<OdmaId> getReferenceIds() {
+            return null;
+        }
+        
     }
     
-    /** the name of this property */
-    protected OdmaQName name;
-    
-    /** the data type of this property */
-    protected OdmaType dataType;
-    
-    /** flag indicating if this property is multivalue or not */
-    protected boolean multiValue;
-    
     /** the value of this property */
     protected Object value;
     
-    /** property value provider for lazy property resolution */
-    protected OdmaLazyPropertyValueProvider valueProvider;
-    
-    /** flag indicating if the value of this property has changed */
-    protected boolean dirty;
-    
-    /** flag indicating if this property is read only or not */
-    protected boolean readOnly;
-    
     /**
      * Create a new <code>OdmaPropertyImpl</code> with the given data.
      * 
@@ -88,15 +81,11 @@ public class OdmaPropertyImpl implements OdmaProperty {
      *             the data type of this property
      */
     protected OdmaPropertyImpl(OdmaQName name, Object value, OdmaLazyPropertyValueProvider valueProvider, OdmaType dataType, boolean multiValue, boolean readOnly) throws OdmaInvalidDataTypeException {
-        this.name = name;
-        this.dataType = dataType;
-        this.multiValue = multiValue;
-        this.readOnly = readOnly;
+        super(name, valueProvider, dataType, multiValue, readOnly);
         if(valueProvider != null) {
             if(value != null) {
                 throw new IllegalArgumentException("If a value provider is given, the value must be null.");
             }
-            this.valueProvider = valueProvider;
         } else {
             setValueInternal(value);
             this.dirty = false;
@@ -159,35 +148,46 @@ public class OdmaPropertyImpl implements OdmaProperty {
         }
     }
 
-    /**
-     * Returns the qualified name of this property.
-     * 
-     * @return the qualified name of this property.
-     */
-    public OdmaQName getName() {
-        return name;
+    private OdmaPropertyImpl(OdmaQName name, OdmaType dataType, boolean multiValue, boolean readOnly) {
+        super(name, null, dataType, multiValue, readOnly);
     }
 
     /**
-     * Returns the numeric identifier of the data type of this property.<br>
-     * You can find a list of all data types in the <code>OdmaTypes</code>
-     * class.
-     * 
-     * @return the numeric identifier of the data type of this property.
+     * Create a new <code>OdmaPropertyImpl</code> with the given value without checking it against the
+     * data type and cardinality. Intended for adaptors building values from already typed back-end
+     * data. The caller is responsible for passing a value that <code>{@link #fromValue(OdmaQName, Object, OdmaType, boolean, boolean)}</code>
+     * would accept. The value is only verified if assertions are enabled, e.g. in unit test and TCK runs.
+     *
+     * @param name
+     *     The name of this property.
+     *
+     * @param value
+     *     The value of this property.
+     *
+     * @param dataType
+     *     The data type of this property
+     *
+     * @param multiValue
+     *     Flag if this property is a multi value property
+     *
+     * @param readOnly
+     *     Flag if this property is read only.
+     *
+     * @return the constructed <code>OdmaPropertyImpl</code> with the given value.
      */
-    public OdmaType getType() {
-        return dataType;
+    public static OdmaPropertyImpl fromTrustedValue(OdmaQName name, Object value, OdmaType dataType, boolean multiValue, boolean readOnly) {
+        assert checkTrustedValue(name, value, dataType, multiValue);
+        OdmaPropertyImpl property = new OdmaPropertyImpl(name, dataType, multiValue, readOnly);
+        property.value = value;
+        return property;
     }
 
-    protected void enforceValue() {
-        if(valueProvider != null) {
-            try {
-                setValueInternal(valueProvider.resovlePropertyValue());
-                dirty = false;
-                valueProvider = null;
-            } catch (OdmaInvalidDataTypeException e) {
-                throw new OdmaServiceException("Lazy property resolution failed. Provider delivered wrong type or cardinality.", e);
-            }
+    static boolean checkTrustedValue(OdmaQName name, Object value, OdmaType dataType, boolean multiValue) {
+        try {
+            new OdmaPropertyImpl(name, dataType, multiValue, false).setValueInternal(value);
+            return true;
+        } catch(OdmaInvalidDataTypeException idte) {
+            throw new AssertionError("Trusted value does not match data type and cardinality of property "+name, idte);
         }
     }
 
@@ -203,86 +203,6 @@ public class OdmaPropertyImpl implements OdmaProperty {
         return value;
     }
 
-    /**
-     * Returns <code>true</code> if and only if this property has been changed and these
-     * changes have not yet been saved.
-     * 
-     * @return <code>true</code> true if and only if this property has been changed and these
-     *         changes have not yet been saved
-     */
-    public boolean isDirty() {
-        return dirty;
-    }
-
-    /**
-     * Returns <code>true</code> if and only if this property is a multi value property.
-     * 
-     * @return <code>true</code> if and only if this property is a multi value property.
-     */
-    public boolean isMultiValue() {
-        return multiValue;
-    }
-
-    /**
-     * Returns <code>true</code> if and only if this property must not be changed.
-     * 
-     * @return <code>true</code> if and only if this property must not be changed.
-     */
-    public boolean isReadOnly() {
-        return readOnly;
-    }
-
-    /**
-     * Indicates if the value of this property is immediately available can be read without a round-trip to a back-end system.
-     * 
-     * @return the availability state of this property value.
-     */
-    public PropertyResolutionState getResolutionState() {
-        if(valueProvider == null) {
-            return PropertyResolutionState.RESOLVED;
-        } else if(valueProvider.hasReferenceId()) {
-            return PropertyResolutionState.IDRESOLVED;
-        } else {
-            return PropertyResolutionState.UNRESOLVED;
-        }
-    }
-
-    private boolean checkListAndValues(Object obj, Class<?> expectedElementsClass) {
-        if(!(obj instanceof List<?>)) {
-            return false;
-        }
-        for(Object element : (List<?>)obj) {
-            if(!expectedElementsClass.isAssignableFrom(element.getClass())) {
-                return false;
-            }
-        }
-        return true;
-    }
-    
-    /**
-     * Set the value of this property to the given new value. The
-     * <code>Class</code> of the given <code>Object</code> has to match the
-     * data type of this property.
-     * 
-     * @param newValue
-     *            the new value to set this property to.
-     * 
-     * @throws OdmaInvalidDataTypeException
-     *             if and only if the Class of the given Object does not match
-     *             the data type of this property
-     * 
-     * @throws OdmaAccessDeniedException
-     *             if this property can not be set by the current user
-     */
-    public void setValue(Object newValue) throws OdmaInvalidDataTypeException, OdmaAccessDeniedException {
-        if(readOnly)
-        {
-            throw new OdmaAccessDeniedException();
-        }
-        setValueInternal(newValue);
-        valueProvider = null;
-    }
-    
     public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
         if(newValue == null)
         {
@@ -305,42 +225,42 @@ public class OdmaPropertyImpl implements OdmaProperty {
                 }
                 break;
             case INTEGER:
-                if(checkListAndValues(newValue,Integer.class)) {
+                if(newValue instanceof OdmaIntegerArrayList || checkListAndValues(newValue,Integer.class)) {
                     value = newValue;
                 } else {
                     throw new OdmaInvalidDataTypeException("This property has a multi-valued Integer data type. It can only be set to values assignable to `List<Integer>`");
                 }
                 break;
             case SHORT:
-                if(checkListAndValues(newValue,Short.class)) {
+                if(newValue instanceof OdmaShortArrayList || checkListAndValues(newValue,Short.class)) {
                     value = newValue;
                 } else {
                     throw new OdmaInvalidDataTypeException("This property has a multi-valued Short data type. It can only be set to values assignable to `List<Short>`");
                 }
                 break;
             case LONG:
-                if(checkListAndValues(newValue,Long.class)) {
+                if(newValue instanceof OdmaLongArrayList || checkListAndValues(newValue,Long.class)) {
                     value = newValue;
                 } else {
                     throw new OdmaInvalidDataTypeException("This property has a multi-valued Long data type. It can only be set to values assignable to `List<Long>`");
                 }
                 break;
             case FLOAT:
-                if(checkListAndValues(newValue,Float.class)) {
+                if(newValue instanceof OdmaFloatArrayList || checkListAndValues(newValue,Float.class)) {
                     value = newValue;
                 } else {
                     throw new OdmaInvalidDataTypeException("This property has a multi-valued Float data type. It can only be set to values assignable to `List<Float>`");
                 }
                 break;
             case DOUBLE:
-                if(checkListAndValues(newValue,Double.class)) {
+                if(newValue instanceof OdmaDoubleArrayList || checkListAndValues(newValue,Double.class)) {
                     value = newValue;
                 } else {
                     throw new OdmaInvalidDataTypeException("This property has a multi-valued Double data type. It can only be set to values assignable to `List<Double>`");
                 }
                 break;
             case BOOLEAN:
-                if(checkListAndValues(newValue,Boolean.class)) {
+                if(newValue instanceof OdmaBooleanArrayList || checkListAndValues(newValue,Boolean.class)) {
                     value = newValue;
                 } else {
                     throw new OdmaInvalidDataTypeException("This property has a multi-valued Boolean data type. It can only be set to values assignable to `List<Boolean>`");
@@ -709,7 +629,8 @@ public class OdmaPropertyImpl implements OdmaProperty {
      */
     public OdmaId getReferenceId() throws OdmaInvalidDataTypeException {
         if( (multiValue == false) && (dataType == OdmaType.REFERENCE) ) {
-            if(valueProvider == null) {
+            OdmaLazyPropertyValueProvider provider = valueProvider;
+            if(provider == null) {
                 if(value != null) {
                     if(value instanceof OdmaObject) {
                         return ((OdmaObject)value).getId();
@@ -719,8 +640,8 @@ public class OdmaPropertyImpl implements OdmaProperty {
                 } else {
                     return null;
                 }
-            } else if(valueProvider.hasReferenceId()) {
-                return valueProvider.getReferenceId();
+            } else if(provider.hasReferenceId()) {
+                return provider.getReferenceId();
             } else {
                 enforceValue();
                 if(value != null) {
@@ -1008,6 +929,33 @@ public class OdmaPropertyImpl implements OdmaProperty {
         }
     }
 
+    /**
+     * Returns the <code>OdmaId</code>s of the objects referenced by this property if and only if
+     * the data type of this property is a multi valued <i>Reference</i>. Throws
+     * an <code>OdmaInvalidDataTypeException</code> otherwise.
+     * 
+     * Based on the PropertyResolutionState, it is possible that these OdmaIds are immediately available
+     * while the referenced OdmaObjects require additional round-trips to the server.
+     * 
+     * @return the <code>OdmaId</code>s of the objects referenced by this property
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if this property is not a multi valued <i>Reference</i>
+     *             property
+     */
+    public List<OdmaId> getReferenceIdList() throws OdmaInvalidDataTypeException {
+        if( (multiValue == true) && (dataType == OdmaType.REFERENCE) ) {
+            OdmaLazyPropertyValueProvider provider = valueProvider;
+            if(provider != null && provider.hasReferenceIds()) {
+                return provider.getReferenceIds();
+            }
+            enforceValue();
+            return referenceIds((Iterable<?>)value);
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a different data type and/or cardinality. It cannot return values with `getReferenceIdList()`");
+        }
+    }
+
     /**
      * Returns the <code>Content</code> value of this property if and only if
      * the data type of this property is a multi valued <i>Content</i>. Throws
@@ -19,12 +19,26 @@ import org.opendma.api.OdmaContainer;
 import org.opendma.api.OdmaFolder;
 import org.opendma.api.OdmaContainable;
 import org.opendma.api.OdmaAssociation;
+import org.opendma.impl.accessor.OdmaAccessors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 public class OdmaProxyFactory {
 
@@ -48,9 +62,212 @@ public class OdmaProxyFactory {
         INTERFACE_MAP.put(OdmaCommonNames.CLASS_ASSOCIATION, OdmaAssociation.class);
     }
     
+    /**
+     * Constructors of precompiled accessor classes, keyed by the list of class and aspect names. Holds
+     * <code>NO_ACCESSOR</code> for combinations without precompiled accessor. Accessor classes are
+     * part of this library and do not depend on the class loader of an adaptor.
+     */
+    private static final ConcurrentMap<List<OdmaQName>, Function<OdmaCoreObject, OdmaObject>> ACCESSOR_CACHE = new ConcurrentHashMap<List<OdmaQName>, Function<OdmaCoreObject, OdmaObject>>();
+
+    /**
+     * Proxy classes, keyed by the class loader they are defined in and the list of class and aspect
+     * names. Class loaders are held weakly and proxy classes are only referenced through their
+     * defining loader, so adaptor class loaders can still be unloaded.
+     */
+    private static final Map<ClassLoader, ConcurrentMap<List<OdmaQName>, WeakReference<Class<?>>>> PROXY_CLASS_CACHE = Collections.synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<List<OdmaQName>, WeakReference<Class<?>>>>());
+
+    /**
+     * Ready-to-use constructors of proxy classes. Values are attached to the proxy class itself and
+     * go away together with it.
+     */
+    private static final ClassValue<Function<OdmaCoreObject, OdmaObject>> PROXY_CONSTRUCTORS = new ClassValue<Function<OdmaCoreObject, OdmaObject>>() {
+        @Override
+        protected Function<OdmaCoreObject, OdmaObject> computeValue(Class<?> proxyClass) {
+            return buildProxyConstructor(proxyClass);
+        }
+    };
+
+    private static final Function<OdmaCoreObject, OdmaObject> NO_ACCESSOR = new Function<OdmaCoreObject, OdmaObject>() {
+        @Override
+        public OdmaObject apply(OdmaCoreObject coreObject) {
+            throw new IllegalStateException();
+        }
+    };
+
+    private static final InvocationHandler UNUSED_HANDLER = new InvocationHandler() {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static final MethodType PROXY_CONSTRUCTOR_TYPE = MethodType.methodType(OdmaObject.class, InvocationHandler.class);
+
     @SuppressWarnings("unchecked")
     public static <T extends OdmaObject> T createProxy(OdmaCoreObject coreObject, ClassLoader loader, List<OdmaQName> classNames) {
 
+        return (T) getConstructor(loader, classNames, false).apply(coreObject);
+
+    }
+
+    /**
+     * Wraps the given core object in a precompiled accessor class implementing the interfaces of the
+     * given classes and aspects. The property shortcuts of accessors call <code>getProperty(qname)</code>
+     * directly without reflective dispatch. Falls back to <code>{@link #createProxy(OdmaCoreObject, ClassLoader, List)}</code>
+     * if there is no precompiled accessor for the resulting combination of interfaces.
+     * 
+     * @param coreObject
+     *            the core object to wrap
+     * @param loader
+     *            the class loader to define a proxy class in, if required
+     * @param classNames
+     *            the qualified names of the class and aspects of the core object
+     * 
+     * @return the wrapped core object implementing all OpenDMA interfaces of the given classes and aspects
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends OdmaObject> T createAccessor(OdmaCoreObject coreObject, ClassLoader loader, List<OdmaQName> classNames) {
+
+        return (T) getConstructor(loader, classNames, true).apply(coreObject);
+
+    }
+
+    /**
+     * Wraps all given core objects in proxies. Consecutive objects with equal class and aspect names
+     * share the same constructor lookup.
+     * 
+     * @param coreObjects
+     *            the core objects to wrap
+     * @param loader
+     *            the class loader to define proxy classes in
+     * @param classNamesProvider
+     *            provides the qualified names of the class and aspects of each core object
+     * 
+     * @return the proxies in the same order as the given core objects
+     */
+    public static <C extends OdmaCoreObject, T extends OdmaObject> List<T> createProxies(List<C> coreObjects, ClassLoader loader, Function<? super C, List<OdmaQName>> classNamesProvider) {
+
+        return createAll(coreObjects, loader, classNamesProvider, false);
+
+    }
+
+    /**
+     * Wraps all given core objects in accessors, falling back to proxies for combinations of interfaces
+     * without precompiled accessor. Consecutive objects with equal class and aspect names share the same
+     * constructor lookup.
+     * 
+     * @param coreObjects
+     *            the core objects to wrap
+     * @param loader
+     *            the class loader to define proxy classes in, if required
+     * @param classNamesProvider
+     *            provides the qualified names of the class and aspects of each core object
+     * 
+     * @return the accessors in the same order as the given core objects
+     */
+    public static <C extends OdmaCoreObject, T extends OdmaObject> List<T> createAccessors(List<C> coreObjects, ClassLoader loader, Function<? super C, List<OdmaQName>> classNamesProvider) {
+
+        return createAll(coreObjects, loader, classNamesProvider, true);
+
+    }
+
+    /**
+     * Removes all cached proxy classes and accessor constructors.
+     */
+    public static void clearCache() {
+        ACCESSOR_CACHE.clear();
+        PROXY_CLASS_CACHE.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C extends OdmaCoreObject, T extends OdmaObject> List<T> createAll(List<C> coreObjects, ClassLoader loader, Function<? super C, List<OdmaQName>> classNamesProvider, boolean accessor) {
+
+        List<T> result = new ArrayList<T>(coreObjects.size());
+        List<OdmaQName> lastClassNames = null;
+        Function<OdmaCoreObject, OdmaObject> constructor = null;
+
+        for (C coreObject : coreObjects) {
+            List<OdmaQName> classNames = classNamesProvider.apply(coreObject);
+            if (constructor == null || (classNames != lastClassNames && !classNames.equals(lastClassNames))) {
+                constructor = getConstructor(loader, classNames, accessor);
+                lastClassNames = classNames;
+            }
+            result.add((T) constructor.apply(coreObject));
+        }
+
+        return result;
+
+    }
+
+    private static Function<OdmaCoreObject, OdmaObject> getConstructor(ClassLoader loader, List<OdmaQName> classNames, boolean accessor) {
+
+        if (accessor) {
+            Function<OdmaCoreObject, OdmaObject> constructor = ACCESSOR_CACHE.get(classNames);
+            if (constructor == null) {
+                constructor = OdmaAccessors.getConstructor(mostSpecific(resolveInterfaces(classNames)));
+                if (constructor == null) {
+                    constructor = NO_ACCESSOR;
+                }
+                ACCESSOR_CACHE.putIfAbsent(Collections.unmodifiableList(new ArrayList<OdmaQName>(classNames)), constructor);
+            }
+            if (constructor != NO_ACCESSOR) {
+                return constructor;
+            }
+        }
+
+        return PROXY_CONSTRUCTORS.get(getProxyClass(loader, classNames));
+
+    }
+
+    private static Class<?> getProxyClass(ClassLoader loader, List<OdmaQName> classNames) {
+
+        ConcurrentMap<List<OdmaQName>, WeakReference<Class<?>>> proxyClasses;
+        synchronized (PROXY_CLASS_CACHE) {
+            proxyClasses = PROXY_CLASS_CACHE.get(loader);
+            if (proxyClasses == null) {
+                proxyClasses = new ConcurrentHashMap<List<OdmaQName>, WeakReference<Class<?>>>();
+                PROXY_CLASS_CACHE.put(loader, proxyClasses);
+            }
+        }
+
+        WeakReference<Class<?>> ref = proxyClasses.get(classNames);
+        Class<?> proxyClass = ref != null ? ref.get() : null;
+        if (proxyClass == null) {
+            // the proxy class is defined once per loader and interface list, so this always yields the same class
+            proxyClass = Proxy.newProxyInstance(loader, resolveInterfaces(classNames).toArray(new Class<?>[0]), UNUSED_HANDLER).getClass();
+            proxyClasses.put(Collections.unmodifiableList(new ArrayList<OdmaQName>(classNames)), new WeakReference<Class<?>>(proxyClass));
+        }
+
+        return proxyClass;
+
+    }
+
+    private static Function<OdmaCoreObject, OdmaObject> buildProxyConstructor(Class<?> proxyClass) {
+
+        final MethodHandle proxyConstructor;
+        try {
+            proxyConstructor = MethodHandles.publicLookup().unreflectConstructor(proxyClass.getConstructor(InvocationHandler.class)).asType(PROXY_CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new OdmaRuntimeException("Unable to access constructor of proxy class "+proxyClass.getName(), e);
+        }
+
+        return new Function<OdmaCoreObject, OdmaObject>() {
+            @Override
+            public OdmaObject apply(OdmaCoreObject coreObject) {
+                try {
+                    return (OdmaObject) proxyConstructor.invokeExact((InvocationHandler) new OdmaProxyHandler(coreObject));
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new OdmaRuntimeException("Failed to instantiate proxy", t);
+                }
+            }
+        };
+
+    }
+
+    private static List<Class<? extends OdmaObject>> resolveInterfaces(List<OdmaQName> classNames) {
+
         List<Class<? extends OdmaObject>> interfaces = new ArrayList<Class<? extends OdmaObject>>();
         
         for (OdmaQName className : classNames) {
@@ -63,8 +280,24 @@ public class OdmaProxyFactory {
             throw new OdmaRuntimeException("No valid OpenDMA classes or aspects given.");
         }        
 
-        return (T) Proxy.newProxyInstance( loader, interfaces.toArray(new Class<?>[0]), new OdmaProxyHandler(coreObject) );
+        return interfaces;
+
+    }
+
+    private static Set<Class<?>> mostSpecific(List<Class<? extends OdmaObject>> interfaces) {
+
+        Set<Class<?>> result = new HashSet<Class<?>>(interfaces);
+
+        for (Class<? extends OdmaObject> intf : interfaces) {
+            for (Class<?> other : interfaces) {
+                if (other != intf && other.isAssignableFrom(intf)) {
+                    result.remove(other);
+                }
+            }
+        }
+
+        return result;
 
     }
 
-} 
+}
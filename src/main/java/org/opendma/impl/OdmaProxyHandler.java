@@ -1,9 +1,12 @@
 package org.opendma.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import org.opendma.api.OdmaCommonNames;
@@ -21,6 +24,9 @@ public class OdmaProxyHandler implements InvocationHandler {
 
     private final OdmaCoreObject coreObject;
 
+    /** the qualified name of class and property info proxies, built on first access and reset when name or namespace change */
+    private OdmaQName qname;
+
     private static final Map<String, PropertyMapping> PROPERTY_MAP = new HashMap<>();
 
     static {
@@ -137,133 +143,228 @@ public class OdmaProxyHandler implements InvocationHandler {
         }
     }
 
+    /**
+     * Resolved dispatchers per proxy class. Proxy classes pass the same <code>Method</code> instances on
+     * every call, so after the first call of a method the dispatcher is found by identity.
+     */
+    private static final ClassValue<DispatchTable> DISPATCH_TABLES = new ClassValue<DispatchTable>() {
+        @Override
+        protected DispatchTable computeValue(Class<?> proxyClass) {
+            return new DispatchTable();
+        }
+    };
+
     public OdmaProxyHandler(OdmaCoreObject coreObject) {
         this.coreObject = coreObject;
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        return DISPATCH_TABLES.get(proxy.getClass()).get(method).dispatch(this, args);
+    }
 
-        if (method.getDeclaringClass().equals(OdmaCoreObject.class)) {
-            try {
-                return method.invoke(coreObject, args);
-            } catch(InvocationTargetException ite) {
-                throw ite.getCause();
+    private interface Dispatcher {
+        Object dispatch(OdmaProxyHandler handler, Object[] args) throws Throwable;
+    }
+
+    private interface PropertyReader {
+        Object read(OdmaProperty property) throws OdmaInvalidDataTypeException;
+    }
+
+    private static final class DispatchTable {
+
+        private volatile IdentityHashMap<Method, Dispatcher> dispatchers = new IdentityHashMap<Method, Dispatcher>();
+
+        Dispatcher get(Method method) {
+            Dispatcher dispatcher = dispatchers.get(method);
+            if (dispatcher == null) {
+                dispatcher = resolveDispatcher(method);
+                synchronized (this) {
+                    IdentityHashMap<Method, Dispatcher> copy = new IdentityHashMap<Method, Dispatcher>(dispatchers);
+                    copy.put(method, dispatcher);
+                    dispatchers = copy;
+                }
             }
+            return dispatcher;
+        }
+
+    }
+
+    private static Dispatcher resolveDispatcher(Method method) {
+
+        if (method.getDeclaringClass().equals(OdmaCoreObject.class)) {
+            return forwardingDispatcher(method);
         }
 
-        String methodName = method.getName();
+        final String methodName = method.getName();
         if (methodName.equals("getQName")) {
-            String namespace = (String) handleGetter("getNamespace");
-            String name = (String) handleGetter("getName");
-            return new OdmaQName(namespace, name);
+            final Dispatcher namespace = getterDispatcher("getNamespace");
+            final Dispatcher name = getterDispatcher("getName");
+            return new Dispatcher() {
+                @Override
+                public Object dispatch(OdmaProxyHandler handler, Object[] args) throws Throwable {
+                    OdmaQName result = handler.qname;
+                    if (result == null) {
+                        result = new OdmaQName((String) namespace.dispatch(handler, args), (String) name.dispatch(handler, args));
+                        handler.qname = result;
+                    }
+                    return result;
+                }
+            };
         } else if (methodName.startsWith("get") || methodName.startsWith("is")) {
-            return handleGetter(method.getName());
+            return getterDispatcher(methodName);
         } else if (methodName.startsWith("set")) {
-            return handleSetter(method.getName(), args[0]);
+            return setterDispatcher(methodName);
         }
 
-        throw new OdmaRuntimeException("Unsupported method: " + methodName);
+        return new Dispatcher() {
+            @Override
+            public Object dispatch(OdmaProxyHandler handler, Object[] args) {
+                throw new OdmaRuntimeException("Unsupported method: " + methodName);
+            }
+        };
     }
 
-    private Object handleGetter(String methodName) {
-        PropertyMapping mapping = PROPERTY_MAP.get(methodName);
-        if (mapping == null) {
-            throw new OdmaRuntimeException("No property mapping found for method: " + methodName);
-        }
+    private static Dispatcher forwardingDispatcher(Method method) {
+        final boolean invalidatesQName = method.getName().equals("setProperty") || method.getName().equals("prepareProperties") || method.getName().equals("prepareSelectedProperties");
+        final MethodHandle handle;
         try {
-            OdmaProperty property = coreObject.getProperty(mapping.qname);
-            if (mapping.multiValue) {
-                return handleMultiValueGetter(property, mapping.type);
-            } else {
-                return handleSingleValueGetter(property, mapping.type);
+            handle = MethodHandles.publicLookup().unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, OdmaCoreObject.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new OdmaRuntimeException("Unable to access method: " + method.getName(), e);
+        }
+        return new Dispatcher() {
+            @Override
+            public Object dispatch(OdmaProxyHandler handler, Object[] args) throws Throwable {
+                Object result = (Object) handle.invokeExact(handler.coreObject, args);
+                if (invalidatesQName) {
+                    handler.qname = null;
+                }
+                return result;
             }
-        } catch (OdmaPropertyNotFoundException pnfe) {
-            throw new OdmaServiceException("Predefined OpenDMA property missing: "+mapping.qname.toString());
-        } catch (OdmaInvalidDataTypeException idte) {
-            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+mapping.qname.toString());
+        };
+    }
+
+    private static Dispatcher getterDispatcher(final String methodName) {
+        final PropertyMapping mapping = PROPERTY_MAP.get(methodName);
+        if (mapping == null) {
+            return new Dispatcher() {
+                @Override
+                public Object dispatch(OdmaProxyHandler handler, Object[] args) {
+                    throw new OdmaRuntimeException("No property mapping found for method: " + methodName);
+                }
+            };
         }
+        final PropertyReader reader = mapping.multiValue ? multiValueReader(mapping.type) : singleValueReader(mapping.type);
+        return new Dispatcher() {
+            @Override
+            public Object dispatch(OdmaProxyHandler handler, Object[] args) {
+                try {
+                    return reader.read(handler.coreObject.getProperty(mapping.qname));
+                } catch (OdmaPropertyNotFoundException pnfe) {
+                    throw new OdmaServiceException("Predefined OpenDMA property missing: "+mapping.qname.toString());
+                } catch (OdmaInvalidDataTypeException idte) {
+                    throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+mapping.qname.toString());
+                }
+            }
+        };
     }
 
-    private Object handleMultiValueGetter(OdmaProperty property, OdmaType type) throws OdmaInvalidDataTypeException {
+    private static PropertyReader multiValueReader(OdmaType type) {
         switch (type) {
             case STRING:
-                return property.getStringList();
+                return OdmaProperty::getStringList;
             case INTEGER:
-                return property.getIntegerList();
+                return OdmaProperty::getIntegerList;
             case SHORT:
-                return property.getShortList();
+                return OdmaProperty::getShortList;
             case LONG:
-                return property.getLongList();
+                return OdmaProperty::getLongList;
             case FLOAT:
-                return property.getFloatList();
+                return OdmaProperty::getFloatList;
             case DOUBLE:
-                return property.getDoubleList();
+                return OdmaProperty::getDoubleList;
             case BOOLEAN:
-                return property.getBooleanList();
+                return OdmaProperty::getBooleanList;
             case DATETIME:
-                return property.getDateTimeList();
+                return OdmaProperty::getDateTimeList;
             case BINARY:
-                return property.getBinaryList();
+                return OdmaProperty::getBinaryList;
             case REFERENCE:
-                return property.getReferenceIterable();
+                return OdmaProperty::getReferenceIterable;
             case CONTENT:
-                return property.getContentList();
+                return OdmaProperty::getContentList;
             case ID:
-                return property.getIdList();
+                return OdmaProperty::getIdList;
             case GUID:
-                return property.getGuidList();
+                return OdmaProperty::getGuidList;
             default:
                 throw new OdmaRuntimeException("Unsupported multi-value type: " + type);
         }
     }
 
-    private Object handleSingleValueGetter(OdmaProperty property, OdmaType type) throws OdmaInvalidDataTypeException {
+    private static PropertyReader singleValueReader(OdmaType type) {
         switch (type) {
             case STRING:
-                return property.getString();
+                return OdmaProperty::getString;
             case INTEGER:
-                return property.getInteger();
+                return OdmaProperty::getInteger;
             case SHORT:
-                return property.getShort();
+                return OdmaProperty::getShort;
             case LONG:
-                return property.getLong();
+                return OdmaProperty::getLong;
             case FLOAT:
-                return property.getFloat();
+                return OdmaProperty::getFloat;
             case DOUBLE:
-                return property.getDouble();
+                return OdmaProperty::getDouble;
             case BOOLEAN:
-                return property.getBoolean();
+                return OdmaProperty::getBoolean;
             case DATETIME:
-                return property.getDateTime();
+                return OdmaProperty::getDateTime;
             case BINARY:
-                return property.getBinary();
+                return OdmaProperty::getBinary;
             case REFERENCE:
-                return property.getReference();
+                return OdmaProperty::getReference;
             case CONTENT:
-                return property.getContent();
+                return OdmaProperty::getContent;
             case ID:
-                return property.getId();
+                return OdmaProperty::getId;
             case GUID:
-                return property.getGuid();
+                return OdmaProperty::getGuid;
             default:
                 throw new OdmaRuntimeException("Unsupported single-value type: " + type);
         }
     }
 
-    private Object handleSetter(String methodName, Object value) throws OdmaAccessDeniedException {
-        PropertyMapping mapping = PROPERTY_MAP.get(methodName);
+    private static Dispatcher setterDispatcher(final String methodName) {
+        final PropertyMapping mapping = PROPERTY_MAP.get(methodName);
         if (mapping == null) {
-            throw new OdmaRuntimeException("No property mapping found for method: " + methodName);
-        }
-        try {
-            coreObject.setProperty(mapping.qname, value);
-            return null;
-        } catch (OdmaPropertyNotFoundException pnfe) {
-            throw new OdmaServiceException("Predefined OpenDMA property missing: "+mapping.qname.toString());
-        } catch (OdmaInvalidDataTypeException idte) {
-            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+mapping.qname.toString());
+            return new Dispatcher() {
+                @Override
+                public Object dispatch(OdmaProxyHandler handler, Object[] args) {
+                    throw new OdmaRuntimeException("No property mapping found for method: " + methodName);
+                }
+            };
         }
+        final boolean invalidatesQName = mapping.qname.equals(OdmaCommonNames.PROPERTY_NAME) || mapping.qname.equals(OdmaCommonNames.PROPERTY_NAMESPACE);
+        return new Dispatcher() {
+            @Override
+            public Object dispatch(OdmaProxyHandler handler, Object[] args) throws OdmaAccessDeniedException {
+                try {
+                    handler.coreObject.setProperty(mapping.qname, args[0]);
+                    if (invalidatesQName) {
+                        handler.qname = null;
+                    }
+                    return null;
+                } catch (OdmaPropertyNotFoundException pnfe) {
+                    throw new OdmaServiceException("Predefined OpenDMA property missing: "+mapping.qname.toString());
+                } catch (OdmaInvalidDataTypeException idte) {
+                    throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+mapping.qname.toString());
+                }
+            }
+        };
     }
 
 } 
@@ -0,0 +1,324 @@
+package org.opendma.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import org.opendma.api.OdmaContent;
+
+/**
+ * Implementation of <code>{@link OdmaContent}</code> whose binary data is pushed by a producer while the
+ * adaptor reads it, e.g. during <code>OdmaDataContentElement.setContent</code> and <code>save</code>.<p>
+ *
+ * The producer writes to <code>{@link #getOutputStream()}</code> in one thread while the adaptor reads
+ * <code>{@link #getStream()}</code> in another. Data is handed over in chunks. At most
+ * <code>maxChunks</code> chunks are buffered, so a producer faster than the adaptor blocks instead of
+ * growing the heap. The size can be declared up front, or left unknown with <code>getSize()</code>
+ * returning -1. Closing the output stream ends the content. A producer failure is passed on to the
+ * adaptor with <code>{@link #abort(Throwable)}</code>.<p>
+ *
+ * The content can be read only once.
+ */
+public class OdmaStreamingContent implements OdmaContent {
+
+    /** the declared size in bytes, or -1 if unknown */
+    private final long size;
+
+    /** the size of the chunks handed over to the reader */
+    private final int chunkSize;
+
+    /** the maximum number of chunks buffered */
+    private final int maxChunks;
+
+    /** the chunks written and not yet read. Guarded by <code>this</code>. */
+    private final ArrayDeque<byte[]> chunks = new ArrayDeque<byte[]>();
+
+    /** the number of bytes handed over to the reader. Guarded by <code>this</code>. */
+    private long written;
+
+    /** flag indicating if the producer has closed the output stream. Guarded by <code>this</code>. */
+    private boolean producerClosed;
+
+    /** flag indicating if the reader has closed the input stream. Guarded by <code>this</code>. */
+    private boolean consumerClosed;
+
+    /** the failure passed to <code>abort</code>. Guarded by <code>this</code>. */
+    private Throwable failure;
+
+    /** flag indicating if the input stream has been handed out. Guarded by <code>this</code>. */
+    private boolean streamTaken;
+
+    /** the stream of the producer, created after the chunk size is set */
+    private final OutputStream outputStream;
+
+    /**
+     * Create a new <code>OdmaStreamingContent</code> of unknown size buffering at most 4 chunks of 64 KiB.
+     */
+    public OdmaStreamingContent() {
+        this(-1, 64 * 1024, 4);
+    }
+
+    /**
+     * Create a new <code>OdmaStreamingContent</code>.
+     *
+     * @param size
+     *            the size of the content in bytes, or -1 if unknown
+     * @param chunkSize
+     *            the size of the chunks handed over to the reader
+     * @param maxChunks
+     *            the maximum number of chunks buffered
+     */
+    public OdmaStreamingContent(long size, int chunkSize, int maxChunks) {
+        if(size < -1) {
+            throw new IllegalArgumentException("size must be -1 or not negative");
+        }
+        if(chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if(maxChunks < 1) {
+            throw new IllegalArgumentException("maxChunks must be positive");
+        }
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.outputStream = new SinkOutputStream();
+    }
+
+    /**
+     * Returns the stream the producer writes the binary data to. Writes block while <code>maxChunks</code>
+     * chunks are waiting to be read. <code>flush()</code> hands over a partially filled chunk, and
+     * <code>close()</code> ends the content.
+     *
+     * @return the stream the producer writes the binary data to
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Ends the content with a failure. The reader receives an <code>IOException</code> with the given cause
+     * instead of further data, and further writes fail.
+     *
+     * @param cause
+     *            the reason the content could not be produced
+     */
+    public synchronized void abort(Throwable cause) {
+        if(failure == null) {
+            failure = cause == null ? new IOException("Content production aborted") : cause;
+        }
+        chunks.clear();
+        notifyAll();
+    }
+
+    /**
+     * Returns the stream reading the binary data as the producer writes it. Can be called only once.
+     *
+     * @return the stream reading the binary data
+     *
+     * @throws IllegalStateException
+     *             if the stream has already been handed out
+     */
+    @Override
+    public synchronized InputStream getStream() {
+        if(streamTaken) {
+            throw new IllegalStateException("Streaming content can be read only once");
+        }
+        streamTaken = true;
+        return new SourceInputStream();
+    }
+
+    /**
+     * Returns the declared size of the content in bytes.
+     *
+     * @return the declared size of the content in bytes, or -1 if unknown
+     */
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    private synchronized void put(byte[] chunk) throws IOException {
+        try {
+            while(chunks.size() >= maxChunks && !consumerClosed && failure == null) {
+                wait();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the reader");
+        }
+        checkWritable();
+        if(size >= 0 && written + chunk.length > size) {
+            abort(new IOException("More data written than the declared size of "+size+" bytes"));
+            checkWritable();
+        }
+        chunks.addLast(chunk);
+        written += chunk.length;
+        notifyAll();
+    }
+
+    private void checkWritable() throws IOException {
+        if(failure != null) {
+            throw new IOException("Content production aborted", failure);
+        }
+        if(consumerClosed) {
+            throw new IOException("Reader closed the content stream");
+        }
+        if(producerClosed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private synchronized void finish() throws IOException {
+        if(producerClosed) {
+            return;
+        }
+        if(failure == null && !consumerClosed && size >= 0 && written != size) {
+            abort(new IOException("Content ended after "+written+" of "+size+" declared bytes"));
+        }
+        producerClosed = true;
+        notifyAll();
+        if(failure != null) {
+            throw new IOException("Content production aborted", failure);
+        }
+    }
+
+    private synchronized byte[] take() throws IOException {
+        try {
+            while(chunks.isEmpty() && !producerClosed && failure == null) {
+                wait();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the producer");
+        }
+        if(failure != null) {
+            throw new IOException("Content production aborted", failure);
+        }
+        byte[] chunk = chunks.pollFirst();
+        notifyAll();
+        return chunk;
+    }
+
+    private synchronized void closeSource() {
+        consumerClosed = true;
+        chunks.clear();
+        notifyAll();
+    }
+
+    private class SinkOutputStream extends OutputStream {
+
+        private byte[] chunk = new byte[chunkSize];
+
+        private int pos;
+
+        @Override
+        public void write(int b) throws IOException {
+            chunk[pos++] = (byte)b;
+            if(pos == chunk.length) {
+                handOver();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if(off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            while(len > 0) {
+                int n = Math.min(len, chunk.length - pos);
+                System.arraycopy(b, off, chunk, pos, n);
+                pos += n;
+                off += n;
+                len -= n;
+                if(pos == chunk.length) {
+                    handOver();
+                }
+            }
+        }
+
+        private void handOver() throws IOException {
+            byte[] full = pos == chunk.length ? chunk : Arrays.copyOf(chunk, pos);
+            if(full == chunk) {
+                chunk = new byte[chunkSize];
+            }
+            pos = 0;
+            put(full);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if(pos > 0) {
+                handOver();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                finish();
+            }
+        }
+
+    }
+
+    private class SourceInputStream extends InputStream {
+
+        private byte[] chunk;
+
+        private int pos;
+
+        private boolean eof;
+
+        private boolean ensureData() throws IOException {
+            while(!eof && (chunk == null || pos >= chunk.length)) {
+                chunk = take();
+                pos = 0;
+                if(chunk == null) {
+                    eof = true;
+                }
+            }
+            return !eof;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return ensureData() ? chunk[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if(off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if(len == 0) {
+                return 0;
+            }
+            if(!ensureData()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - pos);
+            System.arraycopy(chunk, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return chunk == null ? 0 : chunk.length - pos;
+        }
+
+        @Override
+        public void close() {
+            eof = true;
+            chunk = null;
+            closeSource();
+        }
+
+    }
+
+}
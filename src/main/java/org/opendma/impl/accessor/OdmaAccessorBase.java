@@ -0,0 +1,68 @@
+package org.opendma.impl.accessor;
+
+import java.util.Iterator;
+
+import org.opendma.api.OdmaCoreObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaPropertySelection;
+import org.opendma.api.OdmaQName;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+
+/**
+ * Common base of all precompiled accessor classes. Forwards all generic capabilities
+ * of <code>{@link OdmaCoreObject}</code> to the wrapped core object.
+ */
+abstract class OdmaAccessorBase implements OdmaCoreObject {
+
+    protected final OdmaCoreObject coreObject;
+
+    protected OdmaAccessorBase(OdmaCoreObject coreObject) {
+        if(coreObject == null) {
+            throw new IllegalArgumentException("coreObject must not be null");
+        }
+        this.coreObject = coreObject;
+    }
+
+    public OdmaProperty getProperty(OdmaQName propertyName) throws OdmaPropertyNotFoundException {
+        return coreObject.getProperty(propertyName);
+    }
+
+    public void prepareProperties(OdmaQName[] propertyNames, boolean refresh) {
+        coreObject.prepareProperties(propertyNames, refresh);
+    }
+
+    public void prepareSelectedProperties(OdmaPropertySelection propertySelection, boolean refresh) {
+        coreObject.prepareSelectedProperties(propertySelection, refresh);
+    }
+
+    public void setProperty(OdmaQName propertyName, Object newValue) throws OdmaPropertyNotFoundException, OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        coreObject.setProperty(propertyName, newValue);
+    }
+
+    public boolean isDirty() {
+        return coreObject.isDirty();
+    }
+
+    public void save() {
+        coreObject.save();
+    }
+
+    public boolean instanceOf(OdmaQName classOrAspectName) {
+        return coreObject.instanceOf(classOrAspectName);
+    }
+
+    public Iterator<OdmaProperty> availableProperties() {
+        return coreObject.availableProperties();
+    }
+
+    public boolean availablePropertiesComplete() {
+        return coreObject.availablePropertiesComplete();
+    }
+
+    public boolean isEmbeddingRecommended() {
+        return coreObject.isEmbeddingRecommended();
+    }
+
+}
@@ -0,0 +1,431 @@
+package org.opendma.impl.accessor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.opendma.api.OdmaAssociation;
+import org.opendma.api.OdmaAuditStamped;
+import org.opendma.api.OdmaChoiceValue;
+import org.opendma.api.OdmaClass;
+import org.opendma.api.OdmaContainable;
+import org.opendma.api.OdmaContainer;
+import org.opendma.api.OdmaContentElement;
+import org.opendma.api.OdmaCoreObject;
+import org.opendma.api.OdmaDataContentElement;
+import org.opendma.api.OdmaDocument;
+import org.opendma.api.OdmaFolder;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaPropertyInfo;
+import org.opendma.api.OdmaReferenceContentElement;
+import org.opendma.api.OdmaRepository;
+import org.opendma.api.OdmaVersionCollection;
+
+/**
+ * Registry of precompiled accessor classes. Each accessor implements a fixed combination of
+ * OpenDMA class and aspect interfaces and reads properties with direct
+ * <code>getProperty(qname)</code> calls instead of reflective proxy dispatch.<p>
+ * 
+ * Combinations are identified by the set of most specific interfaces, e.g.
+ * <code>{OdmaDocument, OdmaContainable}</code>. Super interfaces like <code>OdmaObject</code>
+ * or <code>OdmaContainer</code> for an <code>OdmaFolder</code> must not be part of the set.
+ */
+public final class OdmaAccessors {
+
+    private static final Map<Set<Class<?>>, Function<OdmaCoreObject, OdmaObject>> CONSTRUCTORS = new HashMap<>();
+
+    static {
+        register(ObjectAccessor::new, OdmaObject.class);
+        register(ClassAccessor::new, OdmaClass.class);
+        register(ClassContainableAccessor::new, OdmaClass.class, OdmaContainable.class);
+        register(ClassAuditStampedAccessor::new, OdmaClass.class, OdmaAuditStamped.class);
+        register(ClassContainableAuditStampedAccessor::new, OdmaClass.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(PropertyInfoAccessor::new, OdmaPropertyInfo.class);
+        register(PropertyInfoContainableAccessor::new, OdmaPropertyInfo.class, OdmaContainable.class);
+        register(PropertyInfoAuditStampedAccessor::new, OdmaPropertyInfo.class, OdmaAuditStamped.class);
+        register(PropertyInfoContainableAuditStampedAccessor::new, OdmaPropertyInfo.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(ChoiceValueAccessor::new, OdmaChoiceValue.class);
+        register(ChoiceValueContainableAccessor::new, OdmaChoiceValue.class, OdmaContainable.class);
+        register(ChoiceValueAuditStampedAccessor::new, OdmaChoiceValue.class, OdmaAuditStamped.class);
+        register(ChoiceValueContainableAuditStampedAccessor::new, OdmaChoiceValue.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(RepositoryAccessor::new, OdmaRepository.class);
+        register(RepositoryContainableAccessor::new, OdmaRepository.class, OdmaContainable.class);
+        register(RepositoryAuditStampedAccessor::new, OdmaRepository.class, OdmaAuditStamped.class);
+        register(RepositoryContainableAuditStampedAccessor::new, OdmaRepository.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(DocumentAccessor::new, OdmaDocument.class);
+        register(DocumentContainableAccessor::new, OdmaDocument.class, OdmaContainable.class);
+        register(DocumentAuditStampedAccessor::new, OdmaDocument.class, OdmaAuditStamped.class);
+        register(DocumentContainableAuditStampedAccessor::new, OdmaDocument.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(ContentElementAccessor::new, OdmaContentElement.class);
+        register(ContentElementContainableAccessor::new, OdmaContentElement.class, OdmaContainable.class);
+        register(ContentElementAuditStampedAccessor::new, OdmaContentElement.class, OdmaAuditStamped.class);
+        register(ContentElementContainableAuditStampedAccessor::new, OdmaContentElement.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(DataContentElementAccessor::new, OdmaDataContentElement.class);
+        register(DataContentElementContainableAccessor::new, OdmaDataContentElement.class, OdmaContainable.class);
+        register(DataContentElementAuditStampedAccessor::new, OdmaDataContentElement.class, OdmaAuditStamped.class);
+        register(DataContentElementContainableAuditStampedAccessor::new, OdmaDataContentElement.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(ReferenceContentElementAccessor::new, OdmaReferenceContentElement.class);
+        register(ReferenceContentElementContainableAccessor::new, OdmaReferenceContentElement.class, OdmaContainable.class);
+        register(ReferenceContentElementAuditStampedAccessor::new, OdmaReferenceContentElement.class, OdmaAuditStamped.class);
+        register(ReferenceContentElementContainableAuditStampedAccessor::new, OdmaReferenceContentElement.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(VersionCollectionAccessor::new, OdmaVersionCollection.class);
+        register(VersionCollectionContainableAccessor::new, OdmaVersionCollection.class, OdmaContainable.class);
+        register(VersionCollectionAuditStampedAccessor::new, OdmaVersionCollection.class, OdmaAuditStamped.class);
+        register(VersionCollectionContainableAuditStampedAccessor::new, OdmaVersionCollection.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(ContainerAccessor::new, OdmaContainer.class);
+        register(ContainerContainableAccessor::new, OdmaContainer.class, OdmaContainable.class);
+        register(ContainerAuditStampedAccessor::new, OdmaContainer.class, OdmaAuditStamped.class);
+        register(ContainerContainableAuditStampedAccessor::new, OdmaContainer.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(FolderAccessor::new, OdmaFolder.class);
+        register(FolderContainableAccessor::new, OdmaFolder.class, OdmaContainable.class);
+        register(FolderAuditStampedAccessor::new, OdmaFolder.class, OdmaAuditStamped.class);
+        register(FolderContainableAuditStampedAccessor::new, OdmaFolder.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(AssociationAccessor::new, OdmaAssociation.class);
+        register(AssociationContainableAccessor::new, OdmaAssociation.class, OdmaContainable.class);
+        register(AssociationAuditStampedAccessor::new, OdmaAssociation.class, OdmaAuditStamped.class);
+        register(AssociationContainableAuditStampedAccessor::new, OdmaAssociation.class, OdmaContainable.class, OdmaAuditStamped.class);
+        register(ContainableAccessor::new, OdmaContainable.class);
+        register(AuditStampedAccessor::new, OdmaAuditStamped.class);
+        register(ContainableAuditStampedAccessor::new, OdmaContainable.class, OdmaAuditStamped.class);
+    }
+
+    private OdmaAccessors() {
+    }
+
+    private static void register(Function<OdmaCoreObject, OdmaObject> constructor, Class<?>... interfaces) {
+        CONSTRUCTORS.put(new HashSet<Class<?>>(Arrays.asList(interfaces)), constructor);
+    }
+
+    /**
+     * Returns the constructor of the precompiled accessor class implementing exactly the given
+     * combination of interfaces.
+     * 
+     * @param interfaces
+     *            the most specific OpenDMA interfaces the accessor has to implement
+     * 
+     * @return the constructor of the accessor class, or <code>null</code> if no precompiled accessor
+     *         exists for this combination
+     */
+    public static Function<OdmaCoreObject, OdmaObject> getConstructor(Collection<Class<?>> interfaces) {
+        return CONSTRUCTORS.get(interfaces instanceof Set ? interfaces : new HashSet<Class<?>>(interfaces));
+    }
+
+    // ----- precompiled interface combinations ----------------------------------------------------
+
+    private static final class ObjectAccessor extends OdmaAccessorBase implements OdmaObjectAccessor {
+        ObjectAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ClassAccessor extends OdmaQNameAccessorBase implements OdmaClassAccessor {
+        ClassAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ClassContainableAccessor extends OdmaQNameAccessorBase implements OdmaClassAccessor, OdmaContainableAccessor {
+        ClassContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ClassAuditStampedAccessor extends OdmaQNameAccessorBase implements OdmaClassAccessor, OdmaAuditStampedAccessor {
+        ClassAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ClassContainableAuditStampedAccessor extends OdmaQNameAccessorBase implements OdmaClassAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        ClassContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class PropertyInfoAccessor extends OdmaQNameAccessorBase implements OdmaPropertyInfoAccessor {
+        PropertyInfoAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class PropertyInfoContainableAccessor extends OdmaQNameAccessorBase implements OdmaPropertyInfoAccessor, OdmaContainableAccessor {
+        PropertyInfoContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class PropertyInfoAuditStampedAccessor extends OdmaQNameAccessorBase implements OdmaPropertyInfoAccessor, OdmaAuditStampedAccessor {
+        PropertyInfoAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class PropertyInfoContainableAuditStampedAccessor extends OdmaQNameAccessorBase implements OdmaPropertyInfoAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        PropertyInfoContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ChoiceValueAccessor extends OdmaAccessorBase implements OdmaChoiceValueAccessor {
+        ChoiceValueAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ChoiceValueContainableAccessor extends OdmaAccessorBase implements OdmaChoiceValueAccessor, OdmaContainableAccessor {
+        ChoiceValueContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ChoiceValueAuditStampedAccessor extends OdmaAccessorBase implements OdmaChoiceValueAccessor, OdmaAuditStampedAccessor {
+        ChoiceValueAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ChoiceValueContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaChoiceValueAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        ChoiceValueContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class RepositoryAccessor extends OdmaAccessorBase implements OdmaRepositoryAccessor {
+        RepositoryAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class RepositoryContainableAccessor extends OdmaAccessorBase implements OdmaRepositoryAccessor, OdmaContainableAccessor {
+        RepositoryContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class RepositoryAuditStampedAccessor extends OdmaAccessorBase implements OdmaRepositoryAccessor, OdmaAuditStampedAccessor {
+        RepositoryAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class RepositoryContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaRepositoryAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        RepositoryContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DocumentAccessor extends OdmaAccessorBase implements OdmaDocumentAccessor {
+        DocumentAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DocumentContainableAccessor extends OdmaAccessorBase implements OdmaDocumentAccessor, OdmaContainableAccessor {
+        DocumentContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DocumentAuditStampedAccessor extends OdmaAccessorBase implements OdmaDocumentAccessor, OdmaAuditStampedAccessor {
+        DocumentAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DocumentContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaDocumentAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        DocumentContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContentElementAccessor extends OdmaAccessorBase implements OdmaContentElementAccessor {
+        ContentElementAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContentElementContainableAccessor extends OdmaAccessorBase implements OdmaContentElementAccessor, OdmaContainableAccessor {
+        ContentElementContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContentElementAuditStampedAccessor extends OdmaAccessorBase implements OdmaContentElementAccessor, OdmaAuditStampedAccessor {
+        ContentElementAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContentElementContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaContentElementAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        ContentElementContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DataContentElementAccessor extends OdmaAccessorBase implements OdmaDataContentElementAccessor {
+        DataContentElementAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DataContentElementContainableAccessor extends OdmaAccessorBase implements OdmaDataContentElementAccessor, OdmaContainableAccessor {
+        DataContentElementContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DataContentElementAuditStampedAccessor extends OdmaAccessorBase implements OdmaDataContentElementAccessor, OdmaAuditStampedAccessor {
+        DataContentElementAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class DataContentElementContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaDataContentElementAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        DataContentElementContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ReferenceContentElementAccessor extends OdmaAccessorBase implements OdmaReferenceContentElementAccessor {
+        ReferenceContentElementAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ReferenceContentElementContainableAccessor extends OdmaAccessorBase implements OdmaReferenceContentElementAccessor, OdmaContainableAccessor {
+        ReferenceContentElementContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ReferenceContentElementAuditStampedAccessor extends OdmaAccessorBase implements OdmaReferenceContentElementAccessor, OdmaAuditStampedAccessor {
+        ReferenceContentElementAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ReferenceContentElementContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaReferenceContentElementAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        ReferenceContentElementContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class VersionCollectionAccessor extends OdmaAccessorBase implements OdmaVersionCollectionAccessor {
+        VersionCollectionAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class VersionCollectionContainableAccessor extends OdmaAccessorBase implements OdmaVersionCollectionAccessor, OdmaContainableAccessor {
+        VersionCollectionContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class VersionCollectionAuditStampedAccessor extends OdmaAccessorBase implements OdmaVersionCollectionAccessor, OdmaAuditStampedAccessor {
+        VersionCollectionAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class VersionCollectionContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaVersionCollectionAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        VersionCollectionContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContainerAccessor extends OdmaAccessorBase implements OdmaContainerAccessor {
+        ContainerAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContainerContainableAccessor extends OdmaAccessorBase implements OdmaContainerAccessor, OdmaContainableAccessor {
+        ContainerContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContainerAuditStampedAccessor extends OdmaAccessorBase implements OdmaContainerAccessor, OdmaAuditStampedAccessor {
+        ContainerAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContainerContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaContainerAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        ContainerContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class FolderAccessor extends OdmaAccessorBase implements OdmaFolderAccessor {
+        FolderAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class FolderContainableAccessor extends OdmaAccessorBase implements OdmaFolderAccessor, OdmaContainableAccessor {
+        FolderContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class FolderAuditStampedAccessor extends OdmaAccessorBase implements OdmaFolderAccessor, OdmaAuditStampedAccessor {
+        FolderAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class FolderContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaFolderAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        FolderContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class AssociationAccessor extends OdmaAccessorBase implements OdmaAssociationAccessor {
+        AssociationAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class AssociationContainableAccessor extends OdmaAccessorBase implements OdmaAssociationAccessor, OdmaContainableAccessor {
+        AssociationContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class AssociationAuditStampedAccessor extends OdmaAccessorBase implements OdmaAssociationAccessor, OdmaAuditStampedAccessor {
+        AssociationAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class AssociationContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaAssociationAccessor, OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        AssociationContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContainableAccessor extends OdmaAccessorBase implements OdmaContainableAccessor {
+        ContainableAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class AuditStampedAccessor extends OdmaAccessorBase implements OdmaAuditStampedAccessor {
+        AuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+    private static final class ContainableAuditStampedAccessor extends OdmaAccessorBase implements OdmaContainableAccessor, OdmaAuditStampedAccessor {
+        ContainableAuditStampedAccessor(OdmaCoreObject coreObject) {
+            super(coreObject);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.opendma.impl.accessor;
+
+import org.opendma.api.OdmaAssociation;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaContainable;
+import org.opendma.api.OdmaContainer;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaAssociation}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaAssociationAccessor extends OdmaAssociation, OdmaObjectAccessor {
+
+    @Override
+    default String getName() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_NAME).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+    }
+
+    @Override
+    default void setName(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_NAME,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+    }
+
+    @Override
+    default OdmaContainer getContainer() {
+        try {
+            return (OdmaContainer)getProperty(OdmaCommonNames.PROPERTY_CONTAINER).getReference();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTAINER.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTAINER.toString());
+        }
+    }
+
+    @Override
+    default void setContainer(OdmaContainer newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_CONTAINER,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTAINER.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTAINER.toString());
+        }
+    }
+
+    @Override
+    default OdmaContainable getContainable() {
+        try {
+            return (OdmaContainable)getProperty(OdmaCommonNames.PROPERTY_CONTAINABLE).getReference();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTAINABLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTAINABLE.toString());
+        }
+    }
+
+    @Override
+    default void setContainable(OdmaContainable newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_CONTAINABLE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTAINABLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTAINABLE.toString());
+        }
+    }
+
+}
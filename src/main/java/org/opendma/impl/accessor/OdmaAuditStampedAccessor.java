@@ -0,0 +1,69 @@
+package org.opendma.impl.accessor;
+
+import java.util.Date;
+
+import org.opendma.api.OdmaAuditStamped;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaAuditStamped}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaAuditStampedAccessor extends OdmaAuditStamped, OdmaObjectAccessor {
+
+    @Override
+    default Date getCreatedAt() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_CREATEDAT).getDateTime();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CREATEDAT.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CREATEDAT.toString());
+        }
+    }
+
+    @Override
+    default String getCreatedBy() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_CREATEDBY).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CREATEDBY.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CREATEDBY.toString());
+        }
+    }
+
+    @Override
+    default Date getLastModifiedAt() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_LASTMODIFIEDAT).getDateTime();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_LASTMODIFIEDAT.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_LASTMODIFIEDAT.toString());
+        }
+    }
+
+    @Override
+    default String getLastModifiedBy() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_LASTMODIFIEDBY).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_LASTMODIFIEDBY.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_LASTMODIFIEDBY.toString());
+        }
+    }
+
+}
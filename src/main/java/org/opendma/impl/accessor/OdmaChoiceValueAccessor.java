@@ -0,0 +1,305 @@
+package org.opendma.impl.accessor;
+
+import java.util.Date;
+
+import org.opendma.api.OdmaChoiceValue;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaObject;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaChoiceValue}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaChoiceValueAccessor extends OdmaChoiceValue, OdmaObjectAccessor {
+
+    @Override
+    default String getDisplayName() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_DISPLAYNAME).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+    }
+
+    @Override
+    default void setDisplayName(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_DISPLAYNAME,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+    }
+
+    @Override
+    default String getStringValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_STRINGVALUE).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_STRINGVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_STRINGVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setStringValue(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_STRINGVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_STRINGVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_STRINGVALUE.toString());
+        }
+    }
+
+    @Override
+    default Integer getIntegerValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_INTEGERVALUE).getInteger();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_INTEGERVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_INTEGERVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setIntegerValue(Integer newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_INTEGERVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_INTEGERVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_INTEGERVALUE.toString());
+        }
+    }
+
+    @Override
+    default Short getShortValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_SHORTVALUE).getShort();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_SHORTVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_SHORTVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setShortValue(Short newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_SHORTVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_SHORTVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_SHORTVALUE.toString());
+        }
+    }
+
+    @Override
+    default Long getLongValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_LONGVALUE).getLong();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_LONGVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_LONGVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setLongValue(Long newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_LONGVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_LONGVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_LONGVALUE.toString());
+        }
+    }
+
+    @Override
+    default Float getFloatValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_FLOATVALUE).getFloat();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_FLOATVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_FLOATVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setFloatValue(Float newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_FLOATVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_FLOATVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_FLOATVALUE.toString());
+        }
+    }
+
+    @Override
+    default Double getDoubleValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_DOUBLEVALUE).getDouble();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DOUBLEVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DOUBLEVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setDoubleValue(Double newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_DOUBLEVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DOUBLEVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DOUBLEVALUE.toString());
+        }
+    }
+
+    @Override
+    default Boolean isBooleanValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_BOOLEANVALUE).getBoolean();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_BOOLEANVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_BOOLEANVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setBooleanValue(Boolean newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_BOOLEANVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_BOOLEANVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_BOOLEANVALUE.toString());
+        }
+    }
+
+    @Override
+    default Date getDateTimeValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_DATETIMEVALUE).getDateTime();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DATETIMEVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DATETIMEVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setDateTimeValue(Date newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_DATETIMEVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DATETIMEVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DATETIMEVALUE.toString());
+        }
+    }
+
+    @Override
+    default byte[] getBinaryValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_BINARYVALUE).getBinary();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_BINARYVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_BINARYVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setBinaryValue(byte[] newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_BINARYVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_BINARYVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_BINARYVALUE.toString());
+        }
+    }
+
+    @Override
+    default OdmaObject getReferenceValue() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_REFERENCEVALUE).getReference();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_REFERENCEVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_REFERENCEVALUE.toString());
+        }
+    }
+
+    @Override
+    default void setReferenceValue(OdmaObject newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_REFERENCEVALUE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_REFERENCEVALUE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_REFERENCEVALUE.toString());
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package org.opendma.impl.accessor;
+
+import org.opendma.api.OdmaClass;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaPropertyInfo;
+import org.opendma.api.OdmaQName;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaClass}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaClassAccessor extends OdmaClass, OdmaObjectAccessor {
+
+    @Override
+    default String getName() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_NAME).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+    }
+
+    @Override
+    default void setName(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_NAME,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_NAME.toString());
+        }
+    }
+
+    @Override
+    default String getNamespace() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_NAMESPACE).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_NAMESPACE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_NAMESPACE.toString());
+        }
+    }
+
+    @Override
+    default void setNamespace(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_NAMESPACE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_NAMESPACE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_NAMESPACE.toString());
+        }
+    }
+
+    @Override
+    default String getDisplayName() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_DISPLAYNAME).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+    }
+
+    @Override
+    default void setDisplayName(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_DISPLAYNAME,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DISPLAYNAME.toString());
+        }
+    }
+
+    @Override
+    default OdmaClass getSuperClass() {
+        try {
+            return (OdmaClass)getProperty(OdmaCommonNames.PROPERTY_SUPERCLASS).getReference();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_SUPERCLASS.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_SUPERCLASS.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaClass> getIncludedAspects() {
+        try {
+            return (Iterable<OdmaClass>)getProperty(OdmaCommonNames.PROPERTY_INCLUDEDASPECTS).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_INCLUDEDASPECTS.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_INCLUDEDASPECTS.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaPropertyInfo> getDeclaredProperties() {
+        try {
+            return (Iterable<OdmaPropertyInfo>)getProperty(OdmaCommonNames.PROPERTY_DECLAREDPROPERTIES).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_DECLAREDPROPERTIES.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_DECLAREDPROPERTIES.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaPropertyInfo> getProperties() {
+        try {
+            return (Iterable<OdmaPropertyInfo>)getProperty(OdmaCommonNames.PROPERTY_PROPERTIES).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_PROPERTIES.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_PROPERTIES.toString());
+        }
+    }
+
+    @Override
+    default Boolean isAspect() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_ASPECT).getBoolean();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_ASPECT.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_ASPECT.toString());
+        }
+    }
+
+    @Override
+    default Boolean isHidden() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_HIDDEN).getBoolean();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_HIDDEN.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_HIDDEN.toString());
+        }
+    }
+
+    @Override
+    default void setHidden(Boolean newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_HIDDEN,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_HIDDEN.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_HIDDEN.toString());
+        }
+    }
+
+    @Override
+    default Boolean isSystem() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_SYSTEM).getBoolean();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_SYSTEM.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_SYSTEM.toString());
+        }
+    }
+
+    @Override
+    default void setSystem(Boolean newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_SYSTEM,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_SYSTEM.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_SYSTEM.toString());
+        }
+    }
+
+    @Override
+    default Boolean isRetrievable() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_RETRIEVABLE).getBoolean();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_RETRIEVABLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_RETRIEVABLE.toString());
+        }
+    }
+
+    @Override
+    default Boolean isSearchable() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_SEARCHABLE).getBoolean();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_SEARCHABLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_SEARCHABLE.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaClass> getSubClasses() {
+        try {
+            return (Iterable<OdmaClass>)getProperty(OdmaCommonNames.PROPERTY_SUBCLASSES).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_SUBCLASSES.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_SUBCLASSES.toString());
+        }
+    }
+
+    @Override
+    default OdmaQName getQName() {
+        return new OdmaQName(getNamespace(),getName());
+    }
+
+}
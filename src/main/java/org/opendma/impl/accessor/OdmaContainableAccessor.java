@@ -0,0 +1,45 @@
+package org.opendma.impl.accessor;
+
+import org.opendma.api.OdmaAssociation;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaContainable;
+import org.opendma.api.OdmaContainer;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaContainable}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaContainableAccessor extends OdmaContainable, OdmaObjectAccessor {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaContainer> getContainedIn() {
+        try {
+            return (Iterable<OdmaContainer>)getProperty(OdmaCommonNames.PROPERTY_CONTAINEDIN).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTAINEDIN.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTAINEDIN.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaAssociation> getContainedInAssociations() {
+        try {
+            return (Iterable<OdmaAssociation>)getProperty(OdmaCommonNames.PROPERTY_CONTAINEDINASSOCIATIONS).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTAINEDINASSOCIATIONS.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTAINEDINASSOCIATIONS.toString());
+        }
+    }
+
+}
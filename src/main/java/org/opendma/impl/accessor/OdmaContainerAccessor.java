@@ -0,0 +1,72 @@
+package org.opendma.impl.accessor;
+
+import org.opendma.api.OdmaAssociation;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaContainable;
+import org.opendma.api.OdmaContainer;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaContainer}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaContainerAccessor extends OdmaContainer, OdmaObjectAccessor {
+
+    @Override
+    default String getTitle() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_TITLE).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+    }
+
+    @Override
+    default void setTitle(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_TITLE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaContainable> getContainees() {
+        try {
+            return (Iterable<OdmaContainable>)getProperty(OdmaCommonNames.PROPERTY_CONTAINEES).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTAINEES.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTAINEES.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaAssociation> getAssociations() {
+        try {
+            return (Iterable<OdmaAssociation>)getProperty(OdmaCommonNames.PROPERTY_ASSOCIATIONS).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_ASSOCIATIONS.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_ASSOCIATIONS.toString());
+        }
+    }
+
+}
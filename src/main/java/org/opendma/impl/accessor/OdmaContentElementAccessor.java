@@ -0,0 +1,55 @@
+package org.opendma.impl.accessor;
+
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaContentElement;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaContentElement}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaContentElementAccessor extends OdmaContentElement, OdmaObjectAccessor {
+
+    @Override
+    default String getContentType() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_CONTENTTYPE).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTENTTYPE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTENTTYPE.toString());
+        }
+    }
+
+    @Override
+    default void setContentType(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_CONTENTTYPE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTENTTYPE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTENTTYPE.toString());
+        }
+    }
+
+    @Override
+    default Integer getPosition() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_POSITION).getInteger();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_POSITION.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_POSITION.toString());
+        }
+    }
+
+}
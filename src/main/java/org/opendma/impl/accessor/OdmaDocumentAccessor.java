@@ -0,0 +1,205 @@
+package org.opendma.impl.accessor;
+
+import java.util.Date;
+
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaContentElement;
+import org.opendma.api.OdmaDocument;
+import org.opendma.api.OdmaGuid;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaVersionCollection;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Accessor mix-in implementing all property shortcuts of <code>{@link OdmaDocument}</code>
+ * as direct calls to <code>getProperty(qname)</code> on the wrapped core object.
+ */
+interface OdmaDocumentAccessor extends OdmaDocument, OdmaObjectAccessor {
+
+    @Override
+    default String getTitle() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_TITLE).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+    }
+
+    @Override
+    default void setTitle(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_TITLE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_TITLE.toString());
+        }
+    }
+
+    @Override
+    default String getVersion() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_VERSION).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_VERSION.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_VERSION.toString());
+        }
+    }
+
+    @Override
+    default OdmaVersionCollection getVersionCollection() {
+        try {
+            return (OdmaVersionCollection)getProperty(OdmaCommonNames.PROPERTY_VERSIONCOLLECTION).getReference();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_VERSIONCOLLECTION.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_VERSIONCOLLECTION.toString());
+        }
+    }
+
+    @Override
+    default OdmaId getVersionIndependentId() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_VERSIONINDEPENDENTID).getId();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_VERSIONINDEPENDENTID.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_VERSIONINDEPENDENTID.toString());
+        }
+    }
+
+    @Override
+    default OdmaGuid getVersionIndependentGuid() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_VERSIONINDEPENDENTGUID).getGuid();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_VERSIONINDEPENDENTGUID.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_VERSIONINDEPENDENTGUID.toString());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Iterable<OdmaContentElement> getContentElements() {
+        try {
+            return (Iterable<OdmaContentElement>)getProperty(OdmaCommonNames.PROPERTY_CONTENTELEMENTS).getReferenceIterable();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CONTENTELEMENTS.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CONTENTELEMENTS.toString());
+        }
+    }
+
+    @Override
+    default String getCombinedContentType() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_COMBINEDCONTENTTYPE).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_COMBINEDCONTENTTYPE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_COMBINEDCONTENTTYPE.toString());
+        }
+    }
+
+    @Override
+    default void setCombinedContentType(String newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_COMBINEDCONTENTTYPE,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_COMBINEDCONTENTTYPE.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_COMBINEDCONTENTTYPE.toString());
+        }
+    }
+
+    @Override
+    default OdmaContentElement getPrimaryContentElement() {
+        try {
+            return (OdmaContentElement)getProperty(OdmaCommonNames.PROPERTY_PRIMARYCONTENTELEMENT).getReference();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_PRIMARYCONTENTELEMENT.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_PRIMARYCONTENTELEMENT.toString());
+        }
+    }
+
+    @Override
+    default void setPrimaryContentElement(OdmaContentElement newValue) throws OdmaAccessDeniedException {
+        try {
+            setProperty(OdmaCommonNames.PROPERTY_PRIMARYCONTENTELEMENT,newValue);
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_PRIMARYCONTENTELEMENT.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_PRIMARYCONTENTELEMENT.toString());
+        }
+    }
+
+    @Override
+    default Boolean isCheckedOut() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_CHECKEDOUT).getBoolean();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CHECKEDOUT.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CHECKEDOUT.toString());
+        }
+    }
+
+    @Override
+    default Date getCheckedOutAt() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_CHECKEDOUTAT).getDateTime();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CHECKEDOUTAT.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CHECKEDOUTAT.toString());
+        }
+    }
+
+    @Override
+    default String getCheckedOutBy() {
+        try {
+            return getProperty(OdmaCommonNames.PROPERTY_CHECKEDOUTBY).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+OdmaCommonNames.PROPERTY_CHECKEDOUTBY.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+OdmaCommonNames.PROPERTY_CHECKEDOUTBY.toString());
+        }
+    }
+
+}
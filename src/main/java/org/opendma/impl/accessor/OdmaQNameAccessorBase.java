@@ -0,0 +1,66 @@
+package org.opendma.impl.accessor;
+
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaCoreObject;
+import org.opendma.api.OdmaPropertySelection;
+import org.opendma.api.OdmaQName;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.exceptions.OdmaServiceException;
+
+/**
+ * Base of accessor classes for classes and property infos. Builds the qualified name on first access,
+ * holds it and resets it whenever the name or namespace of the wrapped core object may have changed.
+ */
+abstract class OdmaQNameAccessorBase extends OdmaAccessorBase {
+
+    /** the qualified name, built on first access */
+    protected OdmaQName qname;
+
+    protected OdmaQNameAccessorBase(OdmaCoreObject coreObject) {
+        super(coreObject);
+    }
+
+    public OdmaQName getQName() {
+        OdmaQName result = qname;
+        if(result == null) {
+            result = new OdmaQName(getStringProperty(OdmaCommonNames.PROPERTY_NAMESPACE), getStringProperty(OdmaCommonNames.PROPERTY_NAME));
+            qname = result;
+        }
+        return result;
+    }
+
+    @Override
+    public void prepareProperties(OdmaQName[] propertyNames, boolean refresh) {
+        super.prepareProperties(propertyNames, refresh);
+        qname = null;
+    }
+
+    @Override
+    public void prepareSelectedProperties(OdmaPropertySelection propertySelection, boolean refresh) {
+        super.prepareSelectedProperties(propertySelection, refresh);
+        qname = null;
+    }
+
+    @Override
+    public void setProperty(OdmaQName propertyName, Object newValue) throws OdmaPropertyNotFoundException, OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        super.setProperty(propertyName, newValue);
+        if(OdmaCommonNames.PROPERTY_NAME.equals(propertyName) || OdmaCommonNames.PROPERTY_NAMESPACE.equals(propertyName)) {
+            qname = null;
+        }
+    }
+
+    private String getStringProperty(OdmaQName propertyName) {
+        try {
+            return getProperty(propertyName).getString();
+        }
+        catch(OdmaPropertyNotFoundException pnfe) {
+            throw new OdmaServiceException("Predefined OpenDMA property missing: "+propertyName.toString());
+        }
+        catch(OdmaInvalidDataTypeException idte) {
+            throw new OdmaServiceException("Predefined OpenDMA property has wrong type or cardinality: "+propertyName.toString());
+        }
+    }
+
+}
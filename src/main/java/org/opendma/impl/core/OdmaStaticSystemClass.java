@@ -93,6 +93,7 @@ public abstract class OdmaStaticSystemClass extends OdmaStaticSystemObject imple
     public void setName(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAME).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -141,6 +142,7 @@ public abstract class OdmaStaticSystemClass extends OdmaStaticSystemObject imple
     public void setNamespace(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAMESPACE).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -482,6 +484,9 @@ public abstract class OdmaStaticSystemClass extends OdmaStaticSystemObject imple
         }
     }
 
+    /** the qualified name of this class, built on first access and reset by the name and namespace setters */
+    private OdmaQName qname;
+
     /**
      * the qualified name of this class<br>
      * <p>A convenience shortcut to getting the name and namespace separately</p>
@@ -489,7 +494,12 @@ public abstract class OdmaStaticSystemClass extends OdmaStaticSystemObject imple
      * @return the qualified name of this class
      */
     public OdmaQName getQName() {
-        return new OdmaQName(getNamespace(),getName());
+        OdmaQName result = qname;
+        if(result == null) {
+            result = new OdmaQName(getNamespace(),getName());
+            qname = result;
+        }
+        return result;
     }
 
 }
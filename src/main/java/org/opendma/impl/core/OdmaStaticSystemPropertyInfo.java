@@ -62,6 +62,7 @@ public class OdmaStaticSystemPropertyInfo extends OdmaStaticSystemObject impleme
     public void setName(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAME).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -110,6 +111,7 @@ public class OdmaStaticSystemPropertyInfo extends OdmaStaticSystemObject impleme
     public void setNamespace(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAMESPACE).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -520,6 +522,9 @@ public class OdmaStaticSystemPropertyInfo extends OdmaStaticSystemObject impleme
         }
     }
 
+    /** the qualified name of this property, built on first access and reset by the name and namespace setters */
+    private OdmaQName qname;
+
     /**
      * the qualified name of this class<br>
      * <p>A convenience shortcut to getting the name and namespace separately</p>
@@ -527,7 +532,12 @@ public class OdmaStaticSystemPropertyInfo extends OdmaStaticSystemObject impleme
      * @return the qualified name of this class
      */
     public OdmaQName getQName() {
-        return new OdmaQName(getNamespace(),getName());
+        OdmaQName result = qname;
+        if(result == null) {
+            result = new OdmaQName(getNamespace(),getName());
+            qname = result;
+        }
+        return result;
     }
 
 }
@@ -0,0 +1,202 @@
+package org.opendma.impl.property;
+
+import java.nio.ByteBuffer;
+
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for single valued <i>Binary</i> properties.
+ * The value is held in its native type. Data type and cardinality are checked once when the value is
+ * set, not on every read.<p>
+ * 
+ * The value can also be set to a <code>ByteBuffer</code>, heap or direct, without copying it. The buffer
+ * is kept as a read-only view and handed out by <code>{@link #getBinaryBuffer()}</code>. In this case, each
+ * call to <code>{@link #getBinary()}</code> or <code>{@link #getValue()}</code> returns a new <code>byte[]</code>
+ * copy, so modifying it cannot make the two views disagree.
+ */
+public final class OdmaBinaryProperty extends OdmaPropertyBase {
+
+    /**
+     * the value of this property, a <code>byte[]</code>, a read-only <code>ByteBuffer</code> view if set from a
+     * buffer, or <code>null</code>. A single volatile field, so both representations are published together
+     * and reads need no lock.
+     */
+    private volatile Object value;
+
+    /**
+     * Create a new <code>OdmaBinaryProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaBinaryProperty(OdmaQName name, byte[] value, boolean readOnly) {
+        super(name, null, OdmaType.BINARY, false, readOnly);
+        this.value = value;
+    }
+
+    private OdmaBinaryProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.BINARY, false, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaBinaryProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaBinaryProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaBinaryProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaBinaryProperty property = new OdmaBinaryProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new <code>OdmaBinaryProperty</code> with the remaining bytes of the given buffer as value,
+     * without copying them. The buffer can be direct to keep large values off the heap. The caller must
+     * not modify the content of the buffer afterwards.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The buffer holding the value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaBinaryProperty</code> with the given value.
+     */
+    public static OdmaBinaryProperty fromBuffer(OdmaQName name, ByteBuffer value, boolean readOnly) {
+        OdmaBinaryProperty property = new OdmaBinaryProperty(name, (byte[])null, readOnly);
+        property.value = value == null ? null : value.slice().asReadOnlyBuffer();
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaBinaryProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaBinaryProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaBinaryProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaBinaryProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        return getBinary();
+    }
+
+    @Override
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            value = null;
+        } else if(newValue instanceof byte[]) {
+            value = newValue;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a single-valued Binary data type. It can only be set to values assignable to `byte[]`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the <code>Binary</code> value of this property. Returns a new copy on each call if the value
+     * has been set from a <code>ByteBuffer</code>.
+     * 
+     * @return the <code>Binary</code> value of this property
+     */
+    @Override
+    public byte[] getBinary() {
+        enforceValue();
+        Object current = value;
+        if(current instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer)current;
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            return copy;
+        }
+        return (byte[])current;
+    }
+
+    /**
+     * Returns a read-only view of the <code>Binary</code> value of this property without copying it.
+     * 
+     * @return a read-only view of the <code>Binary</code> value of this property, or <code>null</code>
+     */
+    @Override
+    public ByteBuffer getBinaryBuffer() {
+        enforceValue();
+        Object current = value;
+        if(current instanceof ByteBuffer) {
+            return ((ByteBuffer)current).duplicate();
+        }
+        return current == null ? null : ByteBuffer.wrap((byte[])current).asReadOnlyBuffer();
+    }
+
+    /**
+     * Set the value of this property to the remaining bytes of the given buffer without copying them.
+     * The caller must not modify the content of the buffer afterwards.
+     * 
+     * @param newValue
+     *            the new value to set this property to, or <code>null</code>.
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this OdmaProperty is read-only
+     */
+    @Override
+    public void setBinaryBuffer(ByteBuffer newValue) throws OdmaAccessDeniedException {
+        if(readOnly) {
+            throw new OdmaAccessDeniedException();
+        }
+        lockValue();
+        try {
+            value = newValue == null ? null : newValue.slice().asReadOnlyBuffer();
+            dirty = true;
+            valueProvider = null;
+        } finally {
+            unlockValue();
+        }
+    }
+
+}
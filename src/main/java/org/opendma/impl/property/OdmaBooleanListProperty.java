@@ -0,0 +1,141 @@
+package org.opendma.impl.property;
+
+import java.util.List;
+
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaBooleanArrayList;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for multi valued <i>Boolean</i> properties.
+ * The values are held unboxed in an <code>{@link OdmaBooleanArrayList}</code>. Other lists are copied into one
+ * when set. Data type and cardinality are checked once when the value is set, not on every read.
+ */
+public final class OdmaBooleanListProperty extends OdmaPropertyBase {
+
+    /** the value of this property */
+    private OdmaBooleanArrayList value;
+
+    /**
+     * Create a new <code>OdmaBooleanListProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property. Copied unless it is an <code>OdmaBooleanArrayList</code>.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaBooleanListProperty(OdmaQName name, List<Boolean> value, boolean readOnly) {
+        super(name, null, OdmaType.BOOLEAN, true, readOnly);
+        if(value == null) {
+            throw new IllegalArgumentException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        this.value = value instanceof OdmaBooleanArrayList ? (OdmaBooleanArrayList)value : new OdmaBooleanArrayList(value);
+    }
+
+    private OdmaBooleanListProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.BOOLEAN, true, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaBooleanListProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaBooleanListProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaBooleanListProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaBooleanListProperty property = new OdmaBooleanListProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaBooleanListProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaBooleanListProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaBooleanListProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaBooleanListProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        enforceValue();
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            throw new OdmaInvalidDataTypeException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        if(newValue instanceof OdmaBooleanArrayList) {
+            value = (OdmaBooleanArrayList)newValue;
+        } else if(checkListAndValues(newValue, Boolean.class)) {
+            value = new OdmaBooleanArrayList((List<Boolean>)newValue);
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a multi-valued Boolean data type. It can only be set to values assignable to `List<Boolean>`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the <code>Boolean</code> value of this property.
+     * 
+     * @return the <code>Boolean</code> value of this property
+     */
+    @Override
+    public List<Boolean> getBooleanList() {
+        enforceValue();
+        return value;
+    }
+
+    /**
+     * Returns a copy of the values of this property as <code>boolean[]</code>.
+     * 
+     * @return the values of this property
+     */
+    public boolean[] getBooleanArray() {
+        enforceValue();
+        return value.toBooleanArray();
+    }
+
+}
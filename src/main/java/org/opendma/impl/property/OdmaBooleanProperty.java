@@ -0,0 +1,182 @@
+package org.opendma.impl.property;
+
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for single valued <i>Boolean</i> properties.
+ * The value is held as primitive <code>boolean</code>. The primitive accessors read and write it
+ * without boxing.
+ */
+public final class OdmaBooleanProperty extends OdmaPropertyBase {
+
+    /** the value of this property, undefined if <code>isNull</code> is set */
+    private boolean value;
+
+    /** flag indicating if the value of this property is <code>null</code> */
+    private boolean isNull;
+
+    /**
+     * Create a new <code>OdmaBooleanProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaBooleanProperty(OdmaQName name, boolean value, boolean readOnly) {
+        super(name, null, OdmaType.BOOLEAN, false, readOnly);
+        this.value = value;
+    }
+
+    /**
+     * Create a new <code>OdmaBooleanProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property. Can be <code>null</code>.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaBooleanProperty(OdmaQName name, Boolean value, boolean readOnly) {
+        super(name, null, OdmaType.BOOLEAN, false, readOnly);
+        if(value == null) {
+            this.isNull = true;
+        } else {
+            this.value = value.booleanValue();
+        }
+    }
+
+    private OdmaBooleanProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.BOOLEAN, false, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaBooleanProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaBooleanProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaBooleanProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaBooleanProperty property = new OdmaBooleanProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaBooleanProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaBooleanProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaBooleanProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaBooleanProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        return getBoolean();
+    }
+
+    @Override
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            isNull = true;
+        } else if(newValue instanceof Boolean) {
+            value = ((Boolean)newValue).booleanValue();
+            isNull = false;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a single-valued Boolean data type. It can only be set to values assignable to `Boolean`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Set the value of this property to the given <code>boolean</code> without boxing.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this property is read only
+     */
+    @Override
+    public void setBooleanValue(boolean newValue) throws OdmaAccessDeniedException {
+        if(readOnly) {
+            throw new OdmaAccessDeniedException();
+        }
+        lockValue();
+        try {
+            value = newValue;
+            isNull = false;
+            dirty = true;
+            valueProvider = null;
+        } finally {
+            unlockValue();
+        }
+    }
+
+    /**
+     * Returns the <code>Boolean</code> value of this property.
+     * 
+     * @return the <code>Boolean</code> value of this property
+     */
+    @Override
+    public Boolean getBoolean() {
+        enforceValue();
+        return isNull ? null : Boolean.valueOf(value);
+    }
+
+    /**
+     * Returns <code>true</code> if and only if the value of this property is <code>true</code>.
+     * 
+     * @return <code>true</code> if and only if the value of this property is <code>true</code>
+     */
+    @Override
+    public boolean isTrue() {
+        enforceValue();
+        return !isNull && value;
+    }
+
+}
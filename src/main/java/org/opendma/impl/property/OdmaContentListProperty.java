@@ -0,0 +1,129 @@
+package org.opendma.impl.property;
+
+import java.util.List;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for multi valued <i>Content</i> properties.
+ * The value is held in its native type. Data type and cardinality are checked once when the value is
+ * set, not on every read.
+ */
+public final class OdmaContentListProperty extends OdmaPropertyBase {
+
+    /** the value of this property */
+    private List<OdmaContent> value;
+
+    /**
+     * Create a new <code>OdmaContentListProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaContentListProperty(OdmaQName name, List<OdmaContent> value, boolean readOnly) {
+        super(name, null, OdmaType.CONTENT, true, readOnly);
+        if(value == null) {
+            throw new IllegalArgumentException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        this.value = value;
+    }
+
+    private OdmaContentListProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.CONTENT, true, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaContentListProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaContentListProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaContentListProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaContentListProperty property = new OdmaContentListProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaContentListProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaContentListProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaContentListProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaContentListProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        enforceValue();
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            throw new OdmaInvalidDataTypeException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        if(checkListAndValues(newValue, OdmaContent.class)) {
+            value = (List<OdmaContent>)newValue;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a multi-valued Content data type. It can only be set to values assignable to `List<OdmaContent>`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the <code>Content</code> value of this property.
+     * 
+     * @return the <code>Content</code> value of this property
+     */
+    @Override
+    public List<OdmaContent> getContentList() {
+        enforceValue();
+        return value;
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.opendma.impl.property;
+
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for single valued <i>Content</i> properties.
+ * The value is held in its native type. Data type and cardinality are checked once when the value is
+ * set, not on every read.
+ */
+public final class OdmaContentProperty extends OdmaPropertyBase {
+
+    /** the value of this property */
+    private OdmaContent value;
+
+    /**
+     * Create a new <code>OdmaContentProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaContentProperty(OdmaQName name, OdmaContent value, boolean readOnly) {
+        super(name, null, OdmaType.CONTENT, false, readOnly);
+        this.value = value;
+    }
+
+    private OdmaContentProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.CONTENT, false, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaContentProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaContentProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaContentProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaContentProperty property = new OdmaContentProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaContentProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaContentProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaContentProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaContentProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        enforceValue();
+        return value;
+    }
+
+    @Override
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            value = null;
+            dirty = true;
+            return;
+        }
+        if(newValue instanceof OdmaContent) {
+            value = (OdmaContent)newValue;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a single-valued Content data type. It can only be set to values assignable to `OdmaContent`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the <code>Content</code> value of this property.
+     * 
+     * @return the <code>Content</code> value of this property
+     */
+    @Override
+    public OdmaContent getContent() {
+        enforceValue();
+        return value;
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.opendma.impl.property;
+
+import java.util.Date;
+import java.util.List;
+
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for multi valued <i>DateTime</i> properties.
+ * The value is held in its native type. Data type and cardinality are checked once when the value is
+ * set, not on every read.
+ */
+public final class OdmaDateTimeListProperty extends OdmaPropertyBase {
+
+    /** the value of this property */
+    private List<Date> value;
+
+    /**
+     * Create a new <code>OdmaDateTimeListProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaDateTimeListProperty(OdmaQName name, List<Date> value, boolean readOnly) {
+        super(name, null, OdmaType.DATETIME, true, readOnly);
+        if(value == null) {
+            throw new IllegalArgumentException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        this.value = value;
+    }
+
+    private OdmaDateTimeListProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.DATETIME, true, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaDateTimeListProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaDateTimeListProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaDateTimeListProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaDateTimeListProperty property = new OdmaDateTimeListProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaDateTimeListProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaDateTimeListProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaDateTimeListProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaDateTimeListProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        enforceValue();
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            throw new OdmaInvalidDataTypeException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        if(checkListAndValues(newValue, Date.class)) {
+            value = (List<Date>)newValue;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a multi-valued DateTime data type. It can only be set to values assignable to `List<Date>`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the <code>DateTime</code> value of this property.
+     * 
+     * @return the <code>DateTime</code> value of this property
+     */
+    @Override
+    public List<Date> getDateTimeList() {
+        enforceValue();
+        return value;
+    }
+
+}
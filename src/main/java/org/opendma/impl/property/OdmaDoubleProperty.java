@@ -0,0 +1,188 @@
+package org.opendma.impl.property;
+
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for single valued <i>Double</i> properties.
+ * The value is held as primitive <code>double</code>. The primitive accessors read and write it
+ * without boxing.
+ */
+public final class OdmaDoubleProperty extends OdmaPropertyBase {
+
+    /** the value of this property, undefined if <code>isNull</code> is set */
+    private double value;
+
+    /** flag indicating if the value of this property is <code>null</code> */
+    private boolean isNull;
+
+    /**
+     * Create a new <code>OdmaDoubleProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaDoubleProperty(OdmaQName name, double value, boolean readOnly) {
+        super(name, null, OdmaType.DOUBLE, false, readOnly);
+        this.value = value;
+    }
+
+    /**
+     * Create a new <code>OdmaDoubleProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property. Can be <code>null</code>.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaDoubleProperty(OdmaQName name, Double value, boolean readOnly) {
+        super(name, null, OdmaType.DOUBLE, false, readOnly);
+        if(value == null) {
+            this.isNull = true;
+        } else {
+            this.value = value.doubleValue();
+        }
+    }
+
+    private OdmaDoubleProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.DOUBLE, false, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaDoubleProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaDoubleProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaDoubleProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaDoubleProperty property = new OdmaDoubleProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaDoubleProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaDoubleProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaDoubleProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaDoubleProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        return getDouble();
+    }
+
+    @Override
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            isNull = true;
+        } else if(newValue instanceof Double) {
+            value = ((Double)newValue).doubleValue();
+            isNull = false;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a single-valued Double data type. It can only be set to values assignable to `Double`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Set the value of this property to the given <code>double</code> without boxing.
+     * 
+     * @param newValue
+     *            the new value to set this property to.
+     * 
+     * @throws OdmaAccessDeniedException
+     *             if this property is read only
+     */
+    @Override
+    public void setDoubleValue(double newValue) throws OdmaAccessDeniedException {
+        if(readOnly) {
+            throw new OdmaAccessDeniedException();
+        }
+        lockValue();
+        try {
+            value = newValue;
+            isNull = false;
+            dirty = true;
+            valueProvider = null;
+        } finally {
+            unlockValue();
+        }
+    }
+
+    /**
+     * Returns the <code>Double</code> value of this property.
+     * 
+     * @return the <code>Double</code> value of this property
+     */
+    @Override
+    public Double getDouble() {
+        enforceValue();
+        return isNull ? null : Double.valueOf(value);
+    }
+
+    /**
+     * Returns the <code>double</code> value of this property without boxing.
+     * 
+     * @return the <code>double</code> value of this property
+     * 
+     * @throws NullPointerException
+     *             if the value of this property is <code>null</code>
+     */
+    @Override
+    public double getDoubleValue() {
+        enforceValue();
+        if(isNull) {
+            throw new NullPointerException("The value of property "+name+" is null");
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.opendma.impl.property;
+
+import java.util.List;
+
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for multi valued <i>Reference</i> properties.
+ * The value is held in its native type. Data type and cardinality are checked once when the value is
+ * set, not on every read.
+ */
+public final class OdmaReferenceIterableProperty extends OdmaPropertyBase {
+
+    /** the value of this property */
+    private Iterable<? extends OdmaObject> value;
+
+    /**
+     * Create a new <code>OdmaReferenceIterableProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaReferenceIterableProperty(OdmaQName name, Iterable<? extends OdmaObject> value, boolean readOnly) {
+        super(name, null, OdmaType.REFERENCE, true, readOnly);
+        if(value == null) {
+            throw new IllegalArgumentException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        this.value = value;
+    }
+
+    private OdmaReferenceIterableProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.REFERENCE, true, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaReferenceIterableProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaReferenceIterableProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaReferenceIterableProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaReferenceIterableProperty property = new OdmaReferenceIterableProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaReferenceIterableProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaReferenceIterableProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaReferenceIterableProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaReferenceIterableProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        enforceValue();
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            throw new OdmaInvalidDataTypeException("Multi-valued properties must not be `null`. If a value is not required, the collection can be empty.");
+        }
+        if(newValue instanceof Iterable<?>) {
+            value = (Iterable<? extends OdmaObject>)newValue;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a multi-valued Reference data type. It can only be set to values assignable to `Iterable<OdmaObject>`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the <code>Reference</code> value of this property.
+     * 
+     * @return the <code>Reference</code> value of this property
+     */
+    @Override
+    public Iterable<? extends OdmaObject> getReferenceIterable() {
+        enforceValue();
+        return value;
+    }
+
+    /**
+     * Returns the <code>OdmaId</code>s of the objects referenced by this property.
+     * 
+     * Based on the PropertyResolutionState, it is possible that these OdmaIds are immediately available
+     * while the referenced OdmaObjects require additional round-trips to the server.
+     * 
+     * @return the <code>OdmaId</code>s of the objects referenced by this property
+     */
+    @Override
+    public List<OdmaId> getReferenceIdList() {
+        OdmaLazyPropertyValueProvider provider = valueProvider;
+        if(provider != null && provider.hasReferenceIds()) {
+            return provider.getReferenceIds();
+        }
+        enforceValue();
+        return referenceIds(value);
+    }
+
+}
@@ -0,0 +1,144 @@
+package org.opendma.impl.property;
+
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyBase;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+/**
+ * Implementation of the <code>OdmaProperty</code> interface for single valued <i>Reference</i> properties.
+ * The value is held in its native type. Data type and cardinality are checked once when the value is
+ * set, not on every read.
+ */
+public final class OdmaReferenceProperty extends OdmaPropertyBase {
+
+    /** the value of this property */
+    private OdmaObject value;
+
+    /**
+     * Create a new <code>OdmaReferenceProperty</code> with the given value.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     */
+    public OdmaReferenceProperty(OdmaQName name, OdmaObject value, boolean readOnly) {
+        super(name, null, OdmaType.REFERENCE, false, readOnly);
+        this.value = value;
+    }
+
+    private OdmaReferenceProperty(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        super(name, valueProvider, OdmaType.REFERENCE, false, readOnly);
+    }
+
+    /**
+     * Create a new <code>OdmaReferenceProperty</code> with the given value after checking it matches the data type and
+     * cardinality of this property.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param value
+     *     The value of this property.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaReferenceProperty</code> with the given value.
+     * 
+     * @throws OdmaInvalidDataTypeException
+     *             if and only if the Class of the given Object does not match
+     *             the data type of this property
+     */
+    public static OdmaReferenceProperty fromValue(OdmaQName name, Object value, boolean readOnly) throws OdmaInvalidDataTypeException {
+        OdmaReferenceProperty property = new OdmaReferenceProperty(name, (OdmaLazyPropertyValueProvider)null, readOnly);
+        property.setValueInternal(value);
+        property.dirty = false;
+        return property;
+    }
+
+    /**
+     * Create a new lazily resolved <code>OdmaReferenceProperty</code> from the given <code>OdmaLazyPropertyValueProvider</code>.
+     * 
+     * @param name
+     *     The name of this property.
+     *     
+     * @param valueProvider
+     *     The provider of the propertie's value for lazy resolution.
+     *     
+     * @param readOnly
+     *     Flag if this property is read only.
+     * 
+     * @return the constructed <code>OdmaReferenceProperty</code> with the given <code>OdmaLazyPropertyValueProvider</code>.
+     */
+    public static OdmaReferenceProperty fromValueProvider(OdmaQName name, OdmaLazyPropertyValueProvider valueProvider, boolean readOnly) {
+        if(valueProvider == null) {
+            throw new IllegalArgumentException("valueProvider must not be null");
+        }
+        return new OdmaReferenceProperty(name, valueProvider, readOnly);
+    }
+
+    /**
+     * Returns the value of this property.
+     * 
+     * @return the value of this property.
+     */
+    @Override
+    public Object getValue() {
+        enforceValue();
+        return value;
+    }
+
+    @Override
+    public void setValueInternal(Object newValue) throws OdmaInvalidDataTypeException {
+        if(newValue == null) {
+            value = null;
+            dirty = true;
+            return;
+        }
+        if(newValue instanceof OdmaObject) {
+            value = (OdmaObject)newValue;
+        } else {
+            throw new OdmaInvalidDataTypeException("This property has a single-valued Reference data type. It can only be set to values assignable to `OdmaObject`");
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the <code>Reference</code> value of this property.
+     * 
+     * @return the <code>Reference</code> value of this property
+     */
+    @Override
+    public OdmaObject getReference() {
+        enforceValue();
+        return value;
+    }
+
+    /**
+     * Returns the <code>OdmaId</code> of the <code>Reference</code> value of this property.
+     * 
+     * Based on the PropertyResolutionState, it is possible that this OdmaId is immediately available
+     * while the OdmaObject requires an additional round-trip to the server.
+     * 
+     * @return the <code>OdmaId</code> of the <code>Reference</code> value of this property
+     */
+    @Override
+    public OdmaId getReferenceId() {
+        OdmaLazyPropertyValueProvider provider = valueProvider;
+        if(provider != null && provider.hasReferenceId()) {
+            return provider.getReferenceId();
+        }
+        enforceValue();
+        return value == null ? null : value.getId();
+    }
+
+}
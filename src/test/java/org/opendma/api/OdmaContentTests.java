@@ -0,0 +1,256 @@
+package org.opendma.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class OdmaContentTests {
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; i++) {
+            data[i] = (byte)(i % 251);
+        }
+        return data;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1000];
+            int read;
+            while((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Content only implementing the required methods. Counts the bytes read from its streams.
+     */
+    private static class StreamContent implements OdmaContent {
+
+        final byte[] data;
+
+        int bytesRead;
+
+        StreamContent(byte[] data) {
+            this.data = data;
+        }
+
+        public InputStream getStream() {
+            return new ByteArrayInputStream(data) {
+                public synchronized int read() {
+                    int b = super.read();
+                    if(b >= 0) {
+                        bytesRead++;
+                    }
+                    return b;
+                }
+                public synchronized int read(byte[] b, int off, int len) {
+                    int read = super.read(b, off, len);
+                    if(read > 0) {
+                        bytesRead += read;
+                    }
+                    return read;
+                }
+            };
+        }
+
+        public long getSize() {
+            return data.length;
+        }
+
+    }
+
+    /**
+     * Content with a seekable channel. Counts the bytes read from its channels.
+     */
+    private static class SeekableContent extends StreamContent {
+
+        SeekableContent(byte[] data) {
+            super(data);
+        }
+
+        public ReadableByteChannel getChannel() {
+            return new SeekableByteChannel() {
+                private long position;
+                private boolean open = true;
+                public int read(ByteBuffer dst) {
+                    if(position >= data.length) {
+                        return -1;
+                    }
+                    int read = (int)Math.min(dst.remaining(), data.length - position);
+                    dst.put(data, (int)position, read);
+                    position += read;
+                    bytesRead += read;
+                    return read;
+                }
+                public int write(ByteBuffer src) throws IOException {
+                    throw new IOException("read only");
+                }
+                public long position() {
+                    return position;
+                }
+                public SeekableByteChannel position(long newPosition) {
+                    position = newPosition;
+                    return this;
+                }
+                public long size() {
+                    return data.length;
+                }
+                public SeekableByteChannel truncate(long size) throws IOException {
+                    throw new IOException("read only");
+                }
+                public boolean isOpen() {
+                    return open;
+                }
+                public void close() {
+                    open = false;
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Target in non-blocking mode accepting the given number of bytes in total, then no more.
+     */
+    private static class LimitedTarget implements WritableByteChannel {
+
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        int capacity;
+
+        int writeCalls;
+
+        LimitedTarget(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int write(ByteBuffer src) {
+            writeCalls++;
+            int count = Math.min(src.remaining(), capacity);
+            for(int i = 0; i < count; i++) {
+                written.write(src.get());
+            }
+            capacity -= count;
+            return count;
+        }
+
+        public boolean isOpen() {
+            return true;
+        }
+
+        public void close() {
+        }
+
+    }
+
+    @Test
+    public void testDefaultChannelReadsTheStream() throws IOException {
+        byte[] data = data(100000);
+        StreamContent content = new StreamContent(data);
+        assertArrayEquals(data, readAll(Channels.newInputStream(content.getChannel())));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(data.length, content.transferTo(Channels.newChannel(out)));
+        assertArrayEquals(data, out.toByteArray());
+        out.reset();
+        assertEquals(0, new StreamContent(new byte[0]).transferTo(Channels.newChannel(out)));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void testTransferStopsAtFullNonBlockingTarget() throws IOException {
+        byte[] data = data(200000);
+        LimitedTarget target = new LimitedTarget(70000);
+        assertEquals(70000, new StreamContent(data).transferTo(target));
+        assertArrayEquals(Arrays.copyOf(data, 70000), target.written.toByteArray());
+        assertTrue(target.writeCalls < 10);
+        target.capacity = Integer.MAX_VALUE;
+        assertEquals(130000, new StreamContent(data).transferTo(70000, -1, target));
+        assertArrayEquals(data, target.written.toByteArray());
+    }
+
+    @Test
+    public void testRangesOfStreamContent() throws IOException {
+        byte[] data = data(200000);
+        assertArrayEquals(data, readAll(new StreamContent(data).getStream(0, -1)));
+        assertArrayEquals(Arrays.copyOfRange(data, 0, 10), readAll(new StreamContent(data).getStream(0, 10)));
+        assertArrayEquals(Arrays.copyOfRange(data, 150000, 150010), readAll(new StreamContent(data).getStream(150000, 10)));
+        assertArrayEquals(Arrays.copyOfRange(data, 199990, 200000), readAll(new StreamContent(data).getStream(199990, 100)));
+        assertArrayEquals(Arrays.copyOfRange(data, 70000, 200000), readAll(new StreamContent(data).getStream(70000, -1)));
+        assertArrayEquals(new byte[0], readAll(new StreamContent(data).getStream(100, 0)));
+        assertArrayEquals(new byte[0], readAll(new StreamContent(data).getStream(200000, 10)));
+        assertArrayEquals(new byte[0], readAll(new StreamContent(data).getStream(300000, -1)));
+    }
+
+    @Test
+    public void testSeekableChannelsArePositioned() throws IOException {
+        byte[] data = data(200000);
+        SeekableContent content = new SeekableContent(data);
+        assertArrayEquals(Arrays.copyOfRange(data, 150000, 150010), readAll(content.getStream(150000, 10)));
+        assertEquals(10, content.bytesRead);
+        content.bytesRead = 0;
+        assertArrayEquals(new byte[0], readAll(content.getStream(300000, -1)));
+        assertEquals(0, content.bytesRead);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1000, content.transferTo(199000, 5000, Channels.newChannel(out)));
+        assertArrayEquals(Arrays.copyOfRange(data, 199000, 200000), out.toByteArray());
+        assertEquals(1000, content.bytesRead);
+    }
+
+    @Test
+    public void testRangeChannelIsClosedWithContentChannel() throws IOException {
+        ReadableByteChannel channel = new SeekableContent(data(100)).getChannel(10, 20);
+        assertTrue(channel.isOpen());
+        channel.close();
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testInvalidRangesAreRejected() throws IOException {
+        StreamContent content = new StreamContent(data(100));
+        long[][] ranges = { { -1, 10 }, { 0, -2 }, { -5, -1 } };
+        for(long[] range : ranges) {
+            try {
+                content.getChannel(range[0], range[1]);
+                fail("invalid range "+range[0]+", "+range[1]);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                content.getStream(range[0], range[1]);
+                fail("invalid range "+range[0]+", "+range[1]);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                content.transferTo(range[0], range[1], Channels.newChannel(new ByteArrayOutputStream()));
+                fail("invalid range "+range[0]+", "+range[1]);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertEquals(0, content.bytesRead);
+    }
+
+}
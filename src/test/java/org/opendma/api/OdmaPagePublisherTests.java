@@ -0,0 +1,234 @@
+package org.opendma.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.opendma.api.OdmaPagePublisher.Subscriber;
+import org.opendma.api.OdmaPagePublisher.Subscription;
+
+public class OdmaPagePublisherTests {
+
+    /** runs all tasks on the calling thread, so the fetched pages are known after each request */
+    private static final Executor DIRECT = new Executor() {
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    /**
+     * Subscriber recording all signals. Requests the given number of objects on subscription.
+     */
+    private static class RecordingSubscriber implements Subscriber<OdmaObject> {
+
+        final List<String> ids = Collections.synchronizedList(new ArrayList<String>());
+
+        final CountDownLatch done = new CountDownLatch(1);
+
+        final long initialRequest;
+
+        volatile Subscription subscription;
+
+        volatile Throwable error;
+
+        volatile boolean completed;
+
+        volatile int signalsAfterDone;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if(initialRequest != 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        public void onNext(OdmaObject item) {
+            if(done.getCount() == 0) {
+                signalsAfterDone++;
+            }
+            ids.add(item.getId().toString());
+        }
+
+        public void onError(Throwable throwable) {
+            if(done.getCount() == 0) {
+                signalsAfterDone++;
+            }
+            error = throwable;
+            done.countDown();
+        }
+
+        public void onComplete() {
+            if(done.getCount() == 0) {
+                signalsAfterDone++;
+            }
+            completed = true;
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("no terminal signal", done.await(10, TimeUnit.SECONDS));
+        }
+
+    }
+
+    @Test
+    public void testAllObjectsArePublished() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+            new OdmaPagePublisher<OdmaObject>(new OdmaTestPages(25, 4), executor).subscribe(subscriber);
+            subscriber.await();
+            assertTrue(subscriber.completed);
+            assertNull(subscriber.error);
+            assertEquals(OdmaTestPages.range(0, 25), subscriber.ids);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPagesAreFetchedOnDemand() {
+        OdmaTestPages pages = new OdmaTestPages(25, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new OdmaPagePublisher<OdmaObject>(pages, DIRECT).subscribe(subscriber);
+        assertEquals(0, pages.fetchedPages.get());
+        subscriber.subscription.request(3);
+        assertEquals(OdmaTestPages.range(0, 3), subscriber.ids);
+        assertEquals(1, pages.fetchedPages.get());
+        subscriber.subscription.request(1);
+        assertEquals(1, pages.fetchedPages.get());
+        subscriber.subscription.request(1);
+        assertEquals(OdmaTestPages.range(0, 5), subscriber.ids);
+        assertEquals(2, pages.fetchedPages.get());
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(subscriber.completed);
+        assertEquals(OdmaTestPages.range(0, 25), subscriber.ids);
+        assertEquals(0, subscriber.signalsAfterDone);
+    }
+
+    @Test
+    public void testCancelStopsSignals() {
+        OdmaTestPages pages = new OdmaTestPages(25, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(2);
+        new OdmaPagePublisher<OdmaObject>(pages, DIRECT).subscribe(subscriber);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+        assertEquals(OdmaTestPages.range(0, 2), subscriber.ids);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+        assertEquals(1, pages.fetchedPages.get());
+    }
+
+    @Test
+    public void testSubscriptionsAreIndependent() {
+        OdmaPagePublisher<OdmaObject> publisher = new OdmaPagePublisher<OdmaObject>(new OdmaTestPages(10, 4), DIRECT);
+        RecordingSubscriber first = new RecordingSubscriber(5);
+        RecordingSubscriber second = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        assertEquals(OdmaTestPages.range(0, 5), first.ids);
+        assertEquals(OdmaTestPages.range(0, 10), second.ids);
+        first.subscription.request(5);
+        first.subscription.request(1);
+        assertEquals(OdmaTestPages.range(0, 10), first.ids);
+        assertTrue(first.completed);
+    }
+
+    @Test
+    public void testFetchFailureIsSignalled() {
+        OdmaTestPages pages = new OdmaTestPages(25, 4);
+        pages.failAtOffset = 8;
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        new OdmaPagePublisher<OdmaObject>(pages, DIRECT).subscribe(subscriber);
+        assertEquals(OdmaTestPages.range(0, 8), subscriber.ids);
+        assertTrue(subscriber.error instanceof IllegalStateException);
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(1);
+        assertEquals(0, subscriber.signalsAfterDone);
+    }
+
+    @Test
+    public void testThrowingSubscriberIsCancelled() {
+        OdmaTestPages pages = new OdmaTestPages(25, 4);
+        final RuntimeException failure = new RuntimeException("failed to process object");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            public void onNext(OdmaObject item) {
+                super.onNext(item);
+                if(ids.size() == 3) {
+                    throw failure;
+                }
+            }
+        };
+        new OdmaPagePublisher<OdmaObject>(pages, DIRECT).subscribe(subscriber);
+        assertSame(failure, subscriber.error);
+        assertEquals(OdmaTestPages.range(0, 3), subscriber.ids);
+        subscriber.subscription.request(10);
+        assertEquals(OdmaTestPages.range(0, 3), subscriber.ids);
+        assertEquals(0, subscriber.signalsAfterDone);
+        assertEquals(1, pages.fetchedPages.get());
+    }
+
+    @Test
+    public void testNonPositiveRequestIsSignalled() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new OdmaPagePublisher<OdmaObject>(new OdmaTestPages(25, 4), DIRECT).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.ids.isEmpty());
+        subscriber.subscription.request(1);
+        assertEquals(0, subscriber.signalsAfterDone);
+    }
+
+    @Test
+    public void testRejectedExecutionIsSignalled() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new OdmaPagePublisher<OdmaObject>(new OdmaTestPages(25, 4), executor).subscribe(subscriber);
+        assertTrue(subscriber.subscription != null);
+        assertTrue(subscriber.error instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        try {
+            new OdmaPagePublisher<OdmaObject>(null, DIRECT);
+            fail("null source");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaPagePublisher<OdmaObject>(new OdmaTestPages(1, 1), null);
+            fail("null executor");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaPagePublisher<OdmaObject>(new OdmaTestPages(1, 1), DIRECT).subscribe(null);
+            fail("null subscriber");
+        } catch(NullPointerException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.opendma.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class OdmaPageSpliteratorTests {
+
+    private static final Consumer<OdmaObject> IGNORE = new Consumer<OdmaObject>() {
+        public void accept(OdmaObject object) {
+        }
+    };
+
+    private static Consumer<OdmaObject> collectIds(final List<String> ids) {
+        return new Consumer<OdmaObject>() {
+            public void accept(OdmaObject object) {
+                ids.add(object.getId().toString());
+            }
+        };
+    }
+
+    @Test
+    public void testStreamsKeepPageOrder() {
+        OdmaTestPages pages = new OdmaTestPages(100, 7);
+        assertEquals(OdmaTestPages.range(0, 100), pages.stream().map(o -> o.getId().toString()).collect(Collectors.toList()));
+        assertEquals(OdmaTestPages.range(0, 100), pages.parallelStream().map(o -> o.getId().toString()).collect(Collectors.toList()));
+        assertEquals(100, pages.parallelStream().count());
+        assertEquals(0, new OdmaTestPages(0, 7).stream().count());
+    }
+
+    @Test
+    public void testStreamsFetchPagesLazily() {
+        OdmaTestPages pages = new OdmaTestPages(100, 10);
+        assertEquals("0", pages.stream().findFirst().get().getId().toString());
+        assertEquals(1, pages.fetchedPages.get());
+        pages.fetchedPages.set(0);
+        assertEquals(15, pages.stream().limit(15).count());
+        assertEquals(2, pages.fetchedPages.get());
+    }
+
+    @Test
+    public void testTryAdvanceAndForEachRemaining() {
+        Spliterator<OdmaObject> spliterator = new OdmaTestPages(10, 3).spliterator();
+        assertTrue((spliterator.characteristics() & Spliterator.ORDERED) != 0);
+        assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+        List<String> ids = new ArrayList<String>();
+        assertTrue(spliterator.tryAdvance(collectIds(ids)));
+        assertTrue(spliterator.tryAdvance(collectIds(ids)));
+        spliterator.forEachRemaining(collectIds(ids));
+        assertEquals(OdmaTestPages.range(0, 10), ids);
+        assertFalse(spliterator.tryAdvance(IGNORE));
+        assertEquals(0, spliterator.estimateSize());
+    }
+
+    @Test
+    public void testSplitsArePageAligned() {
+        OdmaTestPages pages = new OdmaTestPages(10, 4);
+        Spliterator<OdmaObject> spliterator = pages.spliterator();
+        List<String> ids = new ArrayList<String>();
+        assertTrue(spliterator.tryAdvance(collectIds(ids)));
+        Spliterator<OdmaObject> rest = spliterator.trySplit();
+        rest.forEachRemaining(collectIds(ids));
+        assertEquals(OdmaTestPages.range(0, 4), ids);
+        Spliterator<OdmaObject> second = spliterator.trySplit();
+        assertEquals(4, second.estimateSize());
+        second.forEachRemaining(collectIds(ids));
+        spliterator.forEachRemaining(collectIds(ids));
+        assertEquals(OdmaTestPages.range(0, 10), ids);
+        assertNull(spliterator.trySplit());
+        assertEquals(3, pages.fetchedPages.get());
+    }
+
+    @Test
+    public void testEmptyPagesEndTheIteration() {
+        OdmaPageIterator<OdmaObject> emptyPages = new OdmaPageIterator<OdmaObject>() {
+            public boolean nextPage() {
+                return true;
+            }
+            public List<OdmaObject> getPage() {
+                return Collections.emptyList();
+            }
+            public String nextPageMark() {
+                return "0";
+            }
+            public void goToMark(String mark) {
+            }
+        };
+        Spliterator<OdmaObject> spliterator = new OdmaPageSpliterator<OdmaObject>(emptyPages);
+        assertFalse(spliterator.tryAdvance(IGNORE));
+        assertNull(spliterator.trySplit());
+        try {
+            new OdmaPageSpliterator<OdmaObject>(null);
+            fail("null page iterator");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.opendma.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+import org.opendma.impl.OdmaTestCoreObject;
+import org.opendma.impl.core.OdmaStaticClassHierarchy;
+
+public class OdmaPropertySelectionTests {
+
+    private static final OdmaId REPOSITORY = new OdmaId("repository");
+
+    private static final OdmaQName UNKNOWN = new OdmaQName("test", "unknown");
+
+    private static OdmaClass documentClass() throws Exception {
+        return new OdmaStaticClassHierarchy("repo-name", "Repo display name", REPOSITORY, new OdmaId("repoobjectid")).getClassInfo(OdmaCommonNames.CLASS_DOCUMENT);
+    }
+
+    @Test
+    public void testNamesAreDistinctAndOrdered() {
+        OdmaPropertySelection selection = OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_TITLE, OdmaCommonNames.PROPERTY_ID, OdmaCommonNames.PROPERTY_TITLE);
+        assertEquals(2, selection.size());
+        assertEquals(Arrays.asList(OdmaCommonNames.PROPERTY_TITLE, OdmaCommonNames.PROPERTY_ID), selection.getNames());
+        assertEquals(0, selection.getSlot(OdmaCommonNames.PROPERTY_TITLE));
+        assertEquals(1, selection.getSlot(OdmaCommonNames.PROPERTY_ID));
+        assertEquals(-1, selection.getSlot(UNKNOWN));
+        assertSame(OdmaCommonNames.PROPERTY_ID, selection.getName(1));
+        assertTrue(selection.contains(OdmaCommonNames.PROPERTY_ID));
+        assertFalse(selection.contains(UNKNOWN));
+        OdmaQName[] names = selection.toArray();
+        assertArrayEquals(new OdmaQName[] { OdmaCommonNames.PROPERTY_TITLE, OdmaCommonNames.PROPERTY_ID }, names);
+        names[0] = UNKNOWN;
+        assertNotSame(names, selection.toArray());
+        assertSame(OdmaCommonNames.PROPERTY_TITLE, selection.getName(0));
+        assertEquals(selection, OdmaPropertySelection.of(Arrays.asList(OdmaCommonNames.PROPERTY_TITLE, OdmaCommonNames.PROPERTY_ID)));
+        assertEquals(selection.hashCode(), OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_TITLE, OdmaCommonNames.PROPERTY_ID).hashCode());
+        assertFalse(selection.equals(OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_ID, OdmaCommonNames.PROPERTY_TITLE)));
+        try {
+            selection.getNames().add(UNKNOWN);
+            fail("names are modifiable");
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testNullNamesAreRejected() {
+        try {
+            OdmaPropertySelection.of((OdmaQName[])null);
+            fail("null array");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_TITLE, null);
+            fail("null element");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBindResolvesPropertyInfos() throws Exception {
+        OdmaClass documentClass = documentClass();
+        OdmaPropertySelection selection = OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_TITLE, OdmaCommonNames.PROPERTY_VERSION);
+        assertFalse(selection.isBound());
+        try {
+            selection.getPropertyInfo(0);
+            fail("unbound selection returned a property info");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+        OdmaPropertySelection bound = selection.bind(documentClass);
+        assertTrue(bound.isBound());
+        assertSame(documentClass, bound.getBoundClass());
+        assertEquals(selection.getNames(), bound.getNames());
+        assertEquals(OdmaCommonNames.PROPERTY_TITLE, bound.getPropertyInfo(0).getQName());
+        assertEquals(OdmaCommonNames.PROPERTY_VERSION, bound.getPropertyInfo(1).getQName());
+        assertEquals(2, bound.getPropertyInfos().size());
+        assertFalse(selection.equals(bound));
+        assertEquals(bound, selection.bind(documentClass));
+        try {
+            OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_TITLE, UNKNOWN).bind(documentClass);
+            fail("unknown property was bound");
+        } catch(OdmaPropertyNotFoundException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testNullArgumentsAreUnambiguous() throws Exception {
+        OdmaTestCoreObject coreObject = new OdmaTestCoreObject();
+        coreObject.prepareProperties(null, true);
+        coreObject.prepareSelectedProperties(null, true);
+        assertEquals(2, coreObject.preparedPropertyNames.size());
+        assertNull(coreObject.preparedPropertyNames.get(0));
+        assertNull(coreObject.preparedPropertyNames.get(1));
+        OdmaTestSession session = new OdmaTestSession().put(REPOSITORY, new OdmaId("a"), documentClass());
+        session.getObject(REPOSITORY, new OdmaId("a"), null);
+        session.getObjectWithSelection(REPOSITORY, new OdmaId("a"), null);
+        assertEquals(2, session.requestedPropertyNames.size());
+        assertNull(session.requestedPropertyNames.get(0));
+        assertNull(session.requestedPropertyNames.get(1));
+    }
+
+    @Test
+    public void testSelectionIsForwardedAsNames() throws Exception {
+        OdmaPropertySelection selection = OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_TITLE, OdmaCommonNames.PROPERTY_VERSION);
+        OdmaTestCoreObject coreObject = new OdmaTestCoreObject();
+        coreObject.prepareSelectedProperties(selection, false);
+        assertArrayEquals(selection.toArray(), coreObject.preparedPropertyNames.get(0));
+        OdmaTestSession session = new OdmaTestSession().put(REPOSITORY, new OdmaId("a"), documentClass());
+        session.getObjectWithSelection(REPOSITORY, new OdmaId("a"), selection.bind(documentClass()));
+        assertArrayEquals(selection.toArray(), session.requestedPropertyNames.get(0));
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.opendma.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class OdmaSearchResultTests {
+
+    private static OdmaSearchResult result(final Iterable<OdmaObject> objects, final int size) {
+        return new OdmaSearchResult() {
+            public Iterable<OdmaObject> getObjects() {
+                return objects;
+            }
+            public int getSize() {
+                return size;
+            }
+        };
+    }
+
+    @Test
+    public void testDefaults() {
+        OdmaTestPages pages = new OdmaTestPages(10, 3);
+        OdmaSearchResult result = result(pages, 10);
+        assertEquals(10L, result.getTotalSize());
+        assertFalse(result.isSizeEstimated());
+        assertSame(pages, result.getPages());
+        assertEquals(-1L, result(pages, -1).getTotalSize());
+    }
+
+    @Test
+    public void testPlainIterablesArePagedByOffset() {
+        List<OdmaObject> objects = OdmaTestPages.objects(250);
+        OdmaPageIterator<OdmaObject> pages = result(objects, 250).getPages().pageIterator();
+        assertEquals("0", pages.nextPageMark());
+        assertTrue(pages.nextPage());
+        assertEquals(OdmaTestPages.range(0, 100), OdmaTestPages.ids(pages.getPage()));
+        assertEquals("100", pages.nextPageMark());
+        assertTrue(pages.nextPage());
+        assertEquals("200", pages.nextPageMark());
+        assertTrue(pages.nextPage());
+        assertEquals(OdmaTestPages.range(200, 250), OdmaTestPages.ids(pages.getPage()));
+        assertNull(pages.nextPageMark());
+        assertFalse(pages.nextPage());
+        assertNull(pages.getPage());
+        assertEquals(OdmaTestPages.range(0, 250), OdmaTestPages.ids(result(objects, 250).getPages()));
+    }
+
+    @Test
+    public void testGoToMarkIteratesAgain() {
+        List<OdmaObject> objects = OdmaTestPages.objects(150);
+        OdmaPageIterator<OdmaObject> pages = result(objects, 150).getPages().pageIterator();
+        assertTrue(pages.nextPage());
+        assertTrue(pages.nextPage());
+        pages.goToMark("120");
+        assertNull(pages.getPage());
+        assertEquals("120", pages.nextPageMark());
+        assertTrue(pages.nextPage());
+        assertEquals(OdmaTestPages.range(120, 150), OdmaTestPages.ids(pages.getPage()));
+        pages.goToMark("0");
+        assertTrue(pages.nextPage());
+        assertEquals(OdmaTestPages.range(0, 100), OdmaTestPages.ids(pages.getPage()));
+        pages.goToMark("500");
+        assertNull(pages.nextPageMark());
+        assertFalse(pages.nextPage());
+        for(String mark : new String[] { "-1", "abc", null }) {
+            try {
+                pages.goToMark(mark);
+                fail("invalid mark "+mark);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.opendma.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.opendma.impl.OdmaProxyFactory;
+import org.opendma.impl.OdmaTestCoreObject;
+
+public class OdmaSessionTests {
+
+    private static final OdmaId REPOSITORY = new OdmaId("repository");
+
+    private static final OdmaId OTHER_REPOSITORY = new OdmaId("other");
+
+    private static OdmaObject object() {
+        return OdmaProxyFactory.createProxy(new OdmaTestCoreObject(), OdmaSessionTests.class.getClassLoader(), Arrays.asList(OdmaCommonNames.CLASS_OBJECT));
+    }
+
+    private static OdmaGuid guid(OdmaId repositoryId, String objectId) {
+        return new OdmaGuid(new OdmaId(objectId), repositoryId);
+    }
+
+    @Test
+    public void testGetObjectsKeepsOrderAndSkipsMissingObjects() {
+        OdmaObject a = object();
+        OdmaObject b = object();
+        OdmaTestSession session = new OdmaTestSession().put(REPOSITORY, new OdmaId("a"), a).put(REPOSITORY, new OdmaId("b"), b);
+        OdmaQName[] names = new OdmaQName[] { OdmaCommonNames.PROPERTY_ID };
+        List<OdmaObject> objects = session.getObjects(REPOSITORY, Arrays.asList(new OdmaId("b"), new OdmaId("missing"), new OdmaId("a")), names);
+        assertEquals(3, objects.size());
+        assertSame(b, objects.get(0));
+        assertNull(objects.get(1));
+        assertSame(a, objects.get(2));
+        assertEquals(3, session.requestedPropertyNames.size());
+        for(OdmaQName[] requested : session.requestedPropertyNames) {
+            assertSame(names, requested);
+        }
+        assertEquals(0, session.getObjects(REPOSITORY, new ArrayList<OdmaId>(), null).size());
+    }
+
+    @Test
+    public void testGetObjectsByGuidGroupsByRepository() {
+        final List<OdmaId> repositoryCalls = new ArrayList<OdmaId>();
+        OdmaTestSession session = new OdmaTestSession() {
+            @Override
+            public List<OdmaObject> getObjects(OdmaId repositoryId, List<OdmaId> objectIds, OdmaQName[] propertyNames) {
+                repositoryCalls.add(repositoryId);
+                return super.getObjects(repositoryId, objectIds, propertyNames);
+            }
+        };
+        OdmaObject a = object();
+        OdmaObject b = object();
+        OdmaObject c = object();
+        session.put(REPOSITORY, new OdmaId("a"), a).put(OTHER_REPOSITORY, new OdmaId("b"), b).put(REPOSITORY, new OdmaId("c"), c);
+        List<OdmaObject> objects = session.getObjectsByGuid(Arrays.asList(guid(REPOSITORY, "a"), guid(OTHER_REPOSITORY, "b"), guid(OTHER_REPOSITORY, "missing"), guid(REPOSITORY, "c")), null);
+        assertEquals(4, objects.size());
+        assertSame(a, objects.get(0));
+        assertSame(b, objects.get(1));
+        assertNull(objects.get(2));
+        assertSame(c, objects.get(3));
+        assertEquals(Arrays.asList(REPOSITORY, OTHER_REPOSITORY), repositoryCalls);
+        assertEquals(Arrays.asList(guid(REPOSITORY, "a"), guid(REPOSITORY, "c"), guid(OTHER_REPOSITORY, "b"), guid(OTHER_REPOSITORY, "missing")), session.requestedObjects);
+    }
+
+}
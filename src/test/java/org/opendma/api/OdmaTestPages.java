@@ -0,0 +1,145 @@
+package org.opendma.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opendma.impl.OdmaProxyFactory;
+import org.opendma.impl.OdmaTestCoreObject;
+
+/**
+ * In-memory <code>OdmaPagingIterable</code> for tests. Serves the given objects in pages of a fixed size.
+ * The mark of a page is the decimal offset of its first object. Counts the pages fetched by all its page
+ * iterators and can be set up to fail fetching the page at a given offset.
+ */
+public class OdmaTestPages implements OdmaPagingIterable<OdmaObject> {
+
+    private final List<OdmaObject> objects;
+
+    private final int pageSize;
+
+    /** the number of pages fetched by all page iterators */
+    public final AtomicInteger fetchedPages = new AtomicInteger();
+
+    /** the offset of the page failing to be fetched, or -1 */
+    public volatile int failAtOffset = -1;
+
+    /** the time each fetch of a page takes in milliseconds */
+    public volatile long delayMillis;
+
+    /** the marks of all calls to <code>goToMark</code>, in call order */
+    public final List<String> requestedMarks = Collections.synchronizedList(new ArrayList<String>());
+
+    public OdmaTestPages(int count, int pageSize) {
+        this(objects(count), pageSize);
+    }
+
+    public OdmaTestPages(List<OdmaObject> objects, int pageSize) {
+        this.objects = objects;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the given number of objects with the IDs "0", "1", ...
+     *
+     * @param count
+     *            the number of objects to create
+     *
+     * @return the given number of objects with ascending IDs
+     */
+    public static List<OdmaObject> objects(int count) {
+        List<OdmaObject> objects = new ArrayList<OdmaObject>(count);
+        for(int i = 0; i < count; i++) {
+            OdmaTestCoreObject coreObject = new OdmaTestCoreObject().put(OdmaCommonNames.PROPERTY_ID, new OdmaId(String.valueOf(i)), OdmaType.ID, false);
+            objects.add(OdmaProxyFactory.<OdmaObject>createProxy(coreObject, OdmaTestPages.class.getClassLoader(), Arrays.asList(OdmaCommonNames.CLASS_OBJECT)));
+        }
+        return objects;
+    }
+
+    /**
+     * Returns the IDs of the given objects as <code>String</code>s, in iteration order.
+     *
+     * @param objects
+     *            the objects to return the IDs of
+     *
+     * @return the IDs of the given objects
+     */
+    public static List<String> ids(Iterable<? extends OdmaObject> objects) {
+        List<String> ids = new ArrayList<String>();
+        for(OdmaObject object : objects) {
+            ids.add(object.getId().toString());
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the IDs from "<code>from</code>" to "<code>to - 1</code>".
+     *
+     * @param from
+     *            the first ID
+     * @param to
+     *            the ID after the last one
+     *
+     * @return the IDs in the given range
+     */
+    public static List<String> range(int from, int to) {
+        List<String> ids = new ArrayList<String>();
+        for(int i = from; i < to; i++) {
+            ids.add(String.valueOf(i));
+        }
+        return ids;
+    }
+
+    public OdmaPageIterator<OdmaObject> pageIterator() {
+        return new OdmaPageIterator<OdmaObject>() {
+
+            private int offset;
+
+            private List<OdmaObject> page;
+
+            public boolean nextPage() {
+                if(delayMillis > 0) {
+                    try {
+                        Thread.sleep(delayMillis);
+                    } catch(InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if(offset >= objects.size()) {
+                    page = null;
+                    return false;
+                }
+                if(offset == failAtOffset) {
+                    throw new IllegalStateException("failed to fetch page at "+offset);
+                }
+                page = objects.subList(offset, Math.min(offset + pageSize, objects.size()));
+                offset += pageSize;
+                fetchedPages.incrementAndGet();
+                return true;
+            }
+
+            public List<OdmaObject> getPage() {
+                return page;
+            }
+
+            public String nextPageMark() {
+                return offset >= objects.size() ? null : String.valueOf(offset);
+            }
+
+            public void goToMark(String mark) {
+                requestedMarks.add(mark);
+                offset = Integer.parseInt(mark);
+                page = null;
+            }
+
+        };
+    }
+
+    public Iterator<OdmaObject> iterator() {
+        return new OdmaDefaultPagingIterator<OdmaObject>(pageIterator());
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.opendma.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opendma.exceptions.OdmaObjectNotFoundException;
+
+/**
+ * In-memory <code>OdmaSession</code> for tests. Serves the objects registered with
+ * <code>{@link #put(OdmaId, OdmaId, OdmaObject)}</code> and records the arguments of all calls to
+ * <code>{@link #getObject(OdmaId, OdmaId, OdmaQName[])}</code>.
+ */
+public class OdmaTestSession implements OdmaSession {
+
+    private final Map<OdmaGuid, OdmaObject> objects = new HashMap<OdmaGuid, OdmaObject>();
+
+    /** the repository and object id of all calls to <code>getObject</code>, in call order */
+    public final List<OdmaGuid> requestedObjects = Collections.synchronizedList(new ArrayList<OdmaGuid>());
+
+    /** the property names of all calls to <code>getObject</code>, in call order */
+    public final List<OdmaQName[]> requestedPropertyNames = Collections.synchronizedList(new ArrayList<OdmaQName[]>());
+
+    /** flag if <code>close</code> has been called */
+    public volatile boolean closed;
+
+    public OdmaTestSession put(OdmaId repositoryId, OdmaId objectId, OdmaObject object) {
+        objects.put(new OdmaGuid(objectId, repositoryId), object);
+        return this;
+    }
+
+    public List<OdmaId> getRepositoryIds() {
+        return Collections.emptyList();
+    }
+
+    public OdmaRepository getRepository(OdmaId repositoryId) throws OdmaObjectNotFoundException {
+        throw new OdmaObjectNotFoundException(repositoryId);
+    }
+
+    public OdmaObject getObject(OdmaId repositoryId, OdmaId objectId, OdmaQName[] propertyNames) throws OdmaObjectNotFoundException {
+        OdmaGuid guid = new OdmaGuid(objectId, repositoryId);
+        requestedObjects.add(guid);
+        requestedPropertyNames.add(propertyNames);
+        OdmaObject object = objects.get(guid);
+        if(object == null) {
+            throw new OdmaObjectNotFoundException(repositoryId, objectId);
+        }
+        return object;
+    }
+
+    public OdmaSearchResult search(OdmaId repositoryId, OdmaQName queryLanguage, String query) throws OdmaObjectNotFoundException {
+        throw new OdmaObjectNotFoundException(repositoryId);
+    }
+
+    public List<OdmaQName> getSupportedQueryLanguages() {
+        return Collections.emptyList();
+    }
+
+    public void close() {
+        closed = true;
+    }
+
+}
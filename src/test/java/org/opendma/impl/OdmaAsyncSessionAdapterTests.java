@@ -0,0 +1,180 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaGuid;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaProperty.PropertyResolutionState;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaTestSession;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaObjectNotFoundException;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+public class OdmaAsyncSessionAdapterTests {
+
+    private static final OdmaId REPOSITORY = new OdmaId("repository");
+
+    private static final OdmaQName TITLE = new OdmaQName("test", "title");
+
+    /**
+     * Executor counting the tasks it runs on a separate thread.
+     */
+    private static class CountingExecutor implements Executor {
+
+        final AtomicInteger executed = new AtomicInteger();
+
+        public void execute(Runnable command) {
+            executed.incrementAndGet();
+            new Thread(command).start();
+        }
+
+    }
+
+    private static OdmaObject object(OdmaTestCoreObject coreObject) {
+        return OdmaProxyFactory.createProxy(coreObject, OdmaAsyncSessionAdapterTests.class.getClassLoader(), Arrays.asList(OdmaCommonNames.CLASS_OBJECT));
+    }
+
+    @Test
+    public void testOperationsRunOnExecutor() throws Exception {
+        OdmaObject object = object(new OdmaTestCoreObject());
+        OdmaTestSession session = new OdmaTestSession().put(REPOSITORY, new OdmaId("a"), object);
+        CountingExecutor executor = new CountingExecutor();
+        OdmaAsyncSessionAdapter async = new OdmaAsyncSessionAdapter(session, executor);
+        assertSame(session, async.getSession());
+        OdmaQName[] names = new OdmaQName[] { TITLE };
+        assertSame(object, async.getObject(REPOSITORY, new OdmaId("a"), names).get(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(new OdmaGuid(new OdmaId("a"), REPOSITORY)), session.requestedObjects);
+        assertSame(names, session.requestedPropertyNames.get(0));
+        assertEquals(0, async.getRepositoryIds().get(10, TimeUnit.SECONDS).size());
+        assertEquals(2, executor.executed.get());
+        async.close();
+        assertTrue(session.closed);
+    }
+
+    @Test
+    public void testBulkLoadRunsOnExecutor() throws Exception {
+        OdmaObject object = object(new OdmaTestCoreObject());
+        OdmaTestSession session = new OdmaTestSession().put(REPOSITORY, new OdmaId("a"), object);
+        CountingExecutor executor = new CountingExecutor();
+        OdmaAsyncSessionAdapter async = new OdmaAsyncSessionAdapter(session, executor);
+        List<OdmaObject> objects = async.getObjects(REPOSITORY, Arrays.asList(new OdmaId("a"), new OdmaId("b")), null).get(10, TimeUnit.SECONDS);
+        assertEquals(2, objects.size());
+        assertSame(object, objects.get(0));
+        assertNull(objects.get(1));
+        assertEquals(1, executor.executed.get());
+        assertEquals(2, session.requestedObjects.size());
+    }
+
+    @Test
+    public void testFailuresCompleteExceptionally() throws Exception {
+        OdmaAsyncSessionAdapter async = new OdmaAsyncSessionAdapter(new OdmaTestSession(), new CountingExecutor());
+        CompletableFuture<OdmaObject> future = async.getObject(REPOSITORY, new OdmaId("missing"), null);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("missing object was found");
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof OdmaObjectNotFoundException);
+        }
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testRejectedTasksCompleteExceptionally() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        OdmaAsyncSessionAdapter async = new OdmaAsyncSessionAdapter(new OdmaTestSession(), executor);
+        CompletableFuture<List<OdmaId>> future = async.getRepositoryIds();
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("rejected task completed normally");
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    public void testPropertiesAreResolvedOnExecutor() throws Exception {
+        final AtomicReference<Thread> resolver = new AtomicReference<Thread>();
+        OdmaLazyPropertyValueProvider provider = new OdmaLazyPropertyValueProvider() {
+            public boolean hasReferenceId() {
+                return false;
+            }
+            public OdmaId getReferenceId() {
+                return null;
+            }
+            public Object resovlePropertyValue() {
+                resolver.set(Thread.currentThread());
+                return "title";
+            }
+        };
+        OdmaTestCoreObject coreObject = new OdmaTestCoreObject().put(OdmaPropertyFactory.fromValueProvider(TITLE, provider, OdmaType.STRING, false, false));
+        OdmaAsyncSessionAdapter async = new OdmaAsyncSessionAdapter(new OdmaTestSession(), new CountingExecutor());
+        OdmaProperty property = async.getProperty(coreObject, TITLE).get(10, TimeUnit.SECONDS);
+        assertSame(PropertyResolutionState.RESOLVED, property.getResolutionState());
+        assertNotSame(Thread.currentThread(), resolver.get());
+        assertEquals("title", property.getString());
+        async.prepareProperties(coreObject, new OdmaQName[] { TITLE }, true).get(10, TimeUnit.SECONDS);
+        assertEquals(1, coreObject.preparedPropertyNames.size());
+        assertNull(async.save(coreObject).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCloseShutsDownOwnedExecutorOnly() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            OdmaTestSession session = new OdmaTestSession();
+            new OdmaAsyncSessionAdapter(session, executor).close();
+            assertTrue(session.closed);
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+        OdmaTestSession session = new OdmaTestSession();
+        OdmaAsyncSessionAdapter async = new OdmaAsyncSessionAdapter(session);
+        assertEquals(0, async.getSupportedQueryLanguages().get(10, TimeUnit.SECONDS).size());
+        async.close();
+        assertTrue(session.closed);
+        assertTrue(async.getRepositoryIds().isCompletedExceptionally());
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        try {
+            new OdmaAsyncSessionAdapter(null);
+            fail("null session");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaAsyncSessionAdapter(new OdmaTestSession(), null);
+            fail("null executor");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,268 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaProperty.PropertyResolutionState;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.impl.OdmaBatchResolutionContext.OdmaBatchValueLoader;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+public class OdmaBatchResolutionContextTests {
+
+    private static final OdmaQName TITLE = new OdmaQName("test", "title");
+
+    private static final OdmaQName AUTHOR = new OdmaQName("test", "author");
+
+    /**
+     * Loader returning "name:key" for every key except negative ones, recording the keys of each call.
+     */
+    private static class RecordingLoader implements OdmaBatchValueLoader<Integer> {
+
+        final List<List<Integer>> calls = Collections.synchronizedList(new ArrayList<List<Integer>>());
+
+        int failures;
+
+        public Map<Integer, Object> loadPropertyValues(OdmaQName propertyName, Collection<Integer> keys) {
+            calls.add(new ArrayList<Integer>(keys));
+            if(failures > 0) {
+                failures--;
+                throw new IllegalStateException("back-end not available");
+            }
+            Map<Integer, Object> values = new HashMap<Integer, Object>();
+            for(Integer key : keys) {
+                if(key.intValue() >= 0) {
+                    values.put(key, propertyName.getName()+":"+key);
+                }
+            }
+            return values;
+        }
+
+    }
+
+    private static List<OdmaProperty> register(OdmaBatchResolutionContext<Integer> context, OdmaQName name, int... keys) {
+        List<OdmaProperty> properties = new ArrayList<OdmaProperty>();
+        for(int key : keys) {
+            properties.add(OdmaPropertyFactory.fromValueProvider(name, context.register(name, key), OdmaType.STRING, false, true));
+        }
+        return properties;
+    }
+
+    @Test
+    public void testSiblingsAreLoadedInOneCall() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader);
+        List<OdmaProperty> titles = register(context, TITLE, 1, 2, 3, 4, 5);
+        assertEquals(0, loader.calls.size());
+        assertEquals("title:3", titles.get(2).getString());
+        assertEquals(Arrays.asList(Arrays.asList(3, 1, 2, 4, 5)), loader.calls);
+        for(int i = 0; i < titles.size(); i++) {
+            assertEquals("title:"+(i + 1), titles.get(i).getString());
+        }
+        assertEquals(1, loader.calls.size());
+    }
+
+    @Test
+    public void testBatchesAreFormedPerPropertyName() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader);
+        List<OdmaProperty> titles = register(context, TITLE, 1, 2);
+        List<OdmaProperty> authors = register(context, AUTHOR, 1, 2);
+        assertEquals("author:2", authors.get(1).getString());
+        assertEquals("title:1", titles.get(0).getString());
+        assertEquals("author:1", authors.get(0).getString());
+        assertEquals("title:2", titles.get(1).getString());
+        assertEquals(Arrays.asList(Arrays.asList(2, 1), Arrays.asList(1, 2)), loader.calls);
+    }
+
+    @Test
+    public void testBatchesAreLimitedInSize() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader, 2);
+        List<OdmaProperty> titles = register(context, TITLE, 1, 2, 3, 4, 5);
+        for(OdmaProperty title : titles) {
+            title.getString();
+        }
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), loader.calls);
+    }
+
+    @Test
+    public void testLateRegistrationsFormNewBatch() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader);
+        List<OdmaProperty> first = register(context, TITLE, 1, 2);
+        assertEquals("title:1", first.get(0).getString());
+        List<OdmaProperty> second = register(context, TITLE, 3);
+        assertEquals("title:2", first.get(1).getString());
+        assertEquals("title:3", second.get(0).getString());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)), loader.calls);
+    }
+
+    @Test
+    public void testReleasedProvidersAreNotLoaded() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader);
+        List<OdmaProperty> titles = register(context, TITLE, 1);
+        OdmaLazyPropertyValueProvider provider = context.register(TITLE, 2);
+        WeakReference<OdmaLazyPropertyValueProvider> explicit = new WeakReference<OdmaLazyPropertyValueProvider>(provider);
+        OdmaProperty property = OdmaPropertyFactory.fromValueProvider(TITLE, provider, OdmaType.STRING, false, false);
+        provider = null;
+        property.setValue("explicit");
+        WeakReference<OdmaLazyPropertyValueProvider> dropped = new WeakReference<OdmaLazyPropertyValueProvider>(context.register(TITLE, 3));
+        titles.addAll(register(context, TITLE, 4));
+        for(int i = 0; i < 20 && (explicit.get() != null || dropped.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assume.assumeTrue("released providers have not been collected", explicit.get() == null && dropped.get() == null);
+        assertEquals("title:1", titles.get(0).getString());
+        assertEquals("title:4", titles.get(1).getString());
+        assertEquals("explicit", property.getString());
+        assertEquals(Arrays.asList(Arrays.asList(1, 4)), loader.calls);
+    }
+
+    @Test
+    public void testMissingValuesResolveToNull() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader);
+        List<OdmaProperty> titles = register(context, TITLE, 1, -1);
+        assertNull(titles.get(1).getString());
+        assertEquals("title:1", titles.get(0).getString());
+        assertEquals(1, loader.calls.size());
+    }
+
+    @Test
+    public void testFailedLoadIsRetried() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        loader.failures = 1;
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader);
+        List<OdmaProperty> titles = register(context, TITLE, 1, 2);
+        try {
+            titles.get(0).getString();
+            fail("load failure was swallowed");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+        assertSame(PropertyResolutionState.UNRESOLVED, titles.get(1).getResolutionState());
+        assertEquals("title:2", titles.get(1).getString());
+        assertEquals("title:1", titles.get(0).getString());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(1, 2)), loader.calls);
+    }
+
+    @Test
+    public void testConcurrentReadersShareOneLoad() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for(int round = 0; round < 20; round++) {
+                RecordingLoader loader = new RecordingLoader();
+                OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(loader);
+                final List<OdmaProperty> titles = register(context, TITLE, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15);
+                final CountDownLatch start = new CountDownLatch(1);
+                final AtomicInteger next = new AtomicInteger();
+                List<Future<Integer>> readers = new ArrayList<Future<Integer>>();
+                for(int i = 0; i < 8; i++) {
+                    readers.add(executor.submit(new Callable<Integer>() {
+                        @Override
+                        public Integer call() throws Exception {
+                            start.await();
+                            int read = 0;
+                            for(int index = next.getAndIncrement(); index < titles.size(); index = next.getAndIncrement()) {
+                                assertEquals("title:"+index, titles.get(index).getString());
+                                read++;
+                            }
+                            return read;
+                        }
+                    }));
+                }
+                start.countDown();
+                int read = 0;
+                for(Future<Integer> reader : readers) {
+                    read += reader.get().intValue();
+                }
+                assertEquals(16, read);
+                assertEquals(1, loader.calls.size());
+                assertEquals(16, loader.calls.get(0).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        try {
+            new OdmaBatchResolutionContext<Integer>(null);
+            fail("null loader");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaBatchResolutionContext<Integer>(new RecordingLoader(), 0);
+            fail("empty batches");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReferenceIdsAreServedWithoutLoading() throws Exception {
+        final List<OdmaObject> children = Arrays.asList(object("a"), object("b"));
+        final AtomicInteger loads = new AtomicInteger();
+        OdmaBatchResolutionContext<Integer> context = new OdmaBatchResolutionContext<Integer>(new OdmaBatchValueLoader<Integer>() {
+            public Map<Integer, Object> loadPropertyValues(OdmaQName propertyName, Collection<Integer> keys) {
+                loads.incrementAndGet();
+                Map<Integer, Object> values = new HashMap<Integer, Object>();
+                for(Integer key : keys) {
+                    values.put(key, key.intValue() == 1 ? children : Collections.<OdmaObject>emptyList());
+                }
+                return values;
+            }
+        });
+        List<OdmaId> ids = Arrays.asList(new OdmaId("a"), new OdmaId("b"));
+        OdmaProperty first = OdmaPropertyFactory.fromValueProvider(OdmaCommonNames.PROPERTY_SUBFOLDERS, context.registerReferences(OdmaCommonNames.PROPERTY_SUBFOLDERS, 1, ids), OdmaType.REFERENCE, true, true);
+        OdmaProperty second = OdmaPropertyFactory.fromValueProvider(OdmaCommonNames.PROPERTY_SUBFOLDERS, context.registerReferences(OdmaCommonNames.PROPERTY_SUBFOLDERS, 2, Collections.<OdmaId>emptyList()), OdmaType.REFERENCE, true, true);
+        assertSame(PropertyResolutionState.IDRESOLVED, first.getResolutionState());
+        assertEquals(ids, first.getReferenceIdList());
+        assertEquals(0, second.getReferenceIdList().size());
+        assertEquals(0, loads.get());
+        assertSame(children, first.getReferenceIterable());
+        assertEquals(1, loads.get());
+        assertFalse(second.getReferenceIterable().iterator().hasNext());
+        assertEquals(1, loads.get());
+        OdmaProperty reference = OdmaPropertyFactory.fromValueProvider(OdmaCommonNames.PROPERTY_PARENT, context.register(OdmaCommonNames.PROPERTY_PARENT, 3, new OdmaId("p")), OdmaType.REFERENCE, false, true);
+        assertSame(PropertyResolutionState.IDRESOLVED, reference.getResolutionState());
+        assertEquals(new OdmaId("p"), reference.getReferenceId());
+        assertEquals(1, loads.get());
+    }
+
+    private static OdmaObject object(String id) {
+        OdmaTestCoreObject coreObject = new OdmaTestCoreObject().put(OdmaCommonNames.PROPERTY_ID, new OdmaId(id), OdmaType.ID, false);
+        return OdmaProxyFactory.createProxy(coreObject, OdmaBatchResolutionContextTests.class.getClassLoader(), Arrays.asList(OdmaCommonNames.CLASS_OBJECT));
+    }
+
+}
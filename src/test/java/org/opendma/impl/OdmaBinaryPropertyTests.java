@@ -0,0 +1,200 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+import org.opendma.impl.property.OdmaBinaryListProperty;
+import org.opendma.impl.property.OdmaBinaryProperty;
+
+public class OdmaBinaryPropertyTests {
+
+    private static final OdmaQName NAME = new OdmaQName("test", "property");
+
+    /** the remaining bytes of <code>buffer(boolean)</code> */
+    private static final byte[] TAIL = { 2, 3, 4, 5, 6, 7, 8, 9 };
+
+    private static ByteBuffer buffer(boolean direct) {
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(10) : ByteBuffer.allocate(10);
+        for(int i = 0; i < 10; i++) {
+            buffer.put((byte)i);
+        }
+        buffer.position(2);
+        return buffer;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testBufferBackedValuesAreCopiedOnRead() throws Exception {
+        for(boolean direct : new boolean[] { false, true }) {
+            ByteBuffer source = buffer(direct);
+            OdmaBinaryProperty property = OdmaBinaryProperty.fromBuffer(NAME, source, false);
+            assertEquals(2, source.position());
+            assertFalse(property.isDirty());
+            byte[] value = property.getBinary();
+            assertArrayEquals(TAIL, value);
+            assertNotSame(value, property.getBinary());
+            assertArrayEquals(TAIL, (byte[])property.getValue());
+            value[0] = 42;
+            assertArrayEquals("a modified copy changed the value", TAIL, property.getBinary());
+            ByteBuffer view = property.getBinaryBuffer();
+            assertTrue(view.isReadOnly());
+            assertEquals(direct, view.isDirect());
+            assertArrayEquals(TAIL, bytes(view));
+            view.get();
+            assertEquals("views do not share their position", TAIL.length, property.getBinaryBuffer().remaining());
+            try {
+                view.put(0, (byte)42);
+                fail("view is writable");
+            } catch(ReadOnlyBufferException e) {
+                // expected
+            }
+        }
+        OdmaBinaryProperty empty = OdmaBinaryProperty.fromBuffer(NAME, null, false);
+        assertNull(empty.getBinary());
+        assertNull(empty.getBinaryBuffer());
+    }
+
+    @Test
+    public void testArrayBackedValuesAreNotCopied() throws Exception {
+        byte[] value = { 1, 2, 3 };
+        OdmaBinaryProperty property = new OdmaBinaryProperty(NAME, value, false);
+        assertSame(value, property.getBinary());
+        ByteBuffer view = property.getBinaryBuffer();
+        assertTrue(view.isReadOnly());
+        assertArrayEquals(value, bytes(view));
+        value[0] = 42;
+        assertEquals(42, view.get(0));
+        assertNull(new OdmaBinaryProperty(NAME, null, false).getBinaryBuffer());
+    }
+
+    @Test
+    public void testSetBinaryBuffer() throws Exception {
+        byte[] initial = { 1, 2, 3 };
+        OdmaBinaryProperty property = new OdmaBinaryProperty(NAME, initial, false);
+        ByteBuffer source = buffer(true);
+        property.setBinaryBuffer(source);
+        assertTrue(property.isDirty());
+        assertEquals(2, source.position());
+        assertArrayEquals(TAIL, property.getBinary());
+        assertArrayEquals(TAIL, bytes(property.getBinaryBuffer()));
+        property.setValue(initial);
+        assertSame("a byte[] value replaces the buffer", initial, property.getBinary());
+        property.setBinaryBuffer(source);
+        property.setBinaryBuffer(null);
+        assertNull(property.getBinary());
+        assertNull(property.getBinaryBuffer());
+        try {
+            property.setValue(source);
+            fail("a ByteBuffer was accepted by setValue");
+        } catch(OdmaInvalidDataTypeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReadOnlyPropertyRejectsBuffer() throws Exception {
+        OdmaBinaryProperty property = OdmaBinaryProperty.fromBuffer(NAME, buffer(false), true);
+        try {
+            property.setBinaryBuffer(buffer(false));
+            fail("read-only property was set");
+        } catch(OdmaAccessDeniedException e) {
+            // expected
+        }
+        assertFalse(property.isDirty());
+        assertArrayEquals(TAIL, property.getBinary());
+    }
+
+    @Test
+    public void testBufferReplacesLazyValue() throws Exception {
+        final int[] resolved = new int[1];
+        OdmaBinaryProperty property = OdmaBinaryProperty.fromValueProvider(NAME, new OdmaLazyPropertyValueProvider() {
+            public boolean hasReferenceId() {
+                return false;
+            }
+            public OdmaId getReferenceId() {
+                return null;
+            }
+            public Object resovlePropertyValue() {
+                resolved[0]++;
+                return new byte[] { 1 };
+            }
+        }, false);
+        property.setBinaryBuffer(buffer(false));
+        assertArrayEquals(TAIL, property.getBinary());
+        assertEquals(0, resolved[0]);
+    }
+
+    @Test
+    public void testDefaultBufferMethods() throws Exception {
+        OdmaProperty property = OdmaPropertyImpl.fromValue(NAME, new byte[] { 1, 2, 3 }, OdmaType.BINARY, false, false);
+        ByteBuffer view = property.getBinaryBuffer();
+        assertTrue(view.isReadOnly());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, bytes(view));
+        ByteBuffer source = buffer(false);
+        property.setBinaryBuffer(source);
+        assertEquals(2, source.position());
+        source.put(2, (byte)42);
+        assertArrayEquals("the default setter copies the buffer", TAIL, property.getBinary());
+        property.setBinaryBuffer(null);
+        assertNull(property.getBinaryBuffer());
+        OdmaProperty integer = OdmaPropertyImpl.fromValue(NAME, Integer.valueOf(1), OdmaType.INTEGER, false, false);
+        try {
+            integer.getBinaryBuffer();
+            fail("Integer property returned a buffer");
+        } catch(OdmaInvalidDataTypeException e) {
+            // expected
+        }
+        try {
+            integer.setBinaryBuffer(buffer(false));
+            fail("Integer property was set to a buffer");
+        } catch(OdmaInvalidDataTypeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBinaryBufferList() throws Exception {
+        List<byte[]> values = Arrays.asList(new byte[] { 1 }, new byte[] { 2, 3 });
+        List<ByteBuffer> buffers = OdmaBinaryListProperty.fromValue(NAME, values, false).getBinaryBufferList();
+        assertEquals(2, buffers.size());
+        assertTrue(buffers.get(1).isReadOnly());
+        assertArrayEquals(values.get(1), bytes(buffers.get(1)));
+        try {
+            buffers.add(null);
+            fail("buffer list is modifiable");
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            new OdmaBinaryProperty(NAME, new byte[0], false).getBinaryBufferList();
+            fail("single-valued property returned a buffer list");
+        } catch(OdmaInvalidDataTypeException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,291 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendma.api.OdmaAuditStamped;
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaDataContentElement;
+
+public class OdmaContentCacheTests {
+
+    private Path dir;
+
+    @Before
+    public void createDirectory() throws IOException {
+        dir = Files.createTempDirectory("odmacontentcache");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        for(Path file : files()) {
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    private List<Path> files() throws IOException {
+        List<Path> files = new ArrayList<Path>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for(Path file : stream) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static byte[] data(int size, int seed) {
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; i++) {
+            data[i] = (byte)(i + seed);
+        }
+        return data;
+    }
+
+    private static byte[] read(OdmaContent content) throws IOException {
+        try (InputStream in = content.getStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1000];
+            int read;
+            while((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @Test
+    public void testHitsAreServedFromTheCache() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 1000);
+        OdmaTestContentElement element = new OdmaTestContentElement("a", data(100, 0));
+        OdmaContent content = cache.getContent(element.element());
+        assertTrue(content instanceof OdmaFileContent);
+        assertArrayEquals(element.data, read(content));
+        assertArrayEquals(element.data, read(cache.getContent(element.element())));
+        assertEquals(1, element.contentRequests.get());
+        assertEquals(100, cache.getTotalBytes());
+        assertEquals(1, files().size());
+    }
+
+    @Test
+    public void testModifiedContentIsDownloadedAgain() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 1000);
+        OdmaTestContentElement element = new OdmaTestContentElement("a", data(100, 0));
+        element.lastModified = new Date(1000);
+        OdmaDataContentElement stamped = element.element(true);
+        assertEquals(element.getGuid() + "@1000#100", OdmaContentCache.getContentKey(stamped));
+        assertEquals(element.getGuid() + "#100", OdmaContentCache.getContentKey(element.element()));
+        cache.getContent(stamped);
+        element.data = data(100, 1);
+        element.lastModified = new Date(2000);
+        assertArrayEquals(element.data, read(cache.getContent(stamped)));
+        element.data = data(50, 2);
+        element.size = Long.valueOf(50);
+        assertArrayEquals(element.data, read(cache.getContent(stamped)));
+        assertEquals(3, element.contentRequests.get());
+        assertEquals(250, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 250);
+        OdmaTestContentElement a = new OdmaTestContentElement("a", data(100, 0));
+        OdmaTestContentElement b = new OdmaTestContentElement("b", data(100, 1));
+        OdmaTestContentElement c = new OdmaTestContentElement("c", data(100, 2));
+        cache.getContent(a.element());
+        cache.getContent(b.element());
+        cache.getContent(a.element());
+        cache.getContent(c.element());
+        assertEquals(200, cache.getTotalBytes());
+        assertEquals(2, files().size());
+        cache.getContent(a.element());
+        cache.getContent(c.element());
+        assertEquals(1, a.contentRequests.get());
+        assertEquals(1, c.contentRequests.get());
+        assertArrayEquals(b.data, read(cache.getContent(b.element())));
+        assertEquals(2, b.contentRequests.get());
+        assertEquals(200, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testEvictedFilesAreDownloadedAgain() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 1000);
+        OdmaTestContentElement element = new OdmaTestContentElement("a", data(100, 0));
+        cache.getContent(element.element());
+        for(Path file : files()) {
+            Files.delete(file);
+        }
+        assertArrayEquals(element.data, read(cache.getContent(element.element())));
+        assertEquals(2, element.contentRequests.get());
+        assertEquals(100, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testConcurrentReadsAreDeduplicated() throws Exception {
+        final OdmaContentCache cache = new OdmaContentCache(dir, 1000);
+        final OdmaTestContentElement element = new OdmaTestContentElement("a", data(100, 0));
+        element.delayMillis = 200;
+        final List<Object> results = Collections.synchronizedList(new ArrayList<Object>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for(int i = 0; i < 8; i++) {
+            threads.add(new Thread() {
+                public void run() {
+                    try {
+                        results.add(read(cache.getContent(element.element())));
+                    } catch(Throwable t) {
+                        results.add(t);
+                    }
+                }
+            });
+        }
+        for(Thread thread : threads) {
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, element.contentRequests.get());
+        assertEquals(8, results.size());
+        for(Object result : results) {
+            assertArrayEquals(element.data, (byte[])result);
+        }
+        assertEquals(100, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testFailuresArePropagatedToWaiters() throws Exception {
+        final OdmaContentCache cache = new OdmaContentCache(dir, 1000);
+        final OdmaTestContentElement element = new OdmaTestContentElement("a", data(100, 0));
+        Error failure = new Error("download failed");
+        element.failure = failure;
+        element.delayMillis = 200;
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for(int i = 0; i < 4; i++) {
+            threads.add(new Thread() {
+                public void run() {
+                    try {
+                        cache.getContent(element.element());
+                    } catch(Throwable t) {
+                        failures.add(t);
+                    }
+                }
+            });
+        }
+        for(Thread thread : threads) {
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join(10000);
+            assertFalse("reader blocked on a failed fill", thread.isAlive());
+        }
+        assertEquals(4, failures.size());
+        for(Throwable t : failures) {
+            assertSame(failure, t);
+        }
+        element.failure = null;
+        element.delayMillis = 0;
+        assertArrayEquals(element.data, read(cache.getContent(element.element())));
+    }
+
+    @Test
+    public void testOversizedContentIsNotCached() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 100);
+        OdmaTestContentElement known = new OdmaTestContentElement("a", data(150, 0));
+        OdmaContent content = cache.getContent(known.element());
+        assertFalse(content instanceof OdmaFileContent);
+        assertArrayEquals(known.data, read(content));
+        assertEquals(1, known.contentRequests.get());
+        OdmaTestContentElement unknown = new OdmaTestContentElement("b", data(150, 1));
+        unknown.size = null;
+        content = cache.getContent(unknown.element());
+        assertFalse(content instanceof OdmaFileContent);
+        assertArrayEquals(unknown.data, read(content));
+        assertEquals(2, unknown.contentRequests.get());
+        assertEquals(0, cache.getTotalBytes());
+        assertTrue(files().isEmpty());
+    }
+
+    @Test
+    public void testElementsWithoutContent() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 100);
+        assertNull(cache.getContent(new OdmaTestContentElement("a", null).element()));
+        assertEquals(0, cache.getTotalBytes());
+        assertTrue(files().isEmpty());
+    }
+
+    @Test
+    public void testFilesAreAdoptedOnRestart() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 1000);
+        OdmaTestContentElement element = new OdmaTestContentElement("a", data(100, 0));
+        cache.getContent(element.element());
+        Files.write(dir.resolve("partial.tmp"), data(10, 0));
+        OdmaContentCache restarted = new OdmaContentCache(dir, 1000);
+        assertEquals(100, restarted.getTotalBytes());
+        assertFalse(Files.exists(dir.resolve("partial.tmp")));
+        assertArrayEquals(element.data, read(restarted.getContent(element.element())));
+        assertEquals(1, element.contentRequests.get());
+        restarted.clear();
+        assertEquals(0, restarted.getTotalBytes());
+        assertTrue(files().isEmpty());
+    }
+
+    @Test
+    public void testDecoratedElementsUseTheCache() throws IOException {
+        OdmaContentCache cache = new OdmaContentCache(dir, 1000);
+        OdmaTestContentElement element = new OdmaTestContentElement("a", data(100, 0));
+        element.lastModified = new Date(1000);
+        OdmaDataContentElement decorated = cache.decorate(element.element(true));
+        assertTrue(decorated instanceof OdmaAuditStamped);
+        assertEquals(element.getGuid(), decorated.getGuid());
+        assertEquals(Long.valueOf(100), decorated.getSize());
+        OdmaContent content = decorated.getContent();
+        assertNotNull(content);
+        assertArrayEquals(element.data, read(content));
+        assertArrayEquals(element.data, read(decorated.getContent()));
+        assertEquals(1, element.contentRequests.get());
+        try {
+            decorated.getFileName();
+            fail("unsupported method was not delegated");
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() throws IOException {
+        try {
+            new OdmaContentCache(null, 100);
+            fail("null directory");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaContentCache(dir, 0);
+            fail("zero size");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
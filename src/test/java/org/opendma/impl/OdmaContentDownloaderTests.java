@@ -0,0 +1,299 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendma.api.OdmaContentElement;
+import org.opendma.api.OdmaDataContentElement;
+import org.opendma.api.OdmaDocument;
+import org.opendma.api.OdmaReferenceContentElement;
+import org.opendma.impl.OdmaContentDownloader.Download;
+import org.opendma.impl.OdmaContentDownloader.OdmaContentSink;
+
+public class OdmaContentDownloaderTests {
+
+    private ExecutorService executor;
+
+    /**
+     * Sink collecting the data written per content element. Fails to open the channel for the given element.
+     * Can be set up to accept only part of the data like a channel in non-blocking mode.
+     */
+    private static class CollectingSink implements OdmaContentSink {
+
+        final Map<OdmaDataContentElement, ByteArrayOutputStream> written = new ConcurrentHashMap<OdmaDataContentElement, ByteArrayOutputStream>();
+
+        final AtomicInteger running = new AtomicInteger();
+
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final AtomicInteger openChannels = new AtomicInteger();
+
+        volatile OdmaDataContentElement failing;
+
+        volatile long writeDelayMillis;
+
+        /** if positive, the maximum number of bytes accepted by a write. Every other write accepts none. */
+        volatile int partialWrites;
+
+        /** if not negative, the number of bytes a channel accepts before it stays full */
+        volatile long capacity = -1;
+
+        public WritableByteChannel open(OdmaDocument document, OdmaDataContentElement element) throws IOException {
+            if(element == failing) {
+                throw new IOException("cannot open sink for "+element);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            written.put(element, out);
+            int now = running.incrementAndGet();
+            while(true) {
+                int max = maxRunning.get();
+                if(now <= max || maxRunning.compareAndSet(max, now)) {
+                    break;
+                }
+            }
+            openChannels.incrementAndGet();
+            return new WritableByteChannel() {
+                private boolean open = true;
+                private boolean full;
+                public int write(ByteBuffer src) throws IOException {
+                    if(writeDelayMillis > 0) {
+                        try {
+                            Thread.sleep(writeDelayMillis);
+                        } catch(InterruptedException e) {
+                            throw new IOException(e);
+                        }
+                    }
+                    int count = src.remaining();
+                    if(capacity >= 0) {
+                        count = (int)Math.min(count, capacity - out.size());
+                    }
+                    if(partialWrites > 0) {
+                        full = !full;
+                        count = full ? 0 : Math.min(count, partialWrites);
+                    }
+                    byte[] bytes = new byte[count];
+                    src.get(bytes);
+                    out.write(bytes);
+                    return count;
+                }
+                public boolean isOpen() {
+                    return open;
+                }
+                public void close() {
+                    if(open) {
+                        open = false;
+                        running.decrementAndGet();
+                        openChannels.decrementAndGet();
+                    }
+                }
+            };
+        }
+
+    }
+
+    private static OdmaDocument document(final OdmaContentElement... elements) {
+        return (OdmaDocument)Proxy.newProxyInstance(OdmaContentDownloaderTests.class.getClassLoader(), new Class<?>[] { OdmaDocument.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if("getContentElements".equals(method.getName())) {
+                    return elements == null ? null : Arrays.asList(elements);
+                }
+                throw new UnsupportedOperationException("Unsupported method: " + method.getName());
+            }
+        });
+    }
+
+    private static OdmaTestContentElement element(String id, Integer position, int size) {
+        byte[] data = new byte[size];
+        Arrays.fill(data, (byte)id.charAt(0));
+        OdmaTestContentElement element = new OdmaTestContentElement(id, data);
+        element.position = position;
+        return element;
+    }
+
+    private static List<Integer> positions(List<Download> downloads) {
+        List<Integer> positions = new ArrayList<Integer>();
+        for(Download download : downloads) {
+            positions.add(download.getElement().getPosition());
+        }
+        return positions;
+    }
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testResultsAreOrderedByPosition() {
+        OdmaTestContentElement third = element("c", 3, 100);
+        OdmaTestContentElement first = element("a", 1, 200000);
+        OdmaTestContentElement unpositioned = element("x", null, 10);
+        OdmaTestContentElement second = element("b", 2, 300);
+        // later positions complete first
+        first.delayMillis = 150;
+        second.delayMillis = 100;
+        third.delayMillis = 50;
+        OdmaDataContentElement[] elements = { third.element(), first.element(), unpositioned.element(), second.element() };
+        CollectingSink sink = new CollectingSink();
+        OdmaDocument document = document(elements);
+        List<Download> downloads = new OdmaContentDownloader(4, executor).download(document, sink);
+        assertEquals(Arrays.asList(1, 2, 3, null), positions(downloads));
+        for(Download download : downloads) {
+            assertTrue(download.isSuccessful());
+            assertSame(document, download.getDocument());
+            assertEquals(download.getElement().getSize().longValue(), download.getBytes());
+        }
+        assertSame(elements[1], downloads.get(0).getElement());
+        assertArrayEquals(first.data, sink.written.get(elements[1]).toByteArray());
+        assertEquals(0, sink.openChannels.get());
+    }
+
+    @Test
+    public void testFailuresAreIsolated() {
+        OdmaTestContentElement failingContent = element("a", 1, 100);
+        RuntimeException failure = new RuntimeException("back-end unavailable");
+        failingContent.failure = failure;
+        OdmaTestContentElement failingSink = element("b", 2, 100);
+        OdmaTestContentElement healthy = element("c", 3, 100);
+        CollectingSink sink = new CollectingSink();
+        sink.failing = failingSink.element();
+        List<Download> downloads = new OdmaContentDownloader(2, executor).download(document(failingContent.element(), sink.failing, healthy.element()), sink);
+        assertEquals(3, downloads.size());
+        assertSame(failure, downloads.get(0).getFailure());
+        assertEquals(-1, downloads.get(0).getBytes());
+        assertTrue(downloads.get(1).getFailure() instanceof IOException);
+        assertEquals(-1, downloads.get(1).getBytes());
+        assertTrue(downloads.get(2).isSuccessful());
+        assertEquals(100, downloads.get(2).getBytes());
+    }
+
+    @Test
+    public void testParallelismIsBounded() {
+        List<OdmaContentElement> elements = new ArrayList<OdmaContentElement>();
+        for(int i = 0; i < 12; i++) {
+            elements.add(element("e" + i, i, 10).element());
+        }
+        CollectingSink sink = new CollectingSink();
+        sink.writeDelayMillis = 20;
+        List<Download> downloads = new OdmaContentDownloader(3, executor).download(document(elements.toArray(new OdmaContentElement[0])), sink);
+        assertEquals(12, downloads.size());
+        assertTrue("more than 3 downloads were running", sink.maxRunning.get() <= 3);
+        assertEquals(12, sink.written.size());
+    }
+
+    @Test
+    public void testBatchesKeepDocumentOrder() {
+        OdmaTestContentElement a2 = element("a", 2, 10);
+        OdmaTestContentElement a1 = element("b", 1, 10);
+        OdmaTestContentElement b1 = element("c", 1, 10);
+        OdmaTestContentElement empty = new OdmaTestContentElement("d", null);
+        empty.position = 2;
+        OdmaReferenceContentElement reference = (OdmaReferenceContentElement)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { OdmaReferenceContentElement.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                throw new UnsupportedOperationException("Unsupported method: " + method.getName());
+            }
+        });
+        OdmaDocument first = document(a2.element(), reference, a1.element());
+        OdmaDocument second = document(empty.element(), b1.element());
+        OdmaDocument none = document((OdmaContentElement[])null);
+        CollectingSink sink = new CollectingSink();
+        List<Download> downloads = new OdmaContentDownloader(2, executor).download(Arrays.asList(first, none, second), sink);
+        assertEquals(4, downloads.size());
+        assertSame(first, downloads.get(0).getDocument());
+        assertSame(first, downloads.get(1).getDocument());
+        assertSame(second, downloads.get(2).getDocument());
+        assertEquals(Arrays.asList(1, 2, 1, 2), positions(downloads));
+        assertTrue(downloads.get(3).isSuccessful());
+        assertEquals(-1, downloads.get(3).getBytes());
+        assertEquals(3, sink.written.size());
+        assertTrue(new OdmaContentDownloader(2, executor).download(Collections.<OdmaDocument>emptyList(), sink).isEmpty());
+    }
+
+    @Test
+    public void testPartialWritesAreContinued() {
+        OdmaTestContentElement element = element("a", 1, 1000);
+        CollectingSink sink = new CollectingSink();
+        sink.partialWrites = 300;
+        List<Download> downloads = new OdmaContentDownloader(1, executor).download(document(element.element()), sink);
+        assertTrue(downloads.get(0).isSuccessful());
+        assertEquals(1000, downloads.get(0).getBytes());
+        assertArrayEquals(element.data, sink.written.get(downloads.get(0).getElement()).toByteArray());
+    }
+
+    @Test
+    public void testTruncatedDownloadsFail() {
+        CollectingSink sink = new CollectingSink();
+        sink.capacity = 600;
+        List<Download> downloads = new OdmaContentDownloader(1, executor).download(document(element("a", 1, 1000).element()), sink);
+        assertFalse(downloads.get(0).isSuccessful());
+        assertTrue(downloads.get(0).getFailure() instanceof IOException);
+        assertEquals(-1, downloads.get(0).getBytes());
+        assertEquals(0, sink.openChannels.get());
+    }
+
+    @Test
+    public void testRejectedDownloadsAreReported() {
+        executor.shutdown();
+        CollectingSink sink = new CollectingSink();
+        List<Download> downloads = new OdmaContentDownloader(1, executor).download(document(element("a", 1, 10).element(), element("b", 2, 10).element()), sink);
+        assertEquals(2, downloads.size());
+        for(Download download : downloads) {
+            assertFalse(download.isSuccessful());
+            assertTrue(download.getFailure() instanceof RejectedExecutionException);
+        }
+        assertTrue(sink.written.isEmpty());
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        try {
+            new OdmaContentDownloader(0, executor);
+            fail("zero parallelism");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaContentDownloader(1, null);
+            fail("null executor");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaContentDownloader(1, executor).download(document(), null);
+            fail("null sink");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.Test;
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaDataContentElement;
+
+public class OdmaDigestCacheTests {
+
+    private static byte[] sha256(byte[] data) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(data);
+    }
+
+    private static void readAll(OdmaContent content) throws IOException {
+        try (InputStream in = content.getStream()) {
+            while(in.read(new byte[1000]) >= 0) {
+                // digested by the stream
+            }
+        }
+    }
+
+    @Test
+    public void testDigestsAreCachedWhileReading() throws Exception {
+        OdmaDigestCache cache = new OdmaDigestCache(10, "SHA-256");
+        OdmaTestContentElement element = new OdmaTestContentElement("a", new byte[] { 1, 2, 3 });
+        assertNull(cache.getDigests(element.element()));
+        OdmaContent content = cache.getContent(element.element());
+        assertTrue(content instanceof OdmaDigestingContent);
+        assertNull(cache.getDigests(element.element()));
+        readAll(content);
+        Map<String, byte[]> digests = cache.getDigests(element.element());
+        assertArrayEquals(sha256(element.data), digests.get("SHA-256"));
+        assertFalse(cache.getContent(element.element()) instanceof OdmaDigestingContent);
+        assertSame(digests, cache.computeDigests(element.element()));
+        assertEquals(2, element.contentRequests.get());
+    }
+
+    @Test
+    public void testComputeDigestsReadsOnce() throws Exception {
+        OdmaDigestCache cache = new OdmaDigestCache(10, "SHA-256", "CRC32");
+        OdmaTestContentElement element = new OdmaTestContentElement("a", new byte[] { 1, 2, 3 });
+        Map<String, byte[]> digests = cache.computeDigests(element.element());
+        assertArrayEquals(sha256(element.data), digests.get("SHA-256"));
+        assertEquals(4, digests.get("CRC32").length);
+        assertSame(digests, cache.computeDigests(element.element()));
+        assertEquals(1, element.contentRequests.get());
+        assertNull(cache.computeDigests(new OdmaTestContentElement("b", null).element()));
+        assertNull(cache.getContent(new OdmaTestContentElement("b", null).element()));
+    }
+
+    @Test
+    public void testModifiedElementsAreComputedAgain() throws Exception {
+        OdmaDigestCache cache = new OdmaDigestCache(10, "SHA-256");
+        OdmaTestContentElement element = new OdmaTestContentElement("a", new byte[] { 1, 2, 3 });
+        element.lastModified = new Date(1000);
+        OdmaDataContentElement stamped = element.element(true);
+        cache.computeDigests(stamped);
+        element.data = new byte[] { 4, 5, 6 };
+        element.lastModified = new Date(2000);
+        assertNull(cache.getDigests(stamped));
+        assertArrayEquals(sha256(element.data), cache.computeDigests(stamped).get("SHA-256"));
+        assertEquals(2, element.contentRequests.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreRemoved() throws Exception {
+        OdmaDigestCache cache = new OdmaDigestCache(2, "SHA-256");
+        OdmaTestContentElement a = new OdmaTestContentElement("a", new byte[] { 1 });
+        OdmaTestContentElement b = new OdmaTestContentElement("b", new byte[] { 2 });
+        OdmaTestContentElement c = new OdmaTestContentElement("c", new byte[] { 3 });
+        cache.computeDigests(a.element());
+        cache.computeDigests(b.element());
+        assertNotNull(cache.getDigests(a.element()));
+        cache.computeDigests(c.element());
+        assertNotNull(cache.getDigests(a.element()));
+        assertNull(cache.getDigests(b.element()));
+        assertNotNull(cache.getDigests(c.element()));
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        try {
+            new OdmaDigestCache(0, "SHA-256");
+            fail("zero entries");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaDigestCache(1);
+            fail("no algorithms");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaDigestCache(1, "SHA-256", "NO-SUCH-DIGEST");
+            fail("unsupported algorithm");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.opendma.api.OdmaContent;
+
+public class OdmaDigestingContentTests {
+
+    private static final byte[] CHECK = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Content serving the given data and counting the streams opened.
+     */
+    private static class CountingContent implements OdmaContent {
+
+        final byte[] data;
+
+        int streams;
+
+        CountingContent(byte[] data) {
+            this.data = data;
+        }
+
+        public InputStream getStream() {
+            streams++;
+            return new ByteArrayInputStream(data);
+        }
+
+        public long getSize() {
+            return data.length;
+        }
+
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; i++) {
+            data[i] = (byte)(i % 251);
+        }
+        return data;
+    }
+
+    private static byte[] sha256(byte[] data) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(data);
+    }
+
+    @Test
+    public void testDigestsAreFinalizedAtEndOfStream() throws Exception {
+        byte[] data = data(200000);
+        OdmaDigestingContent content = new OdmaDigestingContent(new CountingContent(data), "SHA-256", "MD5");
+        assertEquals(data.length, content.getSize());
+        InputStream in = content.getStream();
+        byte[] buffer = new byte[1000];
+        int total = 0;
+        int read;
+        while(total < data.length && (read = in.read(buffer)) > 0) {
+            total += read;
+        }
+        assertNull("digests before the end of the stream", content.getDigests());
+        assertEquals(-1, in.read(buffer));
+        in.close();
+        Map<String, byte[]> digests = content.getDigests();
+        assertEquals(Arrays.asList("SHA-256", "MD5"), Arrays.asList(digests.keySet().toArray()));
+        assertArrayEquals(sha256(data), content.getDigest("SHA-256"));
+        assertArrayEquals(MessageDigest.getInstance("MD5").digest(data), content.getDigest("MD5"));
+        assertNull(content.getDigest("SHA-1"));
+        try {
+            digests.put("SHA-1", new byte[0]);
+            fail("digests are modifiable");
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSingleByteReadsAreDigested() throws Exception {
+        OdmaDigestingContent content = new OdmaDigestingContent(new CountingContent(CHECK), "SHA-256");
+        try (InputStream in = content.getStream()) {
+            while(in.read() >= 0) {
+                // digested by the stream
+            }
+        }
+        assertArrayEquals(sha256(CHECK), content.getDigest("SHA-256"));
+    }
+
+    @Test
+    public void testSkippedDataIsDigested() throws Exception {
+        byte[] data = data(100000);
+        OdmaDigestingContent content = new OdmaDigestingContent(new CountingContent(data), "SHA-256");
+        InputStream in = content.getStream();
+        assertEquals(50000, in.skip(50000));
+        assertEquals(0, in.skip(0));
+        assertEquals(0, in.skip(-5));
+        assertEquals(data[50000], (byte)in.read());
+        assertNull(content.getDigests());
+        assertEquals(data.length - 50001, in.skip(Long.MAX_VALUE));
+        assertArrayEquals("skipping to the end finalizes the digests", sha256(data), content.getDigest("SHA-256"));
+        in.close();
+    }
+
+    @Test
+    public void testIncompleteReadsLeaveDigestsUnchanged() throws Exception {
+        byte[] data = data(1000);
+        OdmaDigestingContent content = new OdmaDigestingContent(new CountingContent(data), "SHA-256");
+        InputStream in = content.getStream();
+        in.read(new byte[10]);
+        in.close();
+        assertNull(content.getDigests());
+        content.computeDigests();
+        Map<String, byte[]> digests = content.getDigests();
+        in = content.getStream();
+        in.read(new byte[10]);
+        in.close();
+        assertSame(digests, content.getDigests());
+        in = content.getStream(10, 20);
+        while(in.read() >= 0) {
+            // a range is not the full content
+        }
+        assertSame(digests, content.getDigests());
+    }
+
+    @Test
+    public void testTransfersAreDigested() throws Exception {
+        byte[] data = data(200000);
+        OdmaDigestingContent content = new OdmaDigestingContent(new CountingContent(data), "SHA-256");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(data.length, content.transferTo(Channels.newChannel(out)));
+        assertArrayEquals(data, out.toByteArray());
+        assertArrayEquals(sha256(data), content.getDigest("SHA-256"));
+    }
+
+    @Test
+    public void testComputeDigestsReadsOnce() throws Exception {
+        CountingContent delegate = new CountingContent(CHECK);
+        OdmaDigestingContent content = new OdmaDigestingContent(delegate, "SHA-256", "CRC32", "CRC32C");
+        Map<String, byte[]> digests = content.computeDigests();
+        assertSame(digests, content.computeDigests());
+        assertEquals(1, delegate.streams);
+        assertArrayEquals(sha256(CHECK), digests.get("SHA-256"));
+        assertEquals("cbf43926", OdmaDigestingContent.toHex(digests.get("CRC32")));
+        assertEquals("e3069283", OdmaDigestingContent.toHex(digests.get("CRC32C")));
+    }
+
+    @Test
+    public void testMarkIsNotSupported() throws IOException {
+        InputStream in = new OdmaDigestingContent(new CountingContent(CHECK), "CRC32").getStream();
+        assertFalse(in.markSupported());
+        in.mark(10);
+        try {
+            in.reset();
+            fail("reset on a digesting stream");
+        } catch(IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        CountingContent delegate = new CountingContent(CHECK);
+        String[][] algorithms = { null, {}, { "SHA-256", "NO-SUCH-DIGEST" } };
+        for(String[] a : algorithms) {
+            try {
+                new OdmaDigestingContent(delegate, a);
+                fail("invalid algorithms "+Arrays.toString(a));
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            new OdmaDigestingContent(null, "SHA-256");
+            fail("null delegate");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(0, delegate.streams);
+    }
+
+}
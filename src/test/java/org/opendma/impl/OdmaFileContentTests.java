@@ -0,0 +1,165 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendma.exceptions.OdmaRuntimeException;
+
+public class OdmaFileContentTests {
+
+    private Path dir;
+
+    private Path file;
+
+    private byte[] data;
+
+    @Before
+    public void createFile() throws IOException {
+        dir = Files.createTempDirectory("odmafilecontent");
+        file = dir.resolve("content.bin");
+        data = new byte[300000];
+        for(int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i % 251);
+        }
+        Files.write(file, data);
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for(Path f : files) {
+                Files.delete(f);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1000];
+            int read;
+            while((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testFileIsReadAndTransferred() throws IOException {
+        OdmaFileContent content = new OdmaFileContent(file);
+        assertEquals(data.length, content.getSize());
+        assertArrayEquals(data, readAll(content.getStream()));
+        ReadableByteChannel channel = content.getChannel();
+        assertTrue(channel instanceof FileChannel);
+        assertArrayEquals(data, readAll(Channels.newInputStream(channel)));
+        Path copy = dir.resolve("copy.bin");
+        try (FileChannel target = FileChannel.open(copy, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            assertEquals(data.length, content.transferTo(target));
+        }
+        assertArrayEquals(data, Files.readAllBytes(copy));
+    }
+
+    @Test
+    public void testTransferStopsAtFullNonBlockingTarget() throws IOException {
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        WritableByteChannel target = new WritableByteChannel() {
+            public int write(ByteBuffer src) {
+                int count = Math.min(src.remaining(), 10000 - written.size());
+                for(int i = 0; i < count; i++) {
+                    written.write(src.get());
+                }
+                return count;
+            }
+            public boolean isOpen() {
+                return true;
+            }
+            public void close() {
+            }
+        };
+        long transferred = new OdmaFileContent(file).transferTo(target);
+        assertEquals(10000, transferred);
+        assertArrayEquals(Arrays.copyOf(data, 10000), written.toByteArray());
+    }
+
+    @Test
+    public void testMissingFileFails() {
+        OdmaFileContent content = new OdmaFileContent(dir.resolve("missing.bin"));
+        try {
+            content.getStream();
+            fail("missing file was opened");
+        } catch(OdmaRuntimeException e) {
+            // expected
+        }
+        try {
+            content.getSize();
+            fail("missing file has a size");
+        } catch(OdmaRuntimeException e) {
+            // expected
+        }
+        try {
+            new OdmaFileContent(null);
+            fail("null file");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRangesAreTransferred() throws IOException {
+        OdmaFileContent content = new OdmaFileContent(file);
+        long[][] ranges = { { 0, -1 }, { 0, 10 }, { 250000, 100 }, { 299990, 100 }, { 100000, -1 }, { 100, 0 }, { 300000, 10 }, { 400000, -1 }, { 0, Long.MAX_VALUE }, { 1000, Long.MAX_VALUE }, { 400000, Long.MAX_VALUE } };
+        for(long[] range : ranges) {
+            int from = (int)Math.min(range[0], data.length);
+            int to = range[1] < 0 || range[1] > data.length - from ? data.length : (int)(from + range[1]);
+            byte[] expected = Arrays.copyOfRange(data, from, to);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(expected.length, content.transferTo(range[0], range[1], Channels.newChannel(out)));
+            assertArrayEquals(expected, out.toByteArray());
+            assertArrayEquals(expected, readAll(content.getStream(range[0], range[1])));
+        }
+    }
+
+    @Test
+    public void testInvalidRangesAreRejected() throws IOException {
+        OdmaFileContent content = new OdmaFileContent(file);
+        long[][] ranges = { { -1, 10 }, { 0, -2 } };
+        for(long[] range : ranges) {
+            try {
+                content.transferTo(range[0], range[1], Channels.newChannel(new ByteArrayOutputStream()));
+                fail("invalid range "+range[0]+", "+range[1]);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                content.getChannel(range[0], range[1]);
+                fail("invalid range "+range[0]+", "+range[1]);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaProperty.PropertyResolutionState;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaServiceException;
+import org.opendma.impl.OdmaPropertyImpl.OdmaLazyPropertyValueProvider;
+
+public class OdmaLazyPropertyTests {
+
+    private static final OdmaQName NAME = new OdmaQName("test", "property");
+
+    /**
+     * Provider counting its resolutions. Fails the first <code>failures</code> resolutions.
+     */
+    private static class CountingProvider implements OdmaLazyPropertyValueProvider {
+
+        final AtomicInteger resolutions = new AtomicInteger();
+
+        private final Object value;
+
+        private final int failures;
+
+        private final long delayMillis;
+
+        private final List<OdmaId> referenceIds;
+
+        CountingProvider(Object value, int failures, long delayMillis, List<OdmaId> referenceIds) {
+            this.value = value;
+            this.failures = failures;
+            this.delayMillis = delayMillis;
+            this.referenceIds = referenceIds;
+        }
+
+        CountingProvider(Object value) {
+            this(value, 0, 0, null);
+        }
+
+        public boolean hasReferenceId() {
+            return false;
+        }
+
+        public OdmaId getReferenceId() {
+            return null;
+        }
+
+        public Object resovlePropertyValue() {
+            int resolution = resolutions.incrementAndGet();
+            if(delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if(resolution <= failures) {
+                throw new IllegalStateException("back-end not available");
+            }
+            return value;
+        }
+
+        @Override
+        public boolean hasReferenceIds() {
+            return referenceIds != null;
+        }
+
+        @Override
+        public List<OdmaId> getReferenceIds() {
+            return referenceIds;
+        }
+
+    }
+
+    private static List<OdmaPropertyBase> create(OdmaLazyPropertyValueProvider provider, OdmaType type, boolean multiValue) {
+        return Arrays.<OdmaPropertyBase>asList(OdmaPropertyFactory.fromValueProvider(NAME, provider, type, multiValue, false), OdmaPropertyImpl.fromValueProvider(NAME, provider, type, multiValue, false));
+    }
+
+    private static OdmaObject object(String id) {
+        OdmaTestCoreObject coreObject = new OdmaTestCoreObject().put(OdmaCommonNames.PROPERTY_ID, new OdmaId(id), OdmaType.ID, false);
+        return OdmaProxyFactory.createProxy(coreObject, OdmaLazyPropertyTests.class.getClassLoader(), Arrays.asList(OdmaCommonNames.CLASS_OBJECT));
+    }
+
+    @Test
+    public void testValueIsResolvedOnce() throws Exception {
+        CountingProvider provider = new CountingProvider("value");
+        for(OdmaPropertyBase property : create(provider, OdmaType.STRING, false)) {
+            provider.resolutions.set(0);
+            assertSame(PropertyResolutionState.UNRESOLVED, property.getResolutionState());
+            assertEquals("value", property.getString());
+            assertEquals("value", property.getValue());
+            assertEquals(1, provider.resolutions.get());
+            assertSame(PropertyResolutionState.RESOLVED, property.getResolutionState());
+            assertFalse(property.isDirty());
+        }
+    }
+
+    @Test
+    public void testConcurrentReadersResolveOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for(int round = 0; round < 20; round++) {
+                CountingProvider provider = new CountingProvider("value", 0, 5, null);
+                for(final OdmaPropertyBase property : create(provider, OdmaType.STRING, false)) {
+                    provider.resolutions.set(0);
+                    final CountDownLatch start = new CountDownLatch(1);
+                    List<Future<Object>> reads = new ArrayList<Future<Object>>();
+                    for(int i = 0; i < 8; i++) {
+                        reads.add(executor.submit(new Callable<Object>() {
+                            @Override
+                            public Object call() throws Exception {
+                                start.await();
+                                return property.getString();
+                            }
+                        }));
+                    }
+                    start.countDown();
+                    for(Future<Object> read : reads) {
+                        assertEquals("value", read.get());
+                    }
+                    assertEquals(1, provider.resolutions.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedResolutionIsRetried() throws Exception {
+        for(boolean specialized : new boolean[] { true, false }) {
+            CountingProvider provider = new CountingProvider(Integer.valueOf(1), 1, 0, null);
+            OdmaPropertyBase property = create(provider, OdmaType.INTEGER, false).get(specialized ? 0 : 1);
+            try {
+                property.getInteger();
+                fail("resolution failure was swallowed");
+            } catch(IllegalStateException e) {
+                // expected
+            }
+            assertSame(PropertyResolutionState.UNRESOLVED, property.getResolutionState());
+            assertEquals(1, property.getIntValue());
+            assertEquals(2, provider.resolutions.get());
+        }
+    }
+
+    @Test
+    public void testWrongValueFromProviderIsRejected() throws Exception {
+        for(OdmaPropertyBase property : create(new CountingProvider("not a number"), OdmaType.INTEGER, false)) {
+            try {
+                property.getInteger();
+                fail("provider value of wrong type was accepted");
+            } catch(OdmaServiceException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSetValueDropsProvider() throws Exception {
+        CountingProvider provider = new CountingProvider("value");
+        for(OdmaPropertyBase property : create(provider, OdmaType.STRING, false)) {
+            property.setValue("other");
+            assertSame(PropertyResolutionState.RESOLVED, property.getResolutionState());
+            assertEquals("other", property.getString());
+        }
+        assertEquals(0, provider.resolutions.get());
+    }
+
+    @Test
+    public void testReferenceIdListWithoutResolution() throws Exception {
+        List<OdmaId> ids = Arrays.asList(new OdmaId("a"), new OdmaId("b"));
+        CountingProvider provider = new CountingProvider(Arrays.asList(object("a"), object("b")), 0, 0, ids);
+        for(OdmaPropertyBase property : create(provider, OdmaType.REFERENCE, true)) {
+            assertSame(PropertyResolutionState.IDRESOLVED, property.getResolutionState());
+            assertEquals(ids, property.getReferenceIdList());
+            assertEquals(0, provider.resolutions.get());
+        }
+        for(OdmaPropertyBase property : create(provider, OdmaType.REFERENCE, true)) {
+            int count = 0;
+            for(OdmaObject reference : property.getReferenceIterable()) {
+                assertEquals(ids.get(count++), reference.getId());
+            }
+            assertEquals(2, count);
+            assertSame(PropertyResolutionState.RESOLVED, property.getResolutionState());
+            assertEquals(ids, property.getReferenceIdList());
+        }
+    }
+
+    @Test
+    public void testReferenceIdListResolvesWithoutIds() throws Exception {
+        CountingProvider provider = new CountingProvider(Arrays.asList(object("a"), object("b")));
+        for(OdmaPropertyBase property : create(provider, OdmaType.REFERENCE, true)) {
+            provider.resolutions.set(0);
+            assertSame(PropertyResolutionState.UNRESOLVED, property.getResolutionState());
+            assertEquals(Arrays.asList(new OdmaId("a"), new OdmaId("b")), property.getReferenceIdList());
+            assertEquals(1, provider.resolutions.get());
+        }
+        for(OdmaProperty property : Arrays.<OdmaProperty>asList(OdmaPropertyFactory.fromValue(NAME, new ArrayList<OdmaObject>(), OdmaType.REFERENCE, true, false), OdmaPropertyImpl.fromValue(NAME, new ArrayList<OdmaObject>(), OdmaType.REFERENCE, true, false))) {
+            assertEquals(0, property.getReferenceIdList().size());
+        }
+    }
+
+    @Test
+    public void testReferenceIdWithoutResolution() throws Exception {
+        final OdmaId id = new OdmaId("a");
+        final AtomicInteger resolutions = new AtomicInteger();
+        OdmaLazyPropertyValueProvider provider = new OdmaLazyPropertyValueProvider() {
+            public boolean hasReferenceId() {
+                return true;
+            }
+            public OdmaId getReferenceId() {
+                return id;
+            }
+            public Object resovlePropertyValue() {
+                resolutions.incrementAndGet();
+                return object("a");
+            }
+        };
+        for(OdmaPropertyBase property : create(provider, OdmaType.REFERENCE, false)) {
+            resolutions.set(0);
+            assertSame(PropertyResolutionState.IDRESOLVED, property.getResolutionState());
+            assertSame(id, property.getReferenceId());
+            assertEquals(0, resolutions.get());
+            assertEquals(id, property.getReference().getId());
+            assertEquals(1, resolutions.get());
+            assertSame(PropertyResolutionState.RESOLVED, property.getResolutionState());
+        }
+        for(OdmaPropertyBase property : create(new CountingProvider(null), OdmaType.REFERENCE, false)) {
+            assertNull(property.getReferenceId());
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaTestPages;
+import org.opendma.impl.OdmaParallelScan.OdmaPageConsumer;
+import org.opendma.impl.OdmaParallelScan.Segment;
+
+public class OdmaParallelScanTests {
+
+    private ExecutorService executor;
+
+    /**
+     * Consumer collecting the IDs of all consumed objects. Fails once on the page starting with the given ID.
+     */
+    private static class CollectingConsumer implements OdmaPageConsumer<OdmaObject> {
+
+        final List<String> ids = Collections.synchronizedList(new ArrayList<String>());
+
+        final AtomicInteger running = new AtomicInteger();
+
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        volatile String failOnce;
+
+        volatile long delayMillis;
+
+        public void consume(List<OdmaObject> page) throws Exception {
+            int now = running.incrementAndGet();
+            try {
+                while(true) {
+                    int max = maxRunning.get();
+                    if(now <= max || maxRunning.compareAndSet(max, now)) {
+                        break;
+                    }
+                }
+                if(delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                String first = page.get(0).getId().toString();
+                if(first.equals(failOnce)) {
+                    failOnce = null;
+                    throw new Exception("failed to consume page "+first);
+                }
+                ids.addAll(OdmaTestPages.ids(page));
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        List<String> sortedIds() {
+            List<Integer> numbers = new ArrayList<Integer>();
+            synchronized(ids) {
+                for(String id : ids) {
+                    numbers.add(Integer.valueOf(id));
+                }
+            }
+            Collections.sort(numbers);
+            List<String> sorted = new ArrayList<String>();
+            for(Integer number : numbers) {
+                sorted.add(number.toString());
+            }
+            return sorted;
+        }
+
+    }
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private static void assertCompleted(List<Segment> segments) {
+        for(Segment segment : segments) {
+            assertTrue(segment.toString(), segment.isCompleted());
+            assertNull(segment.toString(), segment.getFailure());
+        }
+    }
+
+    @Test
+    public void testPartitionsAreScanned() {
+        CollectingConsumer consumer = new CollectingConsumer();
+        OdmaParallelScan<OdmaObject> scan = new OdmaParallelScan<OdmaObject>(new OdmaTestPages(100, 10), 3, executor);
+        List<Segment> segments = scan.scanPartitions(Arrays.asList("0", "30", "60"), consumer);
+        assertEquals(3, segments.size());
+        assertCompleted(segments);
+        assertEquals("30", segments.get(0).getEndMark());
+        assertEquals("30", segments.get(1).getStartMark());
+        assertEquals("60", segments.get(1).getEndMark());
+        assertNull(segments.get(2).getEndMark());
+        assertEquals(3, segments.get(0).getProcessedPages());
+        assertEquals(3, segments.get(1).getProcessedPages());
+        assertEquals(4, segments.get(2).getProcessedPages());
+        assertEquals(OdmaTestPages.range(0, 100), consumer.sortedIds());
+    }
+
+    @Test
+    public void testMarkChainCoversAllPages() {
+        CollectingConsumer consumer = new CollectingConsumer();
+        OdmaTestPages pages = new OdmaTestPages(100, 10);
+        List<Segment> segments = new OdmaParallelScan<OdmaObject>(pages, 2, executor).scanMarkChain(3, consumer);
+        assertEquals(4, segments.size());
+        assertCompleted(segments);
+        assertEquals("0", segments.get(0).getStartMark());
+        assertEquals("30", segments.get(0).getEndMark());
+        assertEquals("90", segments.get(3).getStartMark());
+        assertNull(segments.get(3).getEndMark());
+        assertEquals(1, segments.get(3).getProcessedPages());
+        assertEquals(OdmaTestPages.range(0, 100), consumer.sortedIds());
+        assertEquals(10, pages.fetchedPages.get());
+    }
+
+    @Test
+    public void testConsumerFailureIsIsolatedAndResumable() {
+        for(boolean markChain : new boolean[] { false, true }) {
+            CollectingConsumer consumer = new CollectingConsumer();
+            consumer.failOnce = "40";
+            OdmaParallelScan<OdmaObject> scan = new OdmaParallelScan<OdmaObject>(new OdmaTestPages(100, 10), 3, executor);
+            List<Segment> segments = markChain ? scan.scanMarkChain(3, consumer) : scan.scanPartitions(Arrays.asList("0", "30", "60"), consumer);
+            Segment failed = segments.get(1);
+            assertFalse(failed.isCompleted());
+            assertTrue(failed.getFailure() instanceof Exception);
+            assertEquals("40", failed.getCheckpoint());
+            assertEquals(1, failed.getProcessedPages());
+            assertTrue(segments.get(0).isCompleted());
+            assertTrue(segments.get(2).isCompleted());
+            segments = scan.resume(new ArrayList<Segment>(segments), consumer);
+            assertCompleted(segments);
+            assertEquals(3, failed.getProcessedPages());
+            assertEquals(OdmaTestPages.range(0, 100), consumer.sortedIds());
+        }
+    }
+
+    @Test
+    public void testFetchFailureEndsMarkChainResumably() {
+        CollectingConsumer consumer = new CollectingConsumer();
+        OdmaTestPages pages = new OdmaTestPages(100, 10);
+        pages.failAtOffset = 50;
+        OdmaParallelScan<OdmaObject> scan = new OdmaParallelScan<OdmaObject>(pages, 2, executor);
+        List<Segment> segments = scan.scanMarkChain(3, consumer);
+        Segment failed = segments.get(segments.size() - 1);
+        assertTrue(failed.getFailure() instanceof IllegalStateException);
+        assertEquals("50", failed.getCheckpoint());
+        assertEquals(OdmaTestPages.range(0, 50), consumer.sortedIds());
+        pages.failAtOffset = -1;
+        assertCompleted(scan.resume(segments, consumer));
+        assertEquals(OdmaTestPages.range(0, 100), consumer.sortedIds());
+    }
+
+    @Test
+    public void testParallelismIsBounded() {
+        CollectingConsumer consumer = new CollectingConsumer();
+        consumer.delayMillis = 5;
+        OdmaParallelScan<OdmaObject> scan = new OdmaParallelScan<OdmaObject>(new OdmaTestPages(100, 5), 2, executor);
+        assertCompleted(scan.scanPartitions(Arrays.asList("0", "20", "40", "60", "80"), consumer));
+        assertTrue(consumer.maxRunning.get() <= 2);
+        assertEquals(OdmaTestPages.range(0, 100), consumer.sortedIds());
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        try {
+            new OdmaParallelScan<OdmaObject>(null, 1, executor);
+            fail("null source");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaParallelScan<OdmaObject>(new OdmaTestPages(1, 1), 0, executor);
+            fail("zero parallelism");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaParallelScan<OdmaObject>(new OdmaTestPages(1, 1), 1, executor).scanMarkChain(0, new CollectingConsumer());
+            fail("empty segments");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
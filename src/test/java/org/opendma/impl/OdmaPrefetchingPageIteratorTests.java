@@ -0,0 +1,161 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaPageIterator;
+import org.opendma.api.OdmaTestPages;
+
+public class OdmaPrefetchingPageIteratorTests {
+
+    /** runs the fetches on the calling thread, so the number of fetched pages is deterministic */
+    private static final Executor DIRECT = new Executor() {
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private static List<String> readAll(OdmaPageIterator<OdmaObject> pages, List<String> marks) {
+        List<String> ids = new ArrayList<String>();
+        while(pages.nextPage()) {
+            ids.addAll(OdmaTestPages.ids(pages.getPage()));
+            marks.add(pages.nextPageMark());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testPagesAndMarksAreUnchanged() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            OdmaTestPages source = new OdmaTestPages(31, 3);
+            source.delayMillis = 1;
+            List<String> marks = new ArrayList<String>();
+            List<String> expectedMarks = new ArrayList<String>();
+            List<String> expected = readAll(source.pageIterator(), expectedMarks);
+            OdmaPrefetchingPageIterator<OdmaObject> prefetching = new OdmaPrefetchingPageIterator<OdmaObject>(source.pageIterator(), 4, executor);
+            assertEquals("0", prefetching.nextPageMark());
+            assertEquals(expected, readAll(prefetching, marks));
+            assertEquals(OdmaTestPages.range(0, 31), expected);
+            assertEquals(expectedMarks, marks);
+            assertNull(prefetching.getPage());
+            assertFalse(prefetching.nextPage());
+            prefetching.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPrefetchingIsBoundedByDepth() {
+        OdmaTestPages source = new OdmaTestPages(30, 3);
+        OdmaPrefetchingPageIterator<OdmaObject> prefetching = new OdmaPrefetchingPageIterator<OdmaObject>(source.pageIterator(), 2, DIRECT);
+        assertEquals(2, source.fetchedPages.get());
+        assertTrue(prefetching.nextPage());
+        assertEquals(3, source.fetchedPages.get());
+        assertTrue(prefetching.nextPage());
+        assertTrue(prefetching.nextPage());
+        assertEquals(5, source.fetchedPages.get());
+        assertEquals(OdmaTestPages.range(6, 9), OdmaTestPages.ids(prefetching.getPage()));
+    }
+
+    @Test
+    public void testFailureIsRaisedInOrder() {
+        OdmaTestPages source = new OdmaTestPages(30, 3);
+        source.failAtOffset = 6;
+        OdmaPrefetchingPageIterator<OdmaObject> prefetching = new OdmaPrefetchingPageIterator<OdmaObject>(source.pageIterator(), 4, DIRECT);
+        assertTrue(prefetching.nextPage());
+        assertTrue(prefetching.nextPage());
+        assertEquals(OdmaTestPages.range(3, 6), OdmaTestPages.ids(prefetching.getPage()));
+        try {
+            prefetching.nextPage();
+            fail("fetch failure was swallowed");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+        assertFalse(prefetching.nextPage());
+    }
+
+    @Test
+    public void testGoToMarkDiscardsPrefetchedPages() {
+        OdmaTestPages source = new OdmaTestPages(30, 3);
+        OdmaPrefetchingPageIterator<OdmaObject> prefetching = new OdmaPrefetchingPageIterator<OdmaObject>(source.pageIterator(), 3, DIRECT);
+        assertTrue(prefetching.nextPage());
+        String mark = prefetching.nextPageMark();
+        assertEquals("3", mark);
+        assertTrue(prefetching.nextPage());
+        assertTrue(prefetching.nextPage());
+        prefetching.goToMark(mark);
+        assertEquals(mark, prefetching.nextPageMark());
+        assertNull(prefetching.getPage());
+        assertTrue(prefetching.nextPage());
+        assertEquals(OdmaTestPages.range(3, 6), OdmaTestPages.ids(prefetching.getPage()));
+        assertEquals(1, source.requestedMarks.size());
+    }
+
+    @Test
+    public void testClosedIteratorRejectsCalls() {
+        OdmaPrefetchingPageIterator<OdmaObject> prefetching = new OdmaPrefetchingPageIterator<OdmaObject>(new OdmaTestPages(30, 3).pageIterator(), 2, DIRECT);
+        prefetching.close();
+        assertNull(prefetching.getPage());
+        try {
+            prefetching.nextPage();
+            fail("closed iterator returned a page");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRejectedFetchIsRaised() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        OdmaPrefetchingPageIterator<OdmaObject> prefetching = new OdmaPrefetchingPageIterator<OdmaObject>(new OdmaTestPages(30, 3).pageIterator(), 2, executor);
+        try {
+            prefetching.nextPage();
+            fail("rejected fetch was swallowed");
+        } catch(RuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPrefetchingIterable() {
+        OdmaTestPages source = new OdmaTestPages(10, 3);
+        assertEquals(OdmaTestPages.range(0, 10), OdmaTestPages.ids(OdmaPrefetchingPageIterator.prefetching(source, 2)));
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        try {
+            new OdmaPrefetchingPageIterator<OdmaObject>(null, 1, DIRECT);
+            fail("null delegate");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaPrefetchingPageIterator<OdmaObject>(new OdmaTestPages(1, 1).pageIterator(), 0, DIRECT);
+            fail("zero depth");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new OdmaPrefetchingPageIterator<OdmaObject>(new OdmaTestPages(1, 1).pageIterator(), 1, null);
+            fail("null executor");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
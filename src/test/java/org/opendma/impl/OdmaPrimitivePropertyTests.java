@@ -0,0 +1,267 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.property.OdmaBooleanListProperty;
+import org.opendma.impl.property.OdmaDoubleListProperty;
+import org.opendma.impl.property.OdmaFloatListProperty;
+import org.opendma.impl.property.OdmaIntegerListProperty;
+import org.opendma.impl.property.OdmaIntegerProperty;
+import org.opendma.impl.property.OdmaLongListProperty;
+import org.opendma.impl.property.OdmaShortListProperty;
+
+public class OdmaPrimitivePropertyTests {
+
+    private static final OdmaQName NAME = new OdmaQName("test", "property");
+
+    private static List<OdmaProperty> create(Object value, OdmaType type) throws OdmaInvalidDataTypeException {
+        return Arrays.<OdmaProperty>asList(OdmaPropertyFactory.fromValue(NAME, value, type, false, false), OdmaPropertyImpl.fromValue(NAME, value, type, false, false));
+    }
+
+    @Test
+    public void testPrimitiveGettersAndSetters() throws Exception {
+        for(OdmaProperty property : create(Integer.valueOf(1), OdmaType.INTEGER)) {
+            assertEquals(1, property.getIntValue());
+            property.setIntValue(2);
+            assertEquals(Integer.valueOf(2), property.getInteger());
+            assertEquals(Integer.valueOf(2), property.getValue());
+            assertTrue(property.isDirty());
+        }
+        for(OdmaProperty property : create(Short.valueOf((short)1), OdmaType.SHORT)) {
+            assertEquals(1, property.getShortValue());
+            property.setShortValue((short)2);
+            assertEquals(Short.valueOf((short)2), property.getShort());
+        }
+        for(OdmaProperty property : create(Long.valueOf(1L), OdmaType.LONG)) {
+            assertEquals(1L, property.getLongValue());
+            property.setLongValue(Long.MAX_VALUE);
+            assertEquals(Long.valueOf(Long.MAX_VALUE), property.getLong());
+        }
+        for(OdmaProperty property : create(Float.valueOf(1.5f), OdmaType.FLOAT)) {
+            assertEquals(1.5f, property.getFloatValue(), 0);
+            property.setFloatValue(2.5f);
+            assertEquals(Float.valueOf(2.5f), property.getFloat());
+        }
+        for(OdmaProperty property : create(Double.valueOf(1.5), OdmaType.DOUBLE)) {
+            assertEquals(1.5, property.getDoubleValue(), 0);
+            property.setDoubleValue(2.5);
+            assertEquals(Double.valueOf(2.5), property.getDouble());
+        }
+        for(OdmaProperty property : create(Boolean.TRUE, OdmaType.BOOLEAN)) {
+            assertTrue(property.isTrue());
+            property.setBooleanValue(false);
+            assertFalse(property.isTrue());
+            assertEquals(Boolean.FALSE, property.getBoolean());
+        }
+    }
+
+    @Test
+    public void testPrimitiveGettersRejectNull() throws Exception {
+        for(OdmaType type : Arrays.asList(OdmaType.INTEGER, OdmaType.SHORT, OdmaType.LONG, OdmaType.FLOAT, OdmaType.DOUBLE)) {
+            for(OdmaProperty property : create(null, type)) {
+                assertNull(property.getValue());
+                try {
+                    switch(type) {
+                    case INTEGER: property.getIntValue(); break;
+                    case SHORT: property.getShortValue(); break;
+                    case LONG: property.getLongValue(); break;
+                    case FLOAT: property.getFloatValue(); break;
+                    default: property.getDoubleValue(); break;
+                    }
+                    fail(type+" returned a primitive for null");
+                } catch(NullPointerException e) {
+                    // expected
+                }
+            }
+        }
+        for(OdmaProperty property : create(null, OdmaType.BOOLEAN)) {
+            assertFalse(property.isTrue());
+            assertNull(property.getBoolean());
+        }
+        OdmaIntegerProperty property = new OdmaIntegerProperty(NAME, (Integer)null, false);
+        property.setIntValue(3);
+        assertEquals(3, property.getIntValue());
+        property.setValue(null);
+        assertNull(property.getInteger());
+    }
+
+    @Test
+    public void testPrimitiveAccessorsCheckDataType() throws Exception {
+        for(OdmaProperty property : create("a", OdmaType.STRING)) {
+            try {
+                property.getIntValue();
+                fail("getIntValue on a String property");
+            } catch(OdmaInvalidDataTypeException e) {
+                // expected
+            }
+            try {
+                property.setIntValue(1);
+                fail("setIntValue on a String property");
+            } catch(OdmaInvalidDataTypeException e) {
+                // expected
+            }
+            try {
+                property.isTrue();
+                fail("isTrue on a String property");
+            } catch(OdmaInvalidDataTypeException e) {
+                // expected
+            }
+            assertEquals("a", property.getString());
+        }
+        for(OdmaProperty property : create(Long.valueOf(1L), OdmaType.LONG)) {
+            try {
+                property.getIntValue();
+                fail("getIntValue on a Long property");
+            } catch(OdmaInvalidDataTypeException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveSettersCheckReadOnly() throws Exception {
+        for(OdmaProperty property : Arrays.<OdmaProperty>asList(OdmaPropertyFactory.fromValue(NAME, Integer.valueOf(1), OdmaType.INTEGER, false, true), OdmaPropertyImpl.fromValue(NAME, Integer.valueOf(1), OdmaType.INTEGER, false, true))) {
+            try {
+                property.setIntValue(2);
+                fail("read-only property was set");
+            } catch(OdmaAccessDeniedException e) {
+                // expected
+            }
+            assertEquals(1, property.getIntValue());
+            assertFalse(property.isDirty());
+        }
+    }
+
+    @Test
+    public void testArrayListBehavesLikeList() {
+        OdmaIntegerArrayList list = new OdmaIntegerArrayList();
+        for(int i = 0; i < 100; i++) {
+            list.addInt(i);
+        }
+        assertEquals(100, list.size());
+        assertEquals(Integer.valueOf(42), list.get(42));
+        assertEquals(42, list.setInt(42, -1));
+        assertEquals(-1, list.getInt(42));
+        list.addInt(0, 7);
+        list.add(1, Integer.valueOf(8));
+        assertEquals(102, list.size());
+        assertEquals(7, list.getInt(0));
+        assertEquals(8, list.getInt(1));
+        assertEquals(0, list.getInt(2));
+        assertEquals(Integer.valueOf(7), list.remove(0));
+        assertEquals(Integer.valueOf(8), list.remove(0));
+        assertEquals(100, list.size());
+        assertEquals(99, list.getInt(99));
+        assertEquals(42, list.indexOf(Integer.valueOf(-1)));
+        assertTrue(list.contains(Integer.valueOf(99)));
+        assertFalse(list.contains(null));
+        list.subList(10, 100).clear();
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), list);
+        assertEquals(list, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).hashCode(), list.hashCode());
+        list.clear();
+        assertTrue(list.isEmpty());
+        try {
+            list.getInt(0);
+            fail("index beyond size");
+        } catch(IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            list.add(null);
+            fail("null element");
+        } catch(NullPointerException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testArrayListsCopyTheirInput() {
+        int[] values = new int[] { 1, 2, 3 };
+        OdmaIntegerArrayList list = new OdmaIntegerArrayList(values);
+        values[0] = 9;
+        assertEquals(1, list.getInt(0));
+        int[] array = list.toIntArray();
+        assertArrayEquals(new int[] { 1, 2, 3 }, array);
+        array[0] = 9;
+        assertEquals(1, list.getInt(0));
+        OdmaIntegerArrayList copy = new OdmaIntegerArrayList(list);
+        copy.setInt(0, 9);
+        assertEquals(1, list.getInt(0));
+        assertEquals(Arrays.asList(1, 2, 3), new OdmaIntegerArrayList(Arrays.asList(1, 2, 3)));
+        try {
+            new OdmaIntegerArrayList(Arrays.asList(1, null));
+            fail("null element");
+        } catch(NullPointerException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAllArrayListTypes() {
+        assertArrayEquals(new short[] { 1, 2 }, new OdmaShortArrayList(Arrays.asList((short)1, (short)2)).toShortArray());
+        assertArrayEquals(new long[] { 1L, 2L }, new OdmaLongArrayList(Arrays.asList(1L, 2L)).toLongArray());
+        assertArrayEquals(new float[] { 1f, 2f }, new OdmaFloatArrayList(Arrays.asList(1f, 2f)).toFloatArray(), 0f);
+        assertArrayEquals(new double[] { 1d, 2d }, new OdmaDoubleArrayList(Arrays.asList(1d, 2d)).toDoubleArray(), 0d);
+        assertArrayEquals(new boolean[] { true, false }, new OdmaBooleanArrayList(Arrays.asList(true, false)).toBooleanArray());
+        OdmaBooleanArrayList booleans = new OdmaBooleanArrayList();
+        booleans.addBoolean(true);
+        booleans.addBoolean(0, false);
+        assertTrue(booleans.setBoolean(1, false));
+        assertEquals(Arrays.asList(false, false), booleans);
+    }
+
+    @Test
+    public void testListPropertiesHoldArrayLists() throws Exception {
+        OdmaIntegerListProperty integers = (OdmaIntegerListProperty)OdmaPropertyFactory.fromValue(NAME, Arrays.asList(1, 2, 3), OdmaType.INTEGER, true, false);
+        assertTrue(integers.getIntegerList() instanceof OdmaIntegerArrayList);
+        assertArrayEquals(new int[] { 1, 2, 3 }, integers.getIntArray());
+        integers.getIntArray()[0] = 9;
+        assertEquals(Integer.valueOf(1), integers.getIntegerList().get(0));
+        OdmaIntegerArrayList values = new OdmaIntegerArrayList(new int[] { 4, 5 });
+        integers.setValue(values);
+        assertSame(values, integers.getIntegerList());
+        assertTrue(integers.isDirty());
+        try {
+            integers.setValue(Arrays.asList(6L));
+            fail("Long list accepted for an Integer property");
+        } catch(OdmaInvalidDataTypeException e) {
+            // expected
+        }
+        assertSame(values, integers.getIntegerList());
+        assertArrayEquals(new short[] { 1 }, ((OdmaShortListProperty)OdmaPropertyFactory.fromValue(NAME, Arrays.asList((short)1), OdmaType.SHORT, true, false)).getShortArray());
+        assertArrayEquals(new long[] { 1L }, ((OdmaLongListProperty)OdmaPropertyFactory.fromValue(NAME, Arrays.asList(1L), OdmaType.LONG, true, false)).getLongArray());
+        assertArrayEquals(new float[] { 1f }, ((OdmaFloatListProperty)OdmaPropertyFactory.fromValue(NAME, Arrays.asList(1f), OdmaType.FLOAT, true, false)).getFloatArray(), 0f);
+        assertArrayEquals(new double[] { 1d }, ((OdmaDoubleListProperty)OdmaPropertyFactory.fromValue(NAME, Arrays.asList(1d), OdmaType.DOUBLE, true, false)).getDoubleArray(), 0d);
+        assertArrayEquals(new boolean[] { true }, ((OdmaBooleanListProperty)OdmaPropertyFactory.fromValue(NAME, Arrays.asList(true), OdmaType.BOOLEAN, true, false)).getBooleanArray());
+    }
+
+    @Test
+    public void testGenericPropertyTakesArrayListsAsIs() throws Exception {
+        OdmaIntegerArrayList values = new OdmaIntegerArrayList(new int[] { 1, 2 });
+        OdmaPropertyImpl property = OdmaPropertyImpl.fromValue(NAME, values, OdmaType.INTEGER, true, false);
+        assertSame(values, property.getIntegerList());
+        try {
+            OdmaPropertyImpl.fromValue(NAME, values, OdmaType.LONG, true, false);
+            fail("Integer list accepted for a Long property");
+        } catch(OdmaInvalidDataTypeException e) {
+            // expected
+        }
+    }
+
+}
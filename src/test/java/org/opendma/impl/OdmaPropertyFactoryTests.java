@@ -0,0 +1,290 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.opendma.api.OdmaGuid;
+import org.opendma.api.OdmaId;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.impl.property.OdmaIntegerListProperty;
+import org.opendma.impl.property.OdmaStringProperty;
+
+public class OdmaPropertyFactoryTests {
+
+    private static final OdmaQName NAME = new OdmaQName("test", "property");
+
+    /** plain stub with identity equals, as the proxies of <code>OdmaProxyFactory</code> do not support <code>equals</code> */
+    private static final OdmaObject REFERENCE = (OdmaObject)Proxy.newProxyInstance(OdmaPropertyFactoryTests.class.getClassLoader(), new Class<?>[] { OdmaObject.class }, new InvocationHandler() {
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if("equals".equals(method.getName()) && args != null && args.length == 1) {
+                return proxy == args[0];
+            } else if("hashCode".equals(method.getName()) && args == null) {
+                return System.identityHashCode(proxy);
+            } else if("toString".equals(method.getName()) && args == null) {
+                return "REFERENCE";
+            }
+            throw new UnsupportedOperationException("Unsupported method: " + method.getName());
+        }
+    });
+
+    private static Object sampleValue(OdmaType type) {
+        switch(type) {
+        case STRING:
+            return "value";
+        case INTEGER:
+            return Integer.valueOf(42);
+        case SHORT:
+            return Short.valueOf((short)7);
+        case LONG:
+            return Long.valueOf(1L << 40);
+        case FLOAT:
+            return Float.valueOf(1.5f);
+        case DOUBLE:
+            return Double.valueOf(2.25);
+        case BOOLEAN:
+            return Boolean.TRUE;
+        case DATETIME:
+            return new Date(1000000L);
+        case BINARY:
+            return new byte[] { 1, 2, 3 };
+        case REFERENCE:
+            return REFERENCE;
+        case CONTENT:
+            return new OdmaFileContent(Paths.get("content.bin"));
+        case ID:
+            return new OdmaId("id");
+        case GUID:
+            return new OdmaGuid(new OdmaId("object"), new OdmaId("repository"));
+        default:
+            throw new IllegalArgumentException(type.toString());
+        }
+    }
+
+    private static Object sampleList(OdmaType type) {
+        List<Object> values = new ArrayList<Object>();
+        values.add(sampleValue(type));
+        values.add(sampleValue(type));
+        return values;
+    }
+
+    private static Object typedValue(OdmaProperty property) throws OdmaInvalidDataTypeException {
+        if(property.isMultiValue()) {
+            switch(property.getType()) {
+            case STRING: return property.getStringList();
+            case INTEGER: return property.getIntegerList();
+            case SHORT: return property.getShortList();
+            case LONG: return property.getLongList();
+            case FLOAT: return property.getFloatList();
+            case DOUBLE: return property.getDoubleList();
+            case BOOLEAN: return property.getBooleanList();
+            case DATETIME: return property.getDateTimeList();
+            case BINARY: return property.getBinaryList();
+            case REFERENCE: return toList(property.getReferenceIterable());
+            case CONTENT: return property.getContentList();
+            case ID: return property.getIdList();
+            case GUID: return property.getGuidList();
+            default: throw new IllegalArgumentException(property.getType().toString());
+            }
+        }
+        switch(property.getType()) {
+        case STRING: return property.getString();
+        case INTEGER: return property.getInteger();
+        case SHORT: return property.getShort();
+        case LONG: return property.getLong();
+        case FLOAT: return property.getFloat();
+        case DOUBLE: return property.getDouble();
+        case BOOLEAN: return property.getBoolean();
+        case DATETIME: return property.getDateTime();
+        case BINARY: return property.getBinary();
+        case REFERENCE: return property.getReference();
+        case CONTENT: return property.getContent();
+        case ID: return property.getId();
+        case GUID: return property.getGuid();
+        default: throw new IllegalArgumentException(property.getType().toString());
+        }
+    }
+
+    private static List<Object> toList(Iterable<?> iterable) {
+        List<Object> values = new ArrayList<Object>();
+        for(Object value : iterable) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static OdmaPropertyBase create(boolean specialized, Object value, OdmaType type, boolean multiValue, boolean readOnly) throws OdmaInvalidDataTypeException {
+        return specialized ? OdmaPropertyFactory.fromValue(NAME, value, type, multiValue, readOnly) : OdmaPropertyImpl.fromValue(NAME, value, type, multiValue, readOnly);
+    }
+
+    @Test
+    public void testAllTypesRoundTrip() throws Exception {
+        for(boolean specialized : new boolean[] { true, false }) {
+            for(OdmaType type : OdmaType.values()) {
+                for(boolean multiValue : new boolean[] { false, true }) {
+                    Object value = multiValue ? sampleList(type) : sampleValue(type);
+                    OdmaPropertyBase property = create(specialized, value, type, multiValue, false);
+                    String context = type+(multiValue ? " multi" : " single")+(specialized ? " specialized" : " generic");
+                    assertEquals(context, specialized, !(property instanceof OdmaPropertyImpl));
+                    assertEquals(context, NAME, property.getName());
+                    assertSame(context, type, property.getType());
+                    assertEquals(context, multiValue, property.isMultiValue());
+                    assertFalse(context, property.isDirty());
+                    assertEquals(context, value, property.getValue());
+                    assertEquals(context, value, typedValue(property));
+                    Object other = multiValue ? new ArrayList<Object>() : sampleValue(type);
+                    property.setValue(other);
+                    assertTrue(context, property.isDirty());
+                    assertEquals(context, other, property.getValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSpecializedPropertiesMatchGenericImplementation() throws Exception {
+        assertTrue(OdmaPropertyFactory.fromValue(NAME, "a", OdmaType.STRING, false, false) instanceof OdmaStringProperty);
+        assertTrue(OdmaPropertyFactory.fromValue(NAME, Arrays.asList(1, 2), OdmaType.INTEGER, true, false) instanceof OdmaIntegerListProperty);
+        for(OdmaType type : OdmaType.values()) {
+            OdmaPropertyBase specialized = OdmaPropertyFactory.fromValue(NAME, null, type, false, false);
+            OdmaPropertyBase generic = OdmaPropertyImpl.fromValue(NAME, null, type, false, false);
+            assertEquals(generic.getValue(), specialized.getValue());
+            assertEquals(type.toString(), generic.getValue(), typedValue(specialized));
+        }
+    }
+
+    @Test
+    public void testWrongValueTypeIsRejected() throws Exception {
+        for(boolean specialized : new boolean[] { true, false }) {
+            for(OdmaType type : OdmaType.values()) {
+                Object wrong = type == OdmaType.STRING ? Integer.valueOf(1) : "wrong";
+                try {
+                    create(specialized, wrong, type, false, false);
+                    fail(type+" single-valued accepted a wrong value");
+                } catch(OdmaInvalidDataTypeException e) {
+                    // expected
+                }
+                try {
+                    // reference iterables may be lazy, so only their type is checked and not their elements
+                    create(specialized, type == OdmaType.REFERENCE ? wrong : Arrays.asList(wrong), type, true, false);
+                    fail(type+" multi-valued accepted a wrong element");
+                } catch(OdmaInvalidDataTypeException e) {
+                    // expected
+                }
+                try {
+                    create(specialized, null, type, true, false);
+                    fail(type+" multi-valued accepted null");
+                } catch(OdmaInvalidDataTypeException e) {
+                    // expected
+                }
+                OdmaPropertyBase property = create(specialized, sampleValue(type), type, false, false);
+                try {
+                    property.setValue(wrong);
+                    fail(type+" accepted a wrong value");
+                } catch(OdmaInvalidDataTypeException e) {
+                    // expected
+                }
+                assertFalse(property.isDirty());
+                assertEquals(typedValue(property), property.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testWrongGetterIsRejected() throws Exception {
+        for(boolean specialized : new boolean[] { true, false }) {
+            OdmaPropertyBase string = create(specialized, "a", OdmaType.STRING, false, false);
+            try {
+                string.getInteger();
+                fail("getInteger on a String property");
+            } catch(OdmaInvalidDataTypeException e) {
+                // expected
+            }
+            try {
+                string.getStringList();
+                fail("getStringList on a single-valued property");
+            } catch(OdmaInvalidDataTypeException e) {
+                // expected
+            }
+            OdmaPropertyBase list = create(specialized, Arrays.asList("a"), OdmaType.STRING, true, false);
+            try {
+                list.getString();
+                fail("getString on a multi-valued property");
+            } catch(OdmaInvalidDataTypeException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testReadOnlyPropertyCannotBeSet() throws Exception {
+        for(boolean specialized : new boolean[] { true, false }) {
+            OdmaPropertyBase property = create(specialized, "a", OdmaType.STRING, false, true);
+            assertTrue(property.isReadOnly());
+            try {
+                property.setValue("b");
+                fail("read-only property was set");
+            } catch(OdmaAccessDeniedException e) {
+                // expected
+            }
+            assertEquals("a", property.getString());
+            assertFalse(property.isDirty());
+        }
+    }
+
+    @Test
+    public void testTrustedValuesAreTakenAsIs() throws Exception {
+        for(OdmaType type : OdmaType.values()) {
+            for(boolean multiValue : new boolean[] { false, true }) {
+                Object value = multiValue ? sampleList(type) : sampleValue(type);
+                OdmaPropertyBase specialized = OdmaPropertyFactory.fromTrustedValue(NAME, value, type, multiValue, true);
+                OdmaPropertyBase generic = OdmaPropertyImpl.fromTrustedValue(NAME, value, type, multiValue, true);
+                for(OdmaPropertyBase property : Arrays.asList(specialized, generic)) {
+                    assertEquals(type.toString(), value, typedValue(property));
+                    assertFalse(property.isDirty());
+                    assertTrue(property.isReadOnly());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTrustedValuesAreVerifiedWithAssertionsEnabled() {
+        boolean assertionsEnabled = false;
+        assert assertionsEnabled = true;
+        if(!assertionsEnabled) {
+            return;
+        }
+        for(boolean specialized : new boolean[] { true, false }) {
+            List<Object> mixed = Arrays.<Object>asList("a", Integer.valueOf(1));
+            try {
+                if(specialized) {
+                    OdmaPropertyFactory.fromTrustedValue(NAME, mixed, OdmaType.STRING, true, false);
+                } else {
+                    OdmaPropertyImpl.fromTrustedValue(NAME, mixed, OdmaType.STRING, true, false);
+                }
+                fail("mismatching trusted value was not detected");
+            } catch(AssertionError e) {
+                // expected
+            }
+        }
+    }
+
+}
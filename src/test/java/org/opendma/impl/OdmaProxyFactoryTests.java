@@ -0,0 +1,193 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.opendma.api.OdmaClass;
+import org.opendma.api.OdmaCommonNames;
+import org.opendma.api.OdmaContainable;
+import org.opendma.api.OdmaCoreObject;
+import org.opendma.api.OdmaDocument;
+import org.opendma.api.OdmaFolder;
+import org.opendma.api.OdmaObject;
+import org.opendma.api.OdmaPropertySelection;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaRuntimeException;
+import org.opendma.exceptions.OdmaServiceException;
+
+public class OdmaProxyFactoryTests {
+
+    private static final ClassLoader LOADER = OdmaProxyFactoryTests.class.getClassLoader();
+
+    private static final List<OdmaQName> DOCUMENT_CONTAINABLE = Arrays.asList(OdmaCommonNames.CLASS_OBJECT, OdmaCommonNames.CLASS_DOCUMENT, OdmaCommonNames.CLASS_CONTAINABLE);
+
+    private static final List<OdmaQName> DOCUMENT_FOLDER = Arrays.asList(OdmaCommonNames.CLASS_DOCUMENT, OdmaCommonNames.CLASS_FOLDER);
+
+    private static OdmaTestCoreObject document(String title) {
+        return new OdmaTestCoreObject().put(OdmaCommonNames.PROPERTY_TITLE, title, OdmaType.STRING, false);
+    }
+
+    private static OdmaTestCoreObject namedObject(String namespace, String name) {
+        return new OdmaTestCoreObject()
+                .put(OdmaCommonNames.PROPERTY_NAMESPACE, namespace, OdmaType.STRING, false)
+                .put(OdmaCommonNames.PROPERTY_NAME, name, OdmaType.STRING, false);
+    }
+
+    @Test
+    public void testAccessorImplementsMostSpecificInterfaces() throws Exception {
+        OdmaObject accessor = OdmaProxyFactory.createAccessor(document("hello"), LOADER, DOCUMENT_CONTAINABLE);
+        assertFalse(Proxy.isProxyClass(accessor.getClass()));
+        assertTrue(accessor instanceof OdmaDocument);
+        assertTrue(accessor instanceof OdmaContainable);
+        assertFalse(accessor instanceof OdmaFolder);
+        OdmaDocument document = (OdmaDocument)accessor;
+        assertEquals("hello", document.getTitle());
+        document.setTitle("changed");
+        assertEquals("changed", document.getTitle());
+        try {
+            document.getVersion();
+            fail("missing predefined property must fail");
+        } catch(OdmaServiceException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAccessorFallsBackToProxy() {
+        OdmaObject object = OdmaProxyFactory.createAccessor(document("hello"), LOADER, DOCUMENT_FOLDER);
+        assertTrue(Proxy.isProxyClass(object.getClass()));
+        assertTrue(object instanceof OdmaDocument);
+        assertTrue(object instanceof OdmaFolder);
+        assertEquals("hello", ((OdmaDocument)object).getTitle());
+    }
+
+    @Test(expected = OdmaRuntimeException.class)
+    public void testUnknownClassNamesAreRejected() {
+        OdmaProxyFactory.createProxy(document("hello"), LOADER, Arrays.asList(new OdmaQName("test", "Unknown")));
+    }
+
+    @Test
+    public void testProxyClassIsReused() {
+        OdmaDocument first = OdmaProxyFactory.createProxy(document("a"), LOADER, DOCUMENT_CONTAINABLE);
+        OdmaDocument second = OdmaProxyFactory.createProxy(document("b"), LOADER, new ArrayList<OdmaQName>(DOCUMENT_CONTAINABLE));
+        assertTrue(Proxy.isProxyClass(first.getClass()));
+        assertSame(first.getClass(), second.getClass());
+        assertEquals("a", first.getTitle());
+        assertEquals("b", second.getTitle());
+        OdmaProxyFactory.clearCache();
+        OdmaDocument third = OdmaProxyFactory.createProxy(document("c"), LOADER, DOCUMENT_CONTAINABLE);
+        assertSame(first.getClass(), third.getClass());
+        assertEquals("c", third.getTitle());
+    }
+
+    @Test
+    public void testCreateAllKeepsOrder() {
+        List<OdmaTestCoreObject> coreObjects = Arrays.asList(document("a"), document("b"), namedObject("ns", "c"));
+        final List<OdmaQName> classNames = Arrays.asList(OdmaCommonNames.CLASS_DOCUMENT);
+        final List<OdmaQName> otherClassNames = Arrays.asList(OdmaCommonNames.CLASS_CLASS);
+        Function<OdmaTestCoreObject, List<OdmaQName>> provider = new Function<OdmaTestCoreObject, List<OdmaQName>>() {
+            @Override
+            public List<OdmaQName> apply(OdmaTestCoreObject coreObject) {
+                return hasTitle(coreObject) ? classNames : otherClassNames;
+            }
+        };
+        List<OdmaObject> proxies = OdmaProxyFactory.createProxies(coreObjects, LOADER, provider);
+        List<OdmaObject> accessors = OdmaProxyFactory.createAccessors(coreObjects, LOADER, provider);
+        for(List<OdmaObject> objects : Arrays.asList(proxies, accessors)) {
+            assertEquals(3, objects.size());
+            assertEquals("a", ((OdmaDocument)objects.get(0)).getTitle());
+            assertEquals("b", ((OdmaDocument)objects.get(1)).getTitle());
+            assertEquals(new OdmaQName("ns", "c"), ((OdmaClass)objects.get(2)).getQName());
+        }
+    }
+
+    private static boolean hasTitle(OdmaCoreObject coreObject) {
+        try {
+            coreObject.getProperty(OdmaCommonNames.PROPERTY_TITLE);
+            return true;
+        } catch(Exception e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testProxyClassesOfUnusedLoadersCanBeUnloaded() throws Exception {
+        URLClassLoader loader = new URLClassLoader(new URL[0], LOADER);
+        OdmaDocument proxy = OdmaProxyFactory.createProxy(document("a"), loader, DOCUMENT_CONTAINABLE);
+        assertSame(loader, proxy.getClass().getClassLoader());
+        WeakReference<ClassLoader> ref = new WeakReference<ClassLoader>(loader);
+        // an unused loader tells apart a leak from a collector not reclaiming class loaders at all
+        WeakReference<ClassLoader> control = new WeakReference<ClassLoader>(new URLClassLoader(new URL[0], LOADER));
+        loader.close();
+        loader = null;
+        proxy = null;
+        for(int i = 0; i < 50 && (ref.get() != null || control.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assume.assumeTrue("unused class loaders are not collected", control.get() == null);
+        assertTrue("class loader is still referenced", ref.get() == null);
+    }
+
+    @Test
+    public void testProxyDispatch() throws Exception {
+        OdmaTestCoreObject coreObject = document("hello");
+        OdmaDocument proxy = OdmaProxyFactory.createProxy(coreObject, LOADER, DOCUMENT_CONTAINABLE);
+        assertEquals("hello", proxy.getTitle());
+        assertSame(coreObject.getProperty(OdmaCommonNames.PROPERTY_TITLE), proxy.getProperty(OdmaCommonNames.PROPERTY_TITLE));
+        proxy.setTitle("changed");
+        assertEquals("changed", coreObject.getProperty(OdmaCommonNames.PROPERTY_TITLE).getString());
+        assertTrue(proxy.isDirty());
+        proxy.prepareProperties(new OdmaQName[] { OdmaCommonNames.PROPERTY_TITLE }, false);
+        assertEquals(1, coreObject.preparedPropertyNames.size());
+        try {
+            proxy.getVersion();
+            fail("missing predefined property must fail");
+        } catch(OdmaServiceException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testQNameIsMemoizedAndReset() throws Exception {
+        List<OdmaQName> classNames = Arrays.asList(OdmaCommonNames.CLASS_CLASS);
+        for(boolean accessor : new boolean[] { false, true }) {
+            OdmaTestCoreObject coreObject = namedObject("ns", "n");
+            OdmaClass odmaClass = accessor ? OdmaProxyFactory.<OdmaClass>createAccessor(coreObject, LOADER, classNames) : OdmaProxyFactory.<OdmaClass>createProxy(coreObject, LOADER, classNames);
+            OdmaQName qname = odmaClass.getQName();
+            assertEquals(new OdmaQName("ns", "n"), qname);
+            assertSame(qname, odmaClass.getQName());
+            odmaClass.setName("m");
+            assertEquals(new OdmaQName("ns", "m"), odmaClass.getQName());
+            odmaClass.setProperty(OdmaCommonNames.PROPERTY_NAMESPACE, "other");
+            assertEquals(new OdmaQName("other", "m"), odmaClass.getQName());
+            // changes made directly on the core object are picked up after preparing the properties again
+            coreObject.getProperty(OdmaCommonNames.PROPERTY_NAME).setValue("x");
+            qname = odmaClass.getQName();
+            assertEquals(new OdmaQName("other", "m"), qname);
+            odmaClass.prepareProperties(null, true);
+            assertEquals(new OdmaQName("other", "x"), odmaClass.getQName());
+            coreObject.getProperty(OdmaCommonNames.PROPERTY_NAME).setValue("y");
+            odmaClass.prepareSelectedProperties(OdmaPropertySelection.of(OdmaCommonNames.PROPERTY_NAME), true);
+            assertEquals(new OdmaQName("other", "y"), odmaClass.getQName());
+            assertNotSame(qname, odmaClass.getQName());
+        }
+    }
+
+}
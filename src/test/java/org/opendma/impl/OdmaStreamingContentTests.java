@@ -0,0 +1,305 @@
+package org.opendma.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class OdmaStreamingContentTests {
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; i++) {
+            data[i] = (byte)(i % 251);
+        }
+        return data;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[777];
+        int read;
+        while((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    /**
+     * Producer thread writing the given data in pieces of varying length, counting the completed writes.
+     */
+    private static class Producer extends Thread {
+
+        final OdmaStreamingContent content;
+
+        final byte[] data;
+
+        final int pieceSize;
+
+        final AtomicInteger writes = new AtomicInteger();
+
+        volatile Throwable failure;
+
+        Producer(OdmaStreamingContent content, byte[] data, int pieceSize) {
+            this.content = content;
+            this.data = data;
+            this.pieceSize = pieceSize;
+        }
+
+        public void run() {
+            try (OutputStream out = content.getOutputStream()) {
+                int pos = 0;
+                while(pos < data.length) {
+                    int len = Math.min(pieceSize, data.length - pos);
+                    if(len == 1) {
+                        out.write(data[pos]);
+                    } else {
+                        out.write(data, pos, len);
+                    }
+                    pos += len;
+                    writes.incrementAndGet();
+                }
+            } catch(Throwable t) {
+                failure = t;
+            }
+        }
+
+        /**
+         * Waits until this producer blocks waiting for the reader.
+         */
+        void awaitBlocked() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 10000;
+            while(getState() != Thread.State.WAITING) {
+                assertTrue("producer did not block", isAlive() && System.currentTimeMillis() < deadline);
+                Thread.sleep(1);
+            }
+        }
+
+        void finish() throws InterruptedException {
+            join(10000);
+            assertFalse("producer is blocked", isAlive());
+        }
+
+    }
+
+    @Test
+    public void testDataIsHandedOverInChunks() throws Exception {
+        for(int pieceSize : new int[] { 1, 1000, 100000 }) {
+            byte[] data = data(300000);
+            OdmaStreamingContent content = new OdmaStreamingContent(-1, 4096, 2);
+            Producer producer = new Producer(content, data, pieceSize);
+            producer.start();
+            assertArrayEquals(data, readAll(content.getStream()));
+            producer.finish();
+            assertNull(producer.failure);
+            assertEquals(-1, content.getSize());
+        }
+    }
+
+    @Test
+    public void testDeclaredSizeIsReported() throws Exception {
+        byte[] data = data(100000);
+        OdmaStreamingContent content = new OdmaStreamingContent(data.length, 1000, 4);
+        assertEquals(data.length, content.getSize());
+        Producer producer = new Producer(content, data, 3000);
+        producer.start();
+        assertArrayEquals(data, readAll(content.getStream()));
+        producer.finish();
+        assertNull(producer.failure);
+    }
+
+    @Test
+    public void testWritingMoreThanDeclaredFails() throws IOException {
+        OdmaStreamingContent content = new OdmaStreamingContent(10, 4, 4);
+        OutputStream out = content.getOutputStream();
+        out.write(data(8));
+        try {
+            out.write(data(4));
+            fail("more data than declared was accepted");
+        } catch(IOException e) {
+            // expected
+        }
+        try {
+            readAll(content.getStream());
+            fail("reader did not notice the size mismatch");
+        } catch(IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEndingBeforeDeclaredSizeFails() throws IOException {
+        OdmaStreamingContent content = new OdmaStreamingContent(10, 4, 4);
+        OutputStream out = content.getOutputStream();
+        out.write(data(5));
+        try {
+            out.close();
+            fail("less data than declared was accepted");
+        } catch(IOException e) {
+            // expected
+        }
+        out.close();
+        try {
+            readAll(content.getStream());
+            fail("reader did not notice the size mismatch");
+        } catch(IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAbortIsPassedToReader() throws IOException {
+        OdmaStreamingContent content = new OdmaStreamingContent(-1, 4, 4);
+        OutputStream out = content.getOutputStream();
+        out.write(data(8));
+        RuntimeException cause = new RuntimeException("rendering failed");
+        content.abort(cause);
+        content.abort(new RuntimeException("ignored"));
+        InputStream in = content.getStream();
+        try {
+            in.read();
+            fail("reader did not notice the abort");
+        } catch(IOException e) {
+            assertSame(cause, e.getCause());
+        }
+        try {
+            out.write(1);
+            out.flush();
+            fail("write after abort");
+        } catch(IOException e) {
+            // expected
+        }
+        OdmaStreamingContent aborted = new OdmaStreamingContent();
+        aborted.abort(null);
+        try {
+            aborted.getStream().read();
+            fail("reader did not notice the abort");
+        } catch(IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAbortWakesBlockedProducer() throws Exception {
+        OdmaStreamingContent content = new OdmaStreamingContent(-1, 10, 1);
+        Producer producer = new Producer(content, data(100), 10);
+        producer.start();
+        producer.awaitBlocked();
+        content.abort(new RuntimeException("reader gave up"));
+        producer.finish();
+        assertTrue(producer.failure instanceof IOException);
+    }
+
+    @Test
+    public void testBufferingIsBounded() throws Exception {
+        byte[] data = data(100);
+        OdmaStreamingContent content = new OdmaStreamingContent(-1, 10, 2);
+        Producer producer = new Producer(content, data, 10);
+        producer.start();
+        producer.awaitBlocked();
+        assertEquals("writes beyond maxChunks must block", 2, producer.writes.get());
+        InputStream in = content.getStream();
+        byte[] first = new byte[10];
+        assertEquals(10, in.read(first));
+        assertArrayEquals(data, concat(first, readAll(in)));
+        producer.finish();
+        assertNull(producer.failure);
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    @Test
+    public void testClosedReaderFailsProducer() throws Exception {
+        OdmaStreamingContent content = new OdmaStreamingContent(-1, 10, 1);
+        Producer producer = new Producer(content, data(1000), 10);
+        producer.start();
+        InputStream in = content.getStream();
+        in.read();
+        in.close();
+        producer.finish();
+        assertTrue(producer.failure instanceof IOException);
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testFlushHandsOverPartialChunk() throws IOException {
+        OdmaStreamingContent content = new OdmaStreamingContent(-1, 100, 2);
+        OutputStream out = content.getOutputStream();
+        out.write(new byte[] { 1, 2, 3 });
+        out.flush();
+        out.flush();
+        InputStream in = content.getStream();
+        byte[] buffer = new byte[10];
+        assertEquals(3, in.read(buffer));
+        assertEquals(0, in.read(buffer, 0, 0));
+        out.close();
+        assertEquals(-1, in.read(buffer));
+        try {
+            out.write(1);
+            out.flush();
+            fail("write after close");
+        } catch(IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInterruptedProducerFails() throws IOException {
+        OdmaStreamingContent content = new OdmaStreamingContent(-1, 10, 1);
+        OutputStream out = content.getOutputStream();
+        out.write(data(10));
+        Thread.currentThread().interrupt();
+        try {
+            out.write(data(10));
+            fail("blocked write ignored the interrupt");
+        } catch(InterruptedIOException e) {
+            // expected
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test
+    public void testStreamCanBeReadOnce() {
+        OdmaStreamingContent content = new OdmaStreamingContent();
+        content.getStream();
+        try {
+            content.getStream();
+            fail("stream handed out twice");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        long[][] arguments = { { -2, 10, 1 }, { -1, 0, 1 }, { -1, 10, 0 } };
+        for(long[] a : arguments) {
+            try {
+                new OdmaStreamingContent(a[0], (int)a[1], (int)a[2]);
+                fail("invalid arguments "+a[0]+", "+a[1]+", "+a[2]);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.opendma.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opendma.api.OdmaAuditStamped;
+import org.opendma.api.OdmaContent;
+import org.opendma.api.OdmaDataContentElement;
+import org.opendma.api.OdmaGuid;
+import org.opendma.api.OdmaId;
+
+/**
+ * In-memory <code>OdmaDataContentElement</code> for tests, implemented as a dynamic proxy. Serves the
+ * given data and counts the calls to <code>getContent</code>. Can be set up to fail or to take some time
+ * in <code>getContent</code>. Methods not needed by the content tests throw an
+ * <code>UnsupportedOperationException</code>.
+ */
+public class OdmaTestContentElement implements InvocationHandler {
+
+    private final OdmaGuid guid;
+
+    /** the binary data, or <code>null</code> if the element has no content */
+    public volatile byte[] data;
+
+    /** the size reported by the element, or <code>null</code> if unknown */
+    public volatile Long size;
+
+    /** the last modification time reported if the element is audit stamped */
+    public volatile Date lastModified;
+
+    /** the position reported by the element */
+    public volatile Integer position;
+
+    /** the failure thrown by <code>getContent</code>, a <code>RuntimeException</code> or an <code>Error</code> */
+    public volatile Throwable failure;
+
+    /** the time <code>getContent</code> takes in milliseconds */
+    public volatile long delayMillis;
+
+    /** the number of calls to <code>getContent</code> */
+    public final AtomicInteger contentRequests = new AtomicInteger();
+
+    public OdmaTestContentElement(String id, byte[] data) {
+        this.guid = new OdmaGuid(new OdmaId(id), new OdmaId("repository"));
+        this.data = data;
+        this.size = data == null ? null : Long.valueOf(data.length);
+    }
+
+    /**
+     * Returns a proxy of this element.
+     *
+     * @param auditStamped
+     *            whether the proxy also implements <code>OdmaAuditStamped</code>
+     *
+     * @return a proxy of this element
+     */
+    public OdmaDataContentElement element(boolean auditStamped) {
+        Class<?>[] interfaces = auditStamped ? new Class<?>[] { OdmaDataContentElement.class, OdmaAuditStamped.class } : new Class<?>[] { OdmaDataContentElement.class };
+        return (OdmaDataContentElement)Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, this);
+    }
+
+    public OdmaDataContentElement element() {
+        return element(false);
+    }
+
+    public OdmaGuid getGuid() {
+        return guid;
+    }
+
+    private OdmaContent getContent() throws InterruptedException {
+        contentRequests.incrementAndGet();
+        if(delayMillis > 0) {
+            Thread.sleep(delayMillis);
+        }
+        Throwable t = failure;
+        if(t instanceof RuntimeException) {
+            throw (RuntimeException)t;
+        }
+        if(t instanceof Error) {
+            throw (Error)t;
+        }
+        final byte[] content = data;
+        if(content == null) {
+            return null;
+        }
+        return new OdmaContent() {
+            public InputStream getStream() {
+                return new ByteArrayInputStream(content);
+            }
+            public long getSize() {
+                return content.length;
+            }
+        };
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if(method.getParameterTypes().length == 0) {
+            if("getGuid".equals(name)) {
+                return guid;
+            } else if("getSize".equals(name)) {
+                return size;
+            } else if("getContent".equals(name)) {
+                return getContent();
+            } else if("getLastModifiedAt".equals(name)) {
+                return lastModified;
+            } else if("getPosition".equals(name)) {
+                return position;
+            } else if("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            } else if("toString".equals(name)) {
+                return "OdmaTestContentElement[" + guid + "]";
+            }
+        } else if("equals".equals(name) && args.length == 1) {
+            return proxy == args[0];
+        }
+        throw new UnsupportedOperationException("Unsupported method: " + name);
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.opendma.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opendma.api.OdmaCoreObject;
+import org.opendma.api.OdmaProperty;
+import org.opendma.api.OdmaQName;
+import org.opendma.api.OdmaType;
+import org.opendma.exceptions.OdmaAccessDeniedException;
+import org.opendma.exceptions.OdmaInvalidDataTypeException;
+import org.opendma.exceptions.OdmaPropertyNotFoundException;
+
+/**
+ * In-memory <code>OdmaCoreObject</code> for tests. Holds its properties in a map and records the
+ * arguments of all calls to <code>prepareProperties</code>.
+ */
+public class OdmaTestCoreObject implements OdmaCoreObject {
+
+    private final Map<OdmaQName, OdmaProperty> properties = new LinkedHashMap<OdmaQName, OdmaProperty>();
+
+    /** the property names of all calls to <code>prepareProperties</code>, in call order */
+    public final List<OdmaQName[]> preparedPropertyNames = new ArrayList<OdmaQName[]>();
+
+    public OdmaTestCoreObject put(OdmaQName name, Object value, OdmaType type, boolean multiValue) {
+        try {
+            properties.put(name, OdmaPropertyImpl.fromValue(name, value, type, multiValue, false));
+        } catch(OdmaInvalidDataTypeException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return this;
+    }
+
+    public OdmaTestCoreObject put(OdmaProperty property) {
+        properties.put(property.getName(), property);
+        return this;
+    }
+
+    public OdmaProperty getProperty(OdmaQName propertyName) throws OdmaPropertyNotFoundException {
+        OdmaProperty property = properties.get(propertyName);
+        if(property == null) {
+            throw new OdmaPropertyNotFoundException(propertyName);
+        }
+        return property;
+    }
+
+    public void prepareProperties(OdmaQName[] propertyNames, boolean refresh) {
+        preparedPropertyNames.add(propertyNames);
+    }
+
+    public void setProperty(OdmaQName propertyName, Object newValue) throws OdmaPropertyNotFoundException, OdmaInvalidDataTypeException, OdmaAccessDeniedException {
+        getProperty(propertyName).setValue(newValue);
+    }
+
+    public boolean isDirty() {
+        for(OdmaProperty property : properties.values()) {
+            if(property.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void save() {
+    }
+
+    public boolean instanceOf(OdmaQName classOrAspectName) {
+        return false;
+    }
+
+    public Iterator<OdmaProperty> availableProperties() {
+        return properties.values().iterator();
+    }
+
+    public boolean availablePropertiesComplete() {
+        return true;
+    }
+
+    public boolean isEmbeddingRecommended() {
+        return false;
+    }
+
+}
@@ -60,6 +60,7 @@ public class OdmaClassTemplate extends OdmaObjectTemplate implements OdmaClass {
     public void setName(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAME).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -108,6 +109,7 @@ public class OdmaClassTemplate extends OdmaObjectTemplate implements OdmaClass {
     public void setNamespace(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAMESPACE).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -449,6 +451,9 @@ public class OdmaClassTemplate extends OdmaObjectTemplate implements OdmaClass {
         }
     }
 
+    /** the qualified name of this class, built on first access and reset by the name and namespace setters */
+    private OdmaQName qname;
+
     /**
      * the qualified name of this class<br>
      * <p>A convenience shortcut to getting the name and namespace separately</p>
@@ -456,7 +461,12 @@ public class OdmaClassTemplate extends OdmaObjectTemplate implements OdmaClass {
      * @return the qualified name of this class
      */
     public OdmaQName getQName() {
-        return new OdmaQName(getNamespace(),getName());
+        OdmaQName result = qname;
+        if(result == null) {
+            result = new OdmaQName(getNamespace(),getName());
+            qname = result;
+        }
+        return result;
     }
 
 }
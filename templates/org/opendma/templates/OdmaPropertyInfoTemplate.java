@@ -61,6 +61,7 @@ public class OdmaPropertyInfoTemplate extends OdmaObjectTemplate implements Odma
     public void setName(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAME).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -109,6 +110,7 @@ public class OdmaPropertyInfoTemplate extends OdmaObjectTemplate implements Odma
     public void setNamespace(String newValue) throws OdmaAccessDeniedException {
         try {
             getProperty(OdmaCommonNames.PROPERTY_NAMESPACE).setValue(newValue);
+            qname = null;
         }
         catch(OdmaInvalidDataTypeException oidte) {
             throw new OdmaRuntimeException("Invalid data type of system property",oidte);
@@ -519,6 +521,9 @@ public class OdmaPropertyInfoTemplate extends OdmaObjectTemplate implements Odma
         }
     }
 
+    /** the qualified name of this property, built on first access and reset by the name and namespace setters */
+    private OdmaQName qname;
+
     /**
      * the qualified name of this class<br>
      * <p>A convenience shortcut to getting the name and namespace separately</p>
@@ -526,7 +531,12 @@ public class OdmaPropertyInfoTemplate extends OdmaObjectTemplate implements Odma
      * @return the qualified name of this class
      */
     public OdmaQName getQName() {
-        return new OdmaQName(getNamespace(),getName());
+        OdmaQName result = qname;
+        if(result == null) {
+            result = new OdmaQName(getNamespace(),getName());
+            qname = result;
+        }
+        return result;
     }
 
 }